@@ -0,0 +1,252 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.mapper.ProfissionalMapper;
+import com.organizo.organizobackend.mapper.SalaoMapper;
+import com.organizo.organizobackend.mapper.ServicoMapper;
+import com.organizo.organizobackend.model.Profissional;
+import com.organizo.organizobackend.model.Salao;
+import com.organizo.organizobackend.model.Servico;
+import com.organizo.organizobackend.repository.ProfissionalRepository;
+import com.organizo.organizobackend.repository.SalaoRepository;
+import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.util.EsbocoFrequencia;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Aquecimento dos caches {@code saloes}, {@code servicos} e {@code profissionais} ao subir a instância.
+ * <p>
+ * Cada leitura de {@code buscarPorId} pelo cache (acerto ou falta) é contada num
+ * {@link EsbocoFrequencia} por cache, gravado no Redis periodicamente e ao encerrar. Quando a
+ * aplicação fica pronta, o esboço gravado é somado ao local e os {@code top} ids mais acessados
+ * são carregados em lotes ({@code findAllById}) por algumas threads; ids que já estão no Redis
+ * (ex.: outra instância no ar) só vão para a L1, sem consultar o banco.
+ * <p>
+ * O Spring só publica a prontidão ({@code /actuator/health/readiness}) depois dos listeners de
+ * {@link ApplicationReadyEvent}, então a instância só recebe tráfego após o aquecimento;
+ * {@code limite} evita que um banco lento segure a partida. Com várias instâncias, vale o último
+ * esboço gravado, que já inclui o histórico lido na partida daquela instância.
+ * <p>
+ * Métrica {@code organizo.cache.aquecimento.entradas{cache}}: entradas aquecidas.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.aquecimento.habilitado", havingValue = "true", matchIfMissing = true)
+public class AquecimentoCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoCache.class);
+    private static final String PREFIXO = "cache:aquecimento:";
+    // Sem gravações por uma semana (ex.: ambiente desligado), o histórico já não diz muito
+    private static final Duration VALIDADE_ESBOCO = Duration.ofDays(7);
+
+    /**
+     * Cache aquecido e como carregar seus DTOs por id em lote (ids não encontrados ficam de fora).
+     */
+    record Alvo(String cache, Function<List<Long>, Map<Long, Object>> carregar) { }
+
+    private final GerenciadorCacheDuasCamadas caches;
+    private final StringRedisTemplate redis;
+    private final DisjuntorRedis disjuntor;
+    private final List<Alvo> alvos;
+    private final Map<String, EsbocoFrequencia> esbocos = new HashMap<>();
+    private final Map<String, Counter> aquecidas = new HashMap<>();
+    private final int top;
+    private final int lote;
+    private final int threads;
+    private final Duration limite;
+
+    @Autowired
+    public AquecimentoCache(GerenciadorCacheDuasCamadas caches,
+                            StringRedisTemplate redis,
+                            DisjuntorRedis disjuntor,
+                            MeterRegistry registry,
+                            PlatformTransactionManager txManager,
+                            SalaoRepository salaoRepo,
+                            ServicoRepository servicoRepo,
+                            ProfissionalRepository profissionalRepo,
+                            SalaoMapper salaoMapper,
+                            ServicoMapper servicoMapper,
+                            ProfissionalMapper profissionalMapper,
+                            @Value("${cache.aquecimento.top:500}") int top,
+                            @Value("${cache.aquecimento.lote:100}") int lote,
+                            @Value("${cache.aquecimento.threads:4}") int threads,
+                            @Value("${cache.aquecimento.limite:30s}") Duration limite,
+                            @Value("${cache.aquecimento.largura-esboco:4096}") int larguraEsboco) {
+        this(caches, redis, disjuntor, registry,
+                alvos(new TransactionTemplate(txManager), salaoRepo, servicoRepo, profissionalRepo,
+                        salaoMapper, servicoMapper, profissionalMapper),
+                top, lote, threads, limite, larguraEsboco);
+    }
+
+    AquecimentoCache(GerenciadorCacheDuasCamadas caches, StringRedisTemplate redis, DisjuntorRedis disjuntor,
+                     MeterRegistry registry, List<Alvo> alvos,
+                     int top, int lote, int threads, Duration limite, int larguraEsboco) {
+        this.caches = caches;
+        this.redis = redis;
+        this.disjuntor = disjuntor;
+        this.alvos = alvos;
+        this.top = top;
+        this.lote = lote;
+        this.threads = threads;
+        this.limite = limite;
+        for (Alvo alvo : alvos) {
+            EsbocoFrequencia esboco = new EsbocoFrequencia(larguraEsboco, top);
+            esbocos.put(alvo.cache(), esboco);
+            aquecidas.put(alvo.cache(), Counter.builder("organizo.cache.aquecimento.entradas")
+                    .description("Entradas carregadas no cache pelo aquecimento na partida")
+                    .tag("cache", alvo.cache())
+                    .register(registry));
+            caches.aoAcessar(alvo.cache(), key -> {
+                if (key instanceof Number id) {
+                    esboco.registrar(id.longValue());
+                }
+            });
+        }
+    }
+
+    private static List<Alvo> alvos(TransactionTemplate tx,
+                                    SalaoRepository salaoRepo,
+                                    ServicoRepository servicoRepo,
+                                    ProfissionalRepository profissionalRepo,
+                                    SalaoMapper salaoMapper,
+                                    ServicoMapper servicoMapper,
+                                    ProfissionalMapper profissionalMapper) {
+        tx.setReadOnly(true);
+        // Os mapeadores leem coleções lazy (profissionais do serviço etc.): cada lote numa transação
+        return List.of(
+                new Alvo("saloes", ids -> tx.execute(s ->
+                        porId(salaoRepo.findAllById(ids), Salao::getId, salaoMapper::toDto))),
+                new Alvo("servicos", ids -> tx.execute(s ->
+                        porId(servicoRepo.findAllById(ids), Servico::getId, servicoMapper::toDto))),
+                new Alvo("profissionais", ids -> tx.execute(s ->
+                        porId(profissionalRepo.findAllById(ids), Profissional::getId, profissionalMapper::toDto))));
+    }
+
+    private static <E> Map<Long, Object> porId(List<E> entidades, Function<E, Long> id, Function<E, ?> dto) {
+        Map<Long, Object> dtos = new HashMap<>();
+        for (E entidade : entidades) {
+            dtos.put(id.apply(entidade), dto.apply(entidade));
+        }
+        return dtos;
+    }
+
+    /**
+     * Carrega os ids mais acessados antes de a instância ficar pronta para o tráfego.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        long inicio = System.nanoTime();
+        List<CompletableFuture<Integer>> tarefas = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "aquecimento-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Alvo alvo : alvos) {
+                List<Long> ids = maisAcessados(alvo.cache());
+                for (int i = 0; i < ids.size(); i += lote) {
+                    List<Long> parte = ids.subList(i, Math.min(i + lote, ids.size()));
+                    tarefas.add(CompletableFuture.supplyAsync(() -> aquecerLote(alvo, parte), pool));
+                }
+            }
+            if (tarefas.isEmpty()) {
+                return;
+            }
+            CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new))
+                    .get(limite.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Aquecimento do cache interrompido após {} s; o restante carrega sob demanda", limite.toSeconds());
+        } catch (ExecutionException e) {
+            logger.warn("Falha no aquecimento do cache: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        int total = tarefas.stream()
+                .filter(t -> t.isDone() && !t.isCompletedExceptionally())
+                .mapToInt(CompletableFuture::join)
+                .sum();
+        logger.info("Cache aquecido com {} entrada(s) em {} ms", total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Soma o esboço gravado no Redis ao local e devolve os ids mais acessados.
+     */
+    private List<Long> maisAcessados(String cache) {
+        EsbocoFrequencia esboco = esbocos.get(cache);
+        String gravado = disjuntor.executar(() -> redis.opsForValue().get(PREFIXO + cache), () -> null);
+        if (gravado != null) {
+            try {
+                esboco.incorporar(EsbocoFrequencia.desserializar(Base64.getDecoder().decode(gravado), top));
+            } catch (IllegalArgumentException e) {
+                // Formato antigo ou largura alterada: recomeça a contagem
+                logger.warn("Esboço de acessos de '{}' descartado: {}", cache, e.getMessage());
+            }
+        }
+        return esboco.maisFrequentes(top);
+    }
+
+    private int aquecerLote(Alvo alvo, List<Long> ids) {
+        CacheDuasCamadas cache = (CacheDuasCamadas) caches.getCache(alvo.cache());
+        List<Long> faltando = new ArrayList<>();
+        for (Long id : ids) {
+            // A leitura direta (sem loader) não conta como acesso no esboço
+            if (cache.get(id) == null) {
+                faltando.add(id);
+            }
+        }
+        int aquecidasNoLote = ids.size() - faltando.size();
+        if (!faltando.isEmpty()) {
+            Map<Long, Object> dtos = alvo.carregar().apply(faltando);
+            dtos.forEach(cache::aquecer);
+            aquecidasNoLote += dtos.size();
+        }
+        aquecidas.get(alvo.cache()).increment(aquecidasNoLote);
+        return aquecidasNoLote;
+    }
+
+    /**
+     * Grava os esboços no Redis para a próxima partida (desta ou de outra instância).
+     */
+    @Scheduled(fixedDelayString = "${cache.aquecimento.gravacao-ms:300000}",
+            initialDelayString = "${cache.aquecimento.gravacao-ms:300000}")
+    @PreDestroy
+    public void gravar() {
+        esbocos.forEach((cache, esboco) -> {
+            if (esboco.isVazio()) {
+                return;
+            }
+            String valor = Base64.getEncoder().encodeToString(esboco.serializar());
+            disjuntor.executar(() -> redis.opsForValue().set(PREFIXO + cache, valor, VALIDADE_ESBOCO));
+        });
+    }
+}
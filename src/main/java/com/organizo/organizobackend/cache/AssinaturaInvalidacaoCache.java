@@ -0,0 +1,72 @@
+package com.organizo.organizobackend.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inscrição desta instância no canal de invalidação da L1 ({@link GerenciadorCacheDuasCamadas}).
+ * <p>
+ * O container de listeners não é um bean: se fosse, a aplicação não subiria com o Redis fora
+ * do ar, e após uma falha na partida ele não tenta de novo. A inscrição é feita quando a
+ * aplicação fica pronta e conferida periodicamente; ao (re)inscrever, a L1 é esvaziada, pois
+ * as invalidações do período sem inscrição se perderam.
+ */
+@Component
+public class AssinaturaInvalidacaoCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssinaturaInvalidacaoCache.class);
+
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private final GerenciadorCacheDuasCamadas caches;
+    private final String canal;
+    private boolean falhando;
+
+    public AssinaturaInvalidacaoCache(RedisConnectionFactory connectionFactory,
+                                      GerenciadorCacheDuasCamadas caches,
+                                      @Value("${cache.invalidacao.canal:organizo:cache:invalidacao}") String canal) {
+        this.caches = caches;
+        this.canal = canal;
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(caches, new ChannelTopic(canal));
+        container.afterPropertiesSet();
+    }
+
+    /**
+     * Inscreve no canal se ainda não estiver inscrito.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cache.invalidacao.verificacao-ms:10000}",
+            initialDelayString = "${cache.invalidacao.verificacao-ms:10000}")
+    public synchronized void garantirInscricao() {
+        if (container.isListening()) {
+            return;
+        }
+        try {
+            container.stop();
+            container.start();
+            caches.limparLocais();
+            falhando = false;
+            logger.info("Inscrito no canal de invalidação de cache '{}'", canal);
+        } catch (RuntimeException e) {
+            // Enquanto isso, a L1 desta instância só expira pelo TTL
+            if (!falhando) {
+                logger.warn("Falha ao inscrever no canal de invalidação de cache '{}': {}", canal, e.getMessage());
+                falhando = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    void encerrar() throws Exception {
+        container.destroy();
+    }
+}
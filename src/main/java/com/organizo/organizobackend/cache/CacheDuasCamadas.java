@@ -0,0 +1,315 @@
+package com.organizo.organizobackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache com uma camada local (L1, Caffeine, limitada e com TTL curto) na frente do Redis (L2).
+ * <p>
+ * Leituras tentam o heap primeiro e, no acerto, não passam pela rede nem pelo Jackson; uma
+ * falta busca no Redis e guarda o valor localmente. Escritas e remoções vão ao Redis, à L1
+ * desta instância e são anunciadas às demais pelo {@link GerenciadorCacheDuasCamadas}, que
+ * descartam a própria L1. Como a mensagem de pub/sub pode se perder (ex.: reconexão), o TTL
+ * da L1 limita por quanto tempo uma instância pode servir um valor antigo.
+ * <p>
+ * Nos {@code @Cacheable(sync = true)} ({@link #get(Object, Callable)}) uma falta é carregada
+ * uma única vez por chave nesta instância: quem chega durante o carregamento espera o mesmo
+ * resultado em vez de ir ao banco. Com {@code beta > 0}, um acerto pode ainda disparar a
+ * recarga antes de a entrada vencer no Redis, com probabilidade que cresce perto do vencimento
+ * e com o custo médio de carga (XFetch): uma requisição recarrega e as demais seguem com o valor atual.
+ * O vencimento no Redis só é conhecido para entradas que esta instância gravou ou carregou
+ * (guardado à parte, para sobreviver ao TTL mais curto da L1); uma entrada gravada por outra
+ * instância não é recarregada antes daqui, o que evita uma consulta extra ao Redis a cada falta na L1.
+ * <p>
+ * Com o {@link DisjuntorRedis} aberto, leituras não vão ao Redis (falta na L1 = falta) e
+ * escritas ficam só na L1; o cache é marcado para reconciliação quando o Redis voltar.
+ * <p>
+ * A L1 é indexada pela chave em texto, como o Redis, para que a invalidação recebida de
+ * outra instância encontre a mesma entrada.
+ */
+public class CacheDuasCamadas implements org.springframework.cache.Cache {
+
+    /**
+     * Valor na L1 e quando (epoch ms) vence no Redis; 0 = desconhecido, sem recarga antecipada.
+     */
+    record Entrada(Object valor, long venceNoRemotoEm) { }
+
+    private final String nome;
+    private final Cache<String, Entrada> local;
+    /** Vencimento no Redis (epoch ms) das entradas gravadas por esta instância */
+    private final Cache<String, Long> vencimentos;
+    private final org.springframework.cache.Cache remoto;
+    private final GerenciadorCacheDuasCamadas gerenciador;
+    private final DisjuntorRedis disjuntor;
+    private final Map<String, CompletableFuture<Object>> emCarga = new ConcurrentHashMap<>();
+    /** Média móvel do tempo de carga (ms), o "delta" do XFetch */
+    private volatile double custoMedioMillis;
+
+    CacheDuasCamadas(String nome,
+                     Cache<String, Entrada> local,
+                     Cache<String, Long> vencimentos,
+                     org.springframework.cache.Cache remoto,
+                     GerenciadorCacheDuasCamadas gerenciador) {
+        this.nome = nome;
+        this.local = local;
+        this.vencimentos = vencimentos;
+        this.remoto = remoto;
+        this.gerenciador = gerenciador;
+        this.disjuntor = gerenciador.getDisjuntor();
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoto.getNativeCache();
+    }
+
+    /** Camada local (métricas e testes). */
+    public Cache<String, Entrada> getLocal() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String chave = chave(key);
+        Entrada entrada = local.getIfPresent(chave);
+        if (entrada != null) {
+            return new SimpleValueWrapper(entrada.valor());
+        }
+        ValueWrapper doRemoto = disjuntor.executar(() -> remoto.get(key), () -> null);
+        if (doRemoto != null && doRemoto.get() != null) {
+            local.put(chave, new Entrada(doRemoto.get(), vencimentoConhecido(chave)));
+        }
+        return doRemoto;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        Object conteudo = valor == null ? null : valor.get();
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        gerenciador.acessado(nome, key);
+        String chave = chave(key);
+        Entrada entrada = local.getIfPresent(chave);
+        if (entrada == null) {
+            entrada = buscarNoRemoto(key, chave);
+        }
+        if (entrada != null) {
+            if (deveRecarregarAntes(entrada)) {
+                recarregarAntes(key, chave, valueLoader);
+            }
+            return (T) entrada.valor();
+        }
+        return (T) carregarUmaVez(key, chave, valueLoader);
+    }
+
+    /**
+     * Falta nas duas camadas: o primeiro a chegar carrega, os demais esperam o mesmo future.
+     */
+    private Object carregarUmaVez(Object key, String chave, Callable<?> valueLoader) {
+        CompletableFuture<Object> novo = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emCarga.putIfAbsent(chave, novo);
+        if (existente != null) {
+            gerenciador.carregamentoCoalescido(nome);
+            try {
+                return existente.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            // Outra requisição pode ter terminado a carga entre a falta e o putIfAbsent
+            // (leitura "quieta": a falta já foi contada nas estatísticas da L1)
+            Entrada entrada = local.policy().getIfPresentQuietly(chave);
+            Object valor = entrada != null ? entrada.valor() : carregar(key, chave, valueLoader);
+            novo.complete(valor);
+            return valor;
+        } catch (Throwable e) {
+            novo.completeExceptionally(e);
+            throw e instanceof ValueRetrievalException vre ? vre : new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            emCarga.remove(chave, novo);
+        }
+    }
+
+    /**
+     * Acerto perto do vencimento: esta requisição recarrega, a não ser que outra já esteja recarregando.
+     */
+    private void recarregarAntes(Object key, String chave, Callable<?> valueLoader) {
+        CompletableFuture<Object> novo = new CompletableFuture<>();
+        if (emCarga.putIfAbsent(chave, novo) != null) {
+            return;
+        }
+        try {
+            gerenciador.recargaAntecipada(nome);
+            novo.complete(carregar(key, chave, valueLoader));
+        } catch (Throwable e) {
+            // O valor atual continua válido até o TTL; a próxima falta tenta de novo
+            novo.completeExceptionally(e);
+        } finally {
+            emCarga.remove(chave, novo);
+        }
+    }
+
+    private Object carregar(Object key, String chave, Callable<?> valueLoader) throws Exception {
+        long inicio = System.nanoTime();
+        Object valor = valueLoader.call();
+        long duracao = System.nanoTime() - inicio;
+        double custo = duracao / 1_000_000.0;
+        custoMedioMillis = custoMedioMillis == 0 ? custo : custoMedioMillis + (custo - custoMedioMillis) / 8;
+        gerenciador.carregamento(nome, duracao);
+        // Carga não é escrita: o valor veio do banco e as outras instâncias mantêm a própria L1
+        if (valor != null) {
+            escreverNoRemoto(() -> remoto.put(key, valor));
+            guardarLocal(chave, valor);
+        }
+        return valor;
+    }
+
+    private Entrada buscarNoRemoto(Object key, String chave) {
+        ValueWrapper doRemoto = disjuntor.executar(() -> remoto.get(key), () -> null);
+        if (doRemoto == null || doRemoto.get() == null) {
+            return null;
+        }
+        Entrada entrada = new Entrada(doRemoto.get(), vencimentoConhecido(chave));
+        local.put(chave, entrada);
+        return entrada;
+    }
+
+    /** Guarda na L1 um valor que acabou de ser gravado no Redis, com o vencimento de lá. */
+    private void guardarLocal(String chave, Object valor) {
+        long vence = gerenciador.vencimentoDeNovaEntrada();
+        local.put(chave, new Entrada(valor, vence));
+        if (vence > 0) {
+            vencimentos.put(chave, vence);
+        }
+    }
+
+    /** Vencimento no Redis gravado por esta instância; 0 se a entrada veio de outra. */
+    private long vencimentoConhecido(String chave) {
+        Long vence = vencimentos.getIfPresent(chave);
+        return vence == null ? 0 : vence;
+    }
+
+    private void removerDasDuas(String chave) {
+        local.invalidate(chave);
+        vencimentos.invalidate(chave);
+    }
+
+    private void limparAsDuas() {
+        local.invalidateAll();
+        vencimentos.invalidateAll();
+    }
+
+    private boolean deveRecarregarAntes(Entrada entrada) {
+        double beta = gerenciador.getBetaRecarga();
+        if (beta <= 0 || entrada.venceNoRemotoEm() <= 0) {
+            return false;
+        }
+        // XFetch: agora - delta * beta * ln(U) >= vencimento, com U uniforme em (0, 1]
+        double u = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double antecipacao = -custoMedioMillis * beta * Math.log(u);
+        return System.currentTimeMillis() + antecipacao >= entrada.venceNoRemotoEm();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        escreverNoRemoto(() -> remoto.put(key, value));
+        String chave = chave(key);
+        if (value != null) {
+            guardarLocal(chave, value);
+        } else {
+            removerDasDuas(chave);
+        }
+        gerenciador.anunciarRemocao(nome, chave);
+    }
+
+    @Override
+    public void evict(Object key) {
+        escreverNoRemoto(() -> remoto.evict(key));
+        String chave = chave(key);
+        removerDasDuas(chave);
+        gerenciador.anunciarRemocao(nome, chave);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean removido = disjuntor.executar(() -> remoto.evictIfPresent(key), () -> {
+            gerenciador.escritaPerdida(nome);
+            return false;
+        });
+        String chave = chave(key);
+        removerDasDuas(chave);
+        gerenciador.anunciarRemocao(nome, chave);
+        return removido;
+    }
+
+    @Override
+    public void clear() {
+        escreverNoRemoto(remoto::clear);
+        limparAsDuas();
+        gerenciador.anunciarLimpeza(nome);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean havia = disjuntor.executar(remoto::invalidate, () -> {
+            gerenciador.escritaPerdida(nome);
+            return false;
+        });
+        limparAsDuas();
+        gerenciador.anunciarLimpeza(nome);
+        return havia;
+    }
+
+    private void escreverNoRemoto(Runnable escrita) {
+        if (!disjuntor.executar(escrita)) {
+            gerenciador.escritaPerdida(nome);
+        }
+    }
+
+    /**
+     * Grava um valor lido do banco no aquecimento: como numa carga, vai ao Redis e à L1 sem
+     * anunciar remoção às outras instâncias (o valor não mudou).
+     */
+    void aquecer(Object key, Object value) {
+        if (value != null) {
+            escreverNoRemoto(() -> remoto.put(key, value));
+            guardarLocal(chave(key), value);
+        }
+    }
+
+    /** Remove a entrada só da L1 (invalidação vinda de outra instância). */
+    void removerLocal(String chave) {
+        removerDasDuas(chave);
+    }
+
+    /** Esvazia só a L1 (limpeza vinda de outra instância). */
+    void limparLocal() {
+        limparAsDuas();
+    }
+
+    static String chave(Object key) {
+        return String.valueOf(key);
+    }
+}
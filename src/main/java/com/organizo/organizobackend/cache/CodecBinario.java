@@ -0,0 +1,210 @@
+package com.organizo.organizobackend.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Codificação binária de um tipo guardado no cache pelo {@link SerializadorBinario}.
+ * <p>
+ * Os campos são gravados em ordem fixa, sem nomes; o {@link #id()} identifica o tipo e a
+ * {@link #versao()} o layout. Ao mudar os campos de um tipo, incremente a versão e mantenha
+ * a leitura das anteriores enquanto puderem existir no Redis (ou deixe {@link #ler} devolver
+ * null para tratá-las como falta de cache).
+ */
+public interface CodecBinario<T> {
+
+    /** Identificador do tipo no header (único entre os codecs registrados). */
+    int id();
+
+    /** Versão do layout gravado por {@link #escrever}. */
+    int versao();
+
+    Class<T> tipo();
+
+    void escrever(T valor, Escritor saida);
+
+    /**
+     * @param versao versão com que o valor foi gravado
+     * @return null se a versão não for mais suportada (o valor é tratado como ausente)
+     */
+    T ler(Leitor entrada, int versao);
+
+    /**
+     * Saída com inteiros de tamanho variável (varint/zigzag) e marcador de nulo por campo.
+     */
+    final class Escritor {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        public void varint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                bytes.write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            bytes.write((int) valor);
+        }
+
+        public void longo(Long valor) {
+            if (valor == null) {
+                bytes.write(0);
+                return;
+            }
+            bytes.write(1);
+            // zigzag: negativos pequenos continuam curtos
+            varint((valor << 1) ^ (valor >> 63));
+        }
+
+        public void inteiro(Integer valor) {
+            longo(valor == null ? null : valor.longValue());
+        }
+
+        public void texto(String valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            bytes.write(utf8, 0, utf8.length);
+        }
+
+        public void dataHora(LocalDateTime valor) {
+            if (valor == null) {
+                bytes.write(0);
+                return;
+            }
+            bytes.write(1);
+            long segundos = valor.toEpochSecond(ZoneOffset.UTC);
+            varint((segundos << 1) ^ (segundos >> 63));
+            varint(valor.getNano());
+        }
+
+        public void decimal(BigDecimal valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            byte[] semEscala = valor.unscaledValue().toByteArray();
+            varint(semEscala.length + 1L);
+            bytes.write(semEscala, 0, semEscala.length);
+            varint(((long) valor.scale() << 1) ^ (valor.scale() >> 31));
+        }
+
+        public void ids(Set<Long> valores) {
+            if (valores == null) {
+                varint(0);
+                return;
+            }
+            varint(valores.size() + 1L);
+            for (Long id : valores) {
+                longo(id);
+            }
+        }
+
+        public <E extends Enum<E>> void enumeracao(E valor) {
+            texto(valor == null ? null : valor.name());
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Leitura do formato gravado pelo {@link Escritor}.
+     */
+    final class Leitor {
+
+        private final byte[] dados;
+        private int posicao;
+
+        Leitor(byte[] dados, int inicio) {
+            this.dados = dados;
+            this.posicao = inicio;
+        }
+
+        public long varint() {
+            long resultado = 0;
+            int deslocamento = 0;
+            while (true) {
+                byte b = dados[posicao++];
+                resultado |= (long) (b & 0x7F) << deslocamento;
+                if ((b & 0x80) == 0) {
+                    return resultado;
+                }
+                deslocamento += 7;
+            }
+        }
+
+        public Long longo() {
+            if (dados[posicao++] == 0) {
+                return null;
+            }
+            long z = varint();
+            return (z >>> 1) ^ -(z & 1);
+        }
+
+        public Integer inteiro() {
+            Long valor = longo();
+            return valor == null ? null : valor.intValue();
+        }
+
+        public String texto() {
+            int tamanho = (int) varint() - 1;
+            if (tamanho < 0) {
+                return null;
+            }
+            String valor = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+            posicao += tamanho;
+            return valor;
+        }
+
+        public LocalDateTime dataHora() {
+            if (dados[posicao++] == 0) {
+                return null;
+            }
+            long z = varint();
+            long segundos = (z >>> 1) ^ -(z & 1);
+            return LocalDateTime.ofEpochSecond(segundos, (int) varint(), ZoneOffset.UTC);
+        }
+
+        public BigDecimal decimal() {
+            int tamanho = (int) varint() - 1;
+            if (tamanho < 0) {
+                return null;
+            }
+            byte[] semEscala = new byte[tamanho];
+            System.arraycopy(dados, posicao, semEscala, 0, tamanho);
+            posicao += tamanho;
+            long z = varint();
+            return new BigDecimal(new BigInteger(semEscala), (int) ((z >>> 1) ^ -(z & 1)));
+        }
+
+        public Set<Long> ids() {
+            int tamanho = (int) varint() - 1;
+            if (tamanho < 0) {
+                return null;
+            }
+            Set<Long> valores = new HashSet<>(Math.max(4, tamanho * 2));
+            for (int i = 0; i < tamanho; i++) {
+                valores.add(longo());
+            }
+            return valores;
+        }
+
+        public <E extends Enum<E>> E enumeracao(Class<E> tipo) {
+            String nome = texto();
+            return nome == null ? null : Enum.valueOf(tipo, nome);
+        }
+
+        int posicao() {
+            return posicao;
+        }
+    }
+}
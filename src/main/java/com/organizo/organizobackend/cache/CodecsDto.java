@@ -0,0 +1,167 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.dto.ClienteDTO;
+import com.organizo.organizobackend.dto.ProfissionalDTO;
+import com.organizo.organizobackend.dto.SalaoDTO;
+import com.organizo.organizobackend.dto.ServicoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+
+import java.util.List;
+
+/**
+ * Codecs binários dos DTOs guardados pelos {@code @Cacheable} ({@code saloes}, {@code profissionais},
+ * {@code servicos} e {@code clientes}).
+ */
+public final class CodecsDto {
+
+    private CodecsDto() {
+    }
+
+    public static List<CodecBinario<?>> todos() {
+        return List.of(new Salao(), new Profissional(), new Servico(), new Cliente());
+    }
+
+    static final class Salao implements CodecBinario<SalaoDTO> {
+
+        @Override public int id() { return 1; }
+        @Override public int versao() { return 1; }
+        @Override public Class<SalaoDTO> tipo() { return SalaoDTO.class; }
+
+        @Override
+        public void escrever(SalaoDTO s, Escritor saida) {
+            saida.longo(s.getId());
+            saida.texto(s.getNome());
+            saida.texto(s.getCnpj());
+            saida.texto(s.getEndereco());
+            saida.texto(s.getTelefone());
+            saida.dataHora(s.getCriadoEm());
+            saida.dataHora(s.getAtualizadoEm());
+            saida.longo(s.getOwnerId());
+        }
+
+        @Override
+        public SalaoDTO ler(Leitor entrada, int versao) {
+            if (versao != 1) {
+                return null;
+            }
+            SalaoDTO s = new SalaoDTO();
+            s.setId(entrada.longo());
+            s.setNome(entrada.texto());
+            s.setCnpj(entrada.texto());
+            s.setEndereco(entrada.texto());
+            s.setTelefone(entrada.texto());
+            s.setCriadoEm(entrada.dataHora());
+            s.setAtualizadoEm(entrada.dataHora());
+            s.setOwnerId(entrada.longo());
+            return s;
+        }
+    }
+
+    static final class Profissional implements CodecBinario<ProfissionalDTO> {
+
+        @Override public int id() { return 2; }
+        @Override public int versao() { return 1; }
+        @Override public Class<ProfissionalDTO> tipo() { return ProfissionalDTO.class; }
+
+        @Override
+        public void escrever(ProfissionalDTO p, Escritor saida) {
+            saida.longo(p.getId());
+            saida.texto(p.getNome());
+            saida.texto(p.getSobrenome());
+            saida.texto(p.getEmail());
+            saida.texto(p.getTelefone());
+            saida.longo(p.getSalaoId());
+            saida.enumeracao(p.getCargo());
+            saida.ids(p.getServicoIds());
+            saida.dataHora(p.getCriadoEm());
+            saida.dataHora(p.getAtualizadoEm());
+        }
+
+        @Override
+        public ProfissionalDTO ler(Leitor entrada, int versao) {
+            if (versao != 1) {
+                return null;
+            }
+            ProfissionalDTO p = new ProfissionalDTO();
+            p.setId(entrada.longo());
+            p.setNome(entrada.texto());
+            p.setSobrenome(entrada.texto());
+            p.setEmail(entrada.texto());
+            p.setTelefone(entrada.texto());
+            p.setSalaoId(entrada.longo());
+            p.setCargo(entrada.enumeracao(CargoProfissional.class));
+            p.setServicoIds(entrada.ids());
+            p.setCriadoEm(entrada.dataHora());
+            p.setAtualizadoEm(entrada.dataHora());
+            return p;
+        }
+    }
+
+    static final class Servico implements CodecBinario<ServicoDTO> {
+
+        @Override public int id() { return 3; }
+        @Override public int versao() { return 1; }
+        @Override public Class<ServicoDTO> tipo() { return ServicoDTO.class; }
+
+        @Override
+        public void escrever(ServicoDTO s, Escritor saida) {
+            saida.longo(s.getId());
+            saida.texto(s.getNome());
+            saida.texto(s.getDescricao());
+            saida.inteiro(s.getDuracaoMinutos());
+            saida.decimal(s.getPreco());
+            saida.longo(s.getSalaoId());
+            saida.ids(s.getProfissionalIds());
+        }
+
+        @Override
+        public ServicoDTO ler(Leitor entrada, int versao) {
+            if (versao != 1) {
+                return null;
+            }
+            ServicoDTO s = new ServicoDTO();
+            s.setId(entrada.longo());
+            s.setNome(entrada.texto());
+            s.setDescricao(entrada.texto());
+            s.setDuracaoMinutos(entrada.inteiro());
+            s.setPreco(entrada.decimal());
+            s.setSalaoId(entrada.longo());
+            s.setProfissionalIds(entrada.ids());
+            return s;
+        }
+    }
+
+    static final class Cliente implements CodecBinario<ClienteDTO> {
+
+        @Override public int id() { return 4; }
+        @Override public int versao() { return 1; }
+        @Override public Class<ClienteDTO> tipo() { return ClienteDTO.class; }
+
+        @Override
+        public void escrever(ClienteDTO c, Escritor saida) {
+            saida.longo(c.getId());
+            saida.texto(c.getNome());
+            saida.texto(c.getSobrenome());
+            saida.texto(c.getEmail());
+            saida.texto(c.getTelefone());
+            saida.dataHora(c.getCriadoEm());
+            saida.dataHora(c.getAtualizadoEm());
+        }
+
+        @Override
+        public ClienteDTO ler(Leitor entrada, int versao) {
+            if (versao != 1) {
+                return null;
+            }
+            return ClienteDTO.builder()
+                    .id(entrada.longo())
+                    .nome(entrada.texto())
+                    .sobrenome(entrada.texto())
+                    .email(entrada.texto())
+                    .telefone(entrada.texto())
+                    .criadoEm(entrada.dataHora())
+                    .atualizadoEm(entrada.dataHora())
+                    .build();
+        }
+    }
+}
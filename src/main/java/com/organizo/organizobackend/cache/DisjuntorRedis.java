@@ -0,0 +1,194 @@
+package com.organizo.organizobackend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Disjuntor das chamadas de cache ao Redis.
+ * <p>
+ * Após {@code falhas-para-abrir} erros seguidos de acesso ao Redis ({@link DataAccessException}:
+ * conexão recusada, timeout etc.) o disjuntor abre: as chamadas devolvem a reserva na hora,
+ * sem tentar a rede, e o cache passa a ser só a L1 de cada instância. Depois de
+ * {@code aberto-por}, uma única chamada passa como sonda (meio-aberto): sucesso fecha o
+ * disjuntor e dispara as ações de recuperação (ex.: reconciliar escritas perdidas); falha o
+ * reabre por mais um período.
+ * <p>
+ * Estado em {@code /actuator/health} (componente {@code disjuntorRedis}, sempre UP: sem Redis a
+ * aplicação só perde eficiência) e nas métricas {@code organizo.cache.disjuntor.*}.
+ */
+@Component
+public class DisjuntorRedis implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisjuntorRedis.class);
+
+    public enum Estado {
+        FECHADO, MEIO_ABERTO, ABERTO
+    }
+
+    private final int falhasParaAbrir;
+    private final long abertoPorNanos;
+    private final LongSupplier relogio;
+    private final Executor recuperacao;
+    private final AtomicInteger falhasSeguidas = new AtomicInteger();
+    /** Instante (nanoTime) a partir do qual uma sonda pode passar */
+    private final AtomicLong proximaSondaEm = new AtomicLong();
+    private final List<Runnable> aoRecuperar = new CopyOnWriteArrayList<>();
+    private final Map<Estado, Counter> transicoes = new EnumMap<>(Estado.class);
+    private final Counter desviadas;
+    private volatile Estado estado = Estado.FECHADO;
+    private volatile Instant desde = Instant.now();
+    private volatile String ultimaFalha;
+
+    @Autowired
+    public DisjuntorRedis(MeterRegistry registry,
+                          @Value("${cache.disjuntor.falhas-para-abrir:5}") int falhasParaAbrir,
+                          @Value("${cache.disjuntor.aberto-por:30s}") Duration abertoPor) {
+        this(registry, falhasParaAbrir, abertoPor, System::nanoTime, ForkJoinPool.commonPool());
+    }
+
+    DisjuntorRedis(MeterRegistry registry, int falhasParaAbrir, Duration abertoPor,
+                   LongSupplier relogio, Executor recuperacao) {
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.abertoPorNanos = abertoPor.toNanos();
+        this.relogio = relogio;
+        this.recuperacao = recuperacao;
+        Gauge.builder("organizo.cache.disjuntor.estado", this, d -> d.estado.ordinal())
+                .description("Disjuntor do Redis no cache: 0 fechado, 1 meio-aberto, 2 aberto")
+                .register(registry);
+        for (Estado e : Estado.values()) {
+            transicoes.put(e, Counter.builder("organizo.cache.disjuntor.transicoes")
+                    .description("Mudanças de estado do disjuntor do Redis no cache")
+                    .tag("estado", e.name().toLowerCase())
+                    .register(registry));
+        }
+        this.desviadas = Counter.builder("organizo.cache.disjuntor.desviadas")
+                .description("Chamadas ao Redis evitadas com o disjuntor aberto")
+                .register(registry);
+    }
+
+    /**
+     * Executa a chamada ao Redis se o disjuntor permitir; com ele aberto ou em caso de falha
+     * de acesso, devolve a reserva. Outras exceções (ex.: serialização) são propagadas.
+     */
+    public <T> T executar(Supplier<T> chamada, Supplier<T> reserva) {
+        if (!permitir()) {
+            return reserva.get();
+        }
+        T resultado;
+        try {
+            resultado = chamada.get();
+        } catch (DataAccessException e) {
+            falha(e);
+            return reserva.get();
+        }
+        sucesso();
+        return resultado;
+    }
+
+    /**
+     * Versão sem retorno de {@link #executar(Supplier, Supplier)}.
+     *
+     * @return false se a chamada não chegou ao Redis ou falhou
+     */
+    public boolean executar(Runnable chamada) {
+        return executar(() -> {
+            chamada.run();
+            return true;
+        }, () -> false);
+    }
+
+    /** Ação executada (fora da thread da requisição) quando o disjuntor volta a fechar. */
+    public void aoRecuperar(Runnable acao) {
+        aoRecuperar.add(acao);
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    boolean permitir() {
+        if (estado == Estado.FECHADO) {
+            return true;
+        }
+        long agora = relogio.getAsLong();
+        long sonda = proximaSondaEm.get();
+        if (agora - sonda >= 0 && proximaSondaEm.compareAndSet(sonda, agora + abertoPorNanos)) {
+            mudar(Estado.MEIO_ABERTO, null);
+            return true;
+        }
+        desviadas.increment();
+        return false;
+    }
+
+    private void sucesso() {
+        falhasSeguidas.set(0);
+        if (estado != Estado.FECHADO && mudar(Estado.FECHADO, null)) {
+            recuperacao.execute(() -> aoRecuperar.forEach(acao -> {
+                try {
+                    acao.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Falha na recuperação após o Redis voltar: {}", e.getMessage());
+                }
+            }));
+        }
+    }
+
+    private void falha(DataAccessException e) {
+        ultimaFalha = e.getMessage();
+        if (estado == Estado.MEIO_ABERTO || falhasSeguidas.incrementAndGet() >= falhasParaAbrir) {
+            proximaSondaEm.set(relogio.getAsLong() + abertoPorNanos);
+            mudar(Estado.ABERTO, e);
+        }
+    }
+
+    private synchronized boolean mudar(Estado novo, DataAccessException causa) {
+        if (estado == novo) {
+            return false;
+        }
+        Estado anterior = estado;
+        estado = novo;
+        desde = Instant.now();
+        transicoes.get(novo).increment();
+        if (novo == Estado.ABERTO) {
+            logger.warn("Disjuntor do Redis aberto ({} -> {}): cache só local por {} s. Causa: {}",
+                    anterior, novo, Duration.ofNanos(abertoPorNanos).toSeconds(), causa == null ? null : causa.getMessage());
+        } else {
+            logger.info("Disjuntor do Redis: {} -> {}", anterior, novo);
+        }
+        return true;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder saude = Health.up()
+                .withDetail("estado", estado)
+                .withDetail("desde", desde.toString())
+                .withDetail("falhasSeguidas", falhasSeguidas.get());
+        if (ultimaFalha != null) {
+            saude.withDetail("ultimaFalha", ultimaFalha);
+        }
+        return saude.build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.organizo.organizobackend.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RedisCacheWriter} que registra o tamanho serializado de cada valor gravado no Redis,
+ * por cache ({@code organizo.cache.valor.tamanho{cache}}, com histograma), e delega todo o resto.
+ * <p>
+ * É o único ponto que conhece ao mesmo tempo o nome do cache e os bytes já serializados
+ * (e comprimidos) pelo {@link SerializadorBinario}: o tamanho medido é o que ocupa memória no Redis.
+ */
+public class EscritorCacheMedido implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegado;
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> tamanhos;
+
+    public EscritorCacheMedido(RedisCacheWriter delegado, MeterRegistry registry) {
+        this(delegado, registry, new ConcurrentHashMap<>());
+    }
+
+    private EscritorCacheMedido(RedisCacheWriter delegado, MeterRegistry registry,
+                                Map<String, DistributionSummary> tamanhos) {
+        this.delegado = delegado;
+        this.registry = registry;
+        this.tamanhos = tamanhos;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegado.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return delegado.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegado.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key) {
+        return delegado.retrieve(name, key);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegado.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        delegado.put(name, key, value, ttl);
+        medir(name, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegado.store(name, key, value, ttl).thenRun(() -> medir(name, value));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        byte[] existente = delegado.putIfAbsent(name, key, value, ttl);
+        if (existente == null) {
+            medir(name, value);
+        }
+        return existente;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegado.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegado.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegado.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new EscritorCacheMedido(delegado.withStatisticsCollector(cacheStatisticsCollector), registry, tamanhos);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegado.getCacheStatistics(cacheName);
+    }
+
+    private void medir(String cache, byte[] valor) {
+        tamanhos.computeIfAbsent(cache, nome -> DistributionSummary.builder("organizo.cache.valor.tamanho")
+                        .description("Tamanho serializado dos valores gravados no Redis")
+                        .baseUnit("bytes")
+                        .tag("cache", nome)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(16.0)
+                        .maximumExpectedValue(1024.0 * 1024)
+                        .register(registry))
+                .record(valor.length);
+    }
+}
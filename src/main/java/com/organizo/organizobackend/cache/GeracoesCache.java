@@ -0,0 +1,161 @@
+package com.organizo.organizobackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de geração por agregado, usados nas chaves das páginas de listagem em cache.
+ * <p>
+ * Uma página é guardada sob {@code g<geração>:p<página>:s<tamanho>:<ordenação>}; uma escrita
+ * avança só a geração do agregado afetado (ex.: o catálogo de serviços de um salão), e as
+ * páginas antigas deixam de ser lidas e vencem pelo TTL do cache, sem {@code allEntries}.
+ * <p>
+ * O contador fica no Redis ({@code INCR}), compartilhado entre as instâncias. A leitura é
+ * memorizada localmente por um intervalo curto: outra instância pode servir a página anterior
+ * a uma escrita por até esse intervalo; a própria instância vê a nova geração na hora.
+ * O avanço acontece após o commit, para que nenhuma página montada antes dele fique na geração nova.
+ * <p>
+ * Com o {@link DisjuntorRedis} aberto, a geração avança só localmente (as páginas também estão
+ * só na L1). Quando ele volta, os avanços perdidos são reaplicados de uma vez ({@code INCRBY}
+ * com a quantidade) e, se o Redis ainda ficar atrás da geração local (ex.: chave perdida num
+ * reinício), avança além dela — uma geração nunca volta para um número já usado nesta instância.
+ */
+@Component
+public class GeracoesCache {
+
+    public static final String CLIENTES = "clientes";
+    public static final String SALOES = "saloes";
+    /** Catálogo de serviços de um salão ({@code servicos:<salaoId>}). */
+    public static final String SERVICOS_DO_SALAO = "servicos";
+
+    private static final String PREFIXO = "cache:geracao:";
+
+    private final StringRedisTemplate redis;
+    private final DisjuntorRedis disjuntor;
+    private final Cache<String, Long> lidas;
+    /** Última geração conhecida por agregado, usada enquanto o Redis não responde */
+    private final Map<String, Long> ultimas = new ConcurrentHashMap<>();
+    /** Quantidade de avanços que não chegaram ao Redis, por agregado */
+    private final Map<String, Long> pendentes = new ConcurrentHashMap<>();
+
+    public GeracoesCache(StringRedisTemplate redis,
+                         DisjuntorRedis disjuntor,
+                         @Value("${cache.geracoes.ttl-local:1s}") Duration ttlLocal) {
+        this.redis = redis;
+        this.disjuntor = disjuntor;
+        this.lidas = Caffeine.newBuilder()
+                .expireAfterWrite(ttlLocal)
+                .maximumSize(10_000)
+                .build();
+        disjuntor.aoRecuperar(this::reaplicarPendentes);
+    }
+
+    /**
+     * Chave de uma página de um agregado sem id (ex.: todos os clientes).
+     */
+    public String chave(String agregado, Pageable pageable) {
+        return "g" + atual(agregado) + ":" + pagina(pageable);
+    }
+
+    /**
+     * Chave de uma página de um agregado de um dono (ex.: serviços do salão {@code id}).
+     */
+    public String chave(String agregado, Long id, Pageable pageable) {
+        return "g" + atual(agregado + ":" + id) + ":" + pagina(pageable);
+    }
+
+    /** Invalida as páginas em cache do agregado (após o commit, se houver transação). */
+    public void avancar(String agregado) {
+        depoisDoCommit(agregado);
+    }
+
+    /** Invalida as páginas em cache do agregado do dono {@code id}. */
+    public void avancar(String agregado, Long id) {
+        depoisDoCommit(agregado + ":" + id);
+    }
+
+    long atual(String namespace) {
+        return lidas.get(namespace, this::lerDoRedis);
+    }
+
+    private long lerDoRedis(String namespace) {
+        String valor = disjuntor.executar(() -> redis.opsForValue().get(PREFIXO + namespace), () -> null);
+        if (valor == null) {
+            // Ainda sem avanço no Redis, ou Redis indisponível: vale a última conhecida
+            return ultimas.getOrDefault(namespace, 0L);
+        }
+        long geracao = Long.parseLong(valor);
+        ultimas.put(namespace, geracao);
+        return geracao;
+    }
+
+    private void depoisDoCommit(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(namespace);
+                }
+            });
+        } else {
+            incrementar(namespace);
+        }
+    }
+
+    private void incrementar(String namespace) {
+        Long geracao = disjuntor.executar(() -> redis.opsForValue().increment(PREFIXO + namespace), () -> null);
+        if (geracao == null) {
+            pendentes.merge(namespace, 1L, Long::sum);
+            geracao = ultimas.merge(namespace, 1L, Long::sum);
+        } else {
+            ultimas.put(namespace, geracao);
+        }
+        lidas.put(namespace, geracao);
+    }
+
+    private void reaplicarPendentes() {
+        for (Map.Entry<String, Long> pendente : pendentes.entrySet()) {
+            String namespace = pendente.getKey();
+            long perdidos = pendente.getValue();
+            Long geracao = incrementarNoRedis(namespace, perdidos);
+            if (geracao == null) {
+                return;
+            }
+            // Avanços feitos durante a reaplicação continuam pendentes
+            pendentes.computeIfPresent(namespace, (n, total) -> total > perdidos ? total - perdidos : null);
+            long local = ultimas.getOrDefault(namespace, 0L);
+            if (geracao < local) {
+                // O Redis ficou atrás (ex.: perdeu a chave): passa da maior geração usada aqui
+                long falta = local - geracao + 1;
+                geracao = incrementarNoRedis(namespace, falta);
+                if (geracao == null) {
+                    pendentes.merge(namespace, falta, Long::sum);
+                    return;
+                }
+            }
+            ultimas.merge(namespace, geracao, Math::max);
+            lidas.invalidate(namespace);
+        }
+    }
+
+    private Long incrementarNoRedis(String namespace, long quantidade) {
+        return disjuntor.executar(() -> redis.opsForValue().increment(PREFIXO + namespace, quantidade), () -> null);
+    }
+
+    private static String pagina(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "todos";
+        }
+        return "p" + pageable.getPageNumber() + ":s" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+}
@@ -0,0 +1,279 @@
+package com.organizo.organizobackend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheManager} que monta, para cada nome de cache, um {@link CacheDuasCamadas}:
+ * Caffeine local na frente do cache do Redis.
+ * <p>
+ * Toda escrita ou remoção é publicada no canal de invalidação; as outras instâncias recebem
+ * a mensagem (este bean é o {@link MessageListener} do canal) e descartam a entrada da
+ * própria L1. Mensagens da própria instância são ignoradas pelo identificador de origem.
+ * Formato: {@code origem \n cache \n chave}; sem a chave, a L1 do cache é esvaziada.
+ * <p>
+ * Todo acesso ao Redis passa pelo {@link DisjuntorRedis}: com ele aberto, o cache vira só a L1
+ * (limitada) desta instância, sem tentativas de rede. Escritas que não chegaram ao Redis nesse
+ * período marcam o cache como desatualizado; quando o disjuntor fecha, esses caches são
+ * esvaziados no Redis, para que valores anteriores às escritas perdidas não voltem a ser lidos.
+ * <p>
+ * Métricas por cache: as padrão {@code cache.*} (leituras por resultado, remoções por tamanho
+ * ou TTL, tamanho etc.) com a tag {@code camada} ({@code l1} ou {@code redis});
+ * {@code organizo.cache.carregamentos{cache,tipo}}: {@code carga} (o método foi executado),
+ * {@code coalescida} (esperou a carga de outra requisição) e {@code antecipada} (recarga antes
+ * do vencimento no Redis); {@code organizo.cache.carga.duracao{cache}} (histograma do tempo de
+ * carga). O tamanho serializado dos valores vem do {@link EscritorCacheMedido}.
+ */
+public class GerenciadorCacheDuasCamadas implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GerenciadorCacheDuasCamadas.class);
+    private static final char SEPARADOR = '\n';
+    private static final String CAMADA = "camada";
+
+    private final CacheManager remoto;
+    private final StringRedisTemplate redis;
+    private final String canal;
+    private final Duration ttlLocal;
+    private final long tamanhoLocal;
+    private final Duration ttlRemoto;
+    private final double betaRecarga;
+    private final DisjuntorRedis disjuntor;
+    private final MeterRegistry registry;
+    private final Map<String, Contadores> contadores = new ConcurrentHashMap<>();
+    private final String origem = UUID.randomUUID().toString();
+    private final Map<String, CacheDuasCamadas> caches = new ConcurrentHashMap<>();
+    /** Caches com escritas que não chegaram ao Redis (disjuntor aberto) */
+    private final Set<String> desatualizados = ConcurrentHashMap.newKeySet();
+    private final Map<String, Consumer<Object>> ouvintesAcesso = new ConcurrentHashMap<>();
+
+    public GerenciadorCacheDuasCamadas(CacheManager remoto,
+                                       StringRedisTemplate redis,
+                                       String canal,
+                                       Duration ttlLocal,
+                                       long tamanhoLocal,
+                                       Duration ttlRemoto,
+                                       double betaRecarga,
+                                       DisjuntorRedis disjuntor,
+                                       MeterRegistry registry) {
+        this.remoto = remoto;
+        this.redis = redis;
+        this.canal = canal;
+        this.ttlLocal = ttlLocal;
+        this.tamanhoLocal = tamanhoLocal;
+        this.ttlRemoto = ttlRemoto;
+        this.betaRecarga = betaRecarga;
+        this.disjuntor = disjuntor;
+        this.registry = registry;
+        disjuntor.aoRecuperar(this::reconciliar);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CacheDuasCamadas cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache doRemoto = remoto.getCache(name);
+        if (doRemoto == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> criar(n, doRemoto));
+    }
+
+    private CacheDuasCamadas criar(String nome, Cache doRemoto) {
+        com.github.benmanes.caffeine.cache.Cache<String, CacheDuasCamadas.Entrada> local = Caffeine.newBuilder()
+                .expireAfterWrite(ttlLocal)
+                .maximumSize(tamanhoLocal)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, local, nome, CAMADA, "l1");
+        if (doRemoto instanceof RedisCache redisCache) {
+            // Contagens do Redis só com RedisCacheManager.enableStatistics()
+            new RedisCacheMetrics(redisCache, Tags.of(CAMADA, "redis")).bindTo(registry);
+        }
+        // Vencimentos no Redis do que esta instância gravou (só com recarga antecipada), limitados como a L1
+        com.github.benmanes.caffeine.cache.Cache<String, Long> vencimentos = Caffeine.newBuilder()
+                .expireAfterWrite(ttlRemoto)
+                .maximumSize(tamanhoLocal)
+                .build();
+        return new CacheDuasCamadas(nome, local, vencimentos, doRemoto, this);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoto.getCacheNames();
+    }
+
+    /** Caches já criados nesta instância (métricas e testes). */
+    public Collection<CacheDuasCamadas> getCaches() {
+        return caches.values();
+    }
+
+    /** Identificador desta instância nas mensagens de invalidação. */
+    public String getOrigem() {
+        return origem;
+    }
+
+    /**
+     * Esvazia a L1 de todos os caches: invalidações publicadas enquanto esta instância
+     * não estava inscrita no canal foram perdidas.
+     */
+    public void limparLocais() {
+        caches.values().forEach(CacheDuasCamadas::limparLocal);
+    }
+
+    /**
+     * Recebe a chave de cada leitura do cache {@code nome} feita por um {@code @Cacheable(sync = true)},
+     * acerto ou falta (ex.: contagem de acessos para o aquecimento).
+     */
+    public void aoAcessar(String nome, Consumer<Object> ouvinte) {
+        ouvintesAcesso.put(nome, ouvinte);
+    }
+
+    void acessado(String nome, Object key) {
+        Consumer<Object> ouvinte = ouvintesAcesso.get(nome);
+        if (ouvinte != null) {
+            ouvinte.accept(key);
+        }
+    }
+
+    DisjuntorRedis getDisjuntor() {
+        return disjuntor;
+    }
+
+    /** Uma escrita do cache {@code nome} não chegou ao Redis. */
+    void escritaPerdida(String nome) {
+        desatualizados.add(nome);
+    }
+
+    /**
+     * Redis de volta: esvazia lá os caches que perderam escritas e avisa as outras instâncias.
+     */
+    void reconciliar() {
+        for (String nome : desatualizados) {
+            Cache doRemoto = remoto.getCache(nome);
+            if (doRemoto != null && disjuntor.executar(doRemoto::clear)) {
+                desatualizados.remove(nome);
+                anunciarLimpeza(nome);
+                logger.info("Cache '{}' esvaziado no Redis após escritas perdidas com o disjuntor aberto", nome);
+            }
+        }
+    }
+
+    /** Peso da recarga antecipada (XFetch); 0 desliga. */
+    double getBetaRecarga() {
+        return betaRecarga;
+    }
+
+    /** Vencimento no Redis de uma entrada gravada agora. */
+    long vencimentoDeNovaEntrada() {
+        return betaRecarga > 0 ? System.currentTimeMillis() + ttlRemoto.toMillis() : 0;
+    }
+
+    void carregamento(String cache, long duracaoNanos) {
+        Contadores c = contadores(cache);
+        c.cargas.increment();
+        c.duracao.record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void carregamentoCoalescido(String cache) {
+        contadores(cache).coalescidas.increment();
+    }
+
+    void recargaAntecipada(String cache) {
+        contadores(cache).antecipadas.increment();
+    }
+
+    private Contadores contadores(String cache) {
+        return contadores.computeIfAbsent(cache, c -> new Contadores(c, registry));
+    }
+
+    void anunciarRemocao(String cache, String chave) {
+        publicar(origem + SEPARADOR + cache + SEPARADOR + chave);
+    }
+
+    void anunciarLimpeza(String cache) {
+        publicar(origem + SEPARADOR + cache);
+    }
+
+    private void publicar(String mensagem) {
+        // Sem Redis, as outras instâncias ficam com a L1 antiga até o TTL local
+        disjuntor.executar(() -> redis.convertAndSend(canal, mensagem));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        receber(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aplica uma mensagem de invalidação na L1 desta instância.
+     */
+    void receber(String mensagem) {
+        int fimOrigem = mensagem.indexOf(SEPARADOR);
+        if (fimOrigem < 0 || mensagem.startsWith(origem + SEPARADOR)) {
+            return;
+        }
+        int fimCache = mensagem.indexOf(SEPARADOR, fimOrigem + 1);
+        String nome = fimCache < 0 ? mensagem.substring(fimOrigem + 1) : mensagem.substring(fimOrigem + 1, fimCache);
+        // Cache ainda não usado aqui: nada na L1 para descartar
+        CacheDuasCamadas cache = caches.get(nome);
+        if (cache == null) {
+            return;
+        }
+        if (fimCache < 0) {
+            cache.limparLocal();
+        } else {
+            cache.removerLocal(mensagem.substring(fimCache + 1));
+        }
+    }
+
+    private static final class Contadores {
+
+        private final Counter cargas;
+        private final Counter coalescidas;
+        private final Counter antecipadas;
+        private final Timer duracao;
+
+        private Contadores(String cache, MeterRegistry registry) {
+            this.cargas = contador(registry, cache, "carga");
+            this.coalescidas = contador(registry, cache, "coalescida");
+            this.antecipadas = contador(registry, cache, "antecipada");
+            this.duracao = Timer.builder("organizo.cache.carga.duracao")
+                    .description("Tempo de carga de valores do cache (método executado na falta ou na recarga)")
+                    .tag("cache", cache)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static Counter contador(MeterRegistry registry, String cache, String tipo) {
+            return Counter.builder("organizo.cache.carregamentos")
+                    .description("Cargas de valores do cache por tipo: executada, coalescida ou antecipada")
+                    .tag("cache", cache).tag("tipo", tipo)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.organizo.organizobackend.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializador dos valores do cache no Redis em formato binário compacto.
+ * <p>
+ * Layout: {@code 0xC7 | formato | flags | tipo (varint) | versão (varint) | campos}. Os campos
+ * vêm do {@link CodecBinario} do tipo, sem nomes de propriedade nem de classe. Acima de
+ * {@code limiteCompressao} bytes os campos são comprimidos (Deflate, nível mais rápido) se
+ * isso reduzir o tamanho; nesse caso o tamanho original precede os dados comprimidos.
+ * <p>
+ * Tipos sem codec são gravados pelo serializador {@code reserva} (JSON), e o que não começa
+ * com o byte mágico também é lido por ele — valores antigos continuam legíveis depois da
+ * troca de formato. Versão de layout desconhecida é lida como ausente (falta de cache).
+ */
+public class SerializadorBinario implements RedisSerializer<Object> {
+
+    static final byte MAGICO = (byte) 0xC7;
+    static final byte FORMATO = 1;
+    private static final int COMPRIMIDO = 1;
+
+    private final Map<Class<?>, CodecBinario<?>> porTipo = new HashMap<>();
+    private final Map<Integer, CodecBinario<?>> porId = new HashMap<>();
+    private final RedisSerializer<Object> reserva;
+    private final int limiteCompressao;
+
+    public SerializadorBinario(List<CodecBinario<?>> codecs, RedisSerializer<Object> reserva, int limiteCompressao) {
+        for (CodecBinario<?> codec : codecs) {
+            if (porId.put(codec.id(), codec) != null) {
+                throw new IllegalArgumentException("Id de codec repetido: " + codec.id());
+            }
+            porTipo.put(codec.tipo(), codec);
+        }
+        this.reserva = reserva;
+        this.limiteCompressao = limiteCompressao;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object valor) {
+        if (valor == null) {
+            return new byte[0];
+        }
+        CodecBinario<Object> codec = (CodecBinario<Object>) porTipo.get(valor.getClass());
+        if (codec == null) {
+            return reserva.serialize(valor);
+        }
+        CodecBinario.Escritor campos = new CodecBinario.Escritor();
+        codec.escrever(valor, campos);
+        byte[] dados = campos.bytes();
+
+        byte flags = 0;
+        int tamanhoOriginal = dados.length;
+        if (limiteCompressao > 0 && dados.length > limiteCompressao) {
+            byte[] comprimido = comprimir(dados);
+            if (comprimido != null) {
+                dados = comprimido;
+                flags |= COMPRIMIDO;
+            }
+        }
+
+        CodecBinario.Escritor saida = new CodecBinario.Escritor();
+        saida.varint(codec.id());
+        saida.varint(codec.versao());
+        if ((flags & COMPRIMIDO) != 0) {
+            saida.varint(tamanhoOriginal);
+        }
+        byte[] cabecalho = saida.bytes();
+
+        byte[] resultado = new byte[3 + cabecalho.length + dados.length];
+        resultado[0] = MAGICO;
+        resultado[1] = FORMATO;
+        resultado[2] = flags;
+        System.arraycopy(cabecalho, 0, resultado, 3, cabecalho.length);
+        System.arraycopy(dados, 0, resultado, 3 + cabecalho.length, dados.length);
+        return resultado;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGICO) {
+            return reserva.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != FORMATO) {
+            return null;
+        }
+        CodecBinario.Leitor cabecalho = new CodecBinario.Leitor(bytes, 3);
+        CodecBinario<?> codec = porId.get((int) cabecalho.varint());
+        int versao = (int) cabecalho.varint();
+        if (codec == null) {
+            // Tipo removido ou gravado por uma versão mais nova da aplicação
+            return null;
+        }
+        try {
+            if ((bytes[2] & COMPRIMIDO) == 0) {
+                return codec.ler(cabecalho, versao);
+            }
+            int tamanhoOriginal = (int) cabecalho.varint();
+            return codec.ler(new CodecBinario.Leitor(descomprimir(bytes, cabecalho, tamanhoOriginal), 0), versao);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Valor binário inválido para " + codec.tipo().getSimpleName(), e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] dados) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(dados);
+            deflater.finish();
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length);
+            byte[] bloco = new byte[Math.min(dados.length, 8192)];
+            while (!deflater.finished()) {
+                saida.write(bloco, 0, deflater.deflate(bloco));
+                if (saida.size() >= dados.length) {
+                    return null; // não compensa
+                }
+            }
+            return saida.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] descomprimir(byte[] bytes, CodecBinario.Leitor posicao, int tamanhoOriginal) {
+        Inflater inflater = new Inflater(true);
+        try {
+            int inicio = posicao.posicao();
+            inflater.setInput(bytes, inicio, bytes.length - inicio);
+            byte[] dados = new byte[tamanhoOriginal];
+            int lidos = 0;
+            while (lidos < tamanhoOriginal && !inflater.finished()) {
+                int n = inflater.inflate(dados, lidos, tamanhoOriginal - lidos);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                lidos += n;
+            }
+            if (lidos != tamanhoOriginal) {
+                throw new IllegalStateException("Dados comprimidos truncados");
+            }
+            return dados;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.mapper.ClienteMapper;
+import com.organizo.organizobackend.mapper.ProfissionalMapper;
+import com.organizo.organizobackend.mapper.SalaoMapper;
+import com.organizo.organizobackend.mapper.ServicoMapper;
+import com.organizo.organizobackend.model.Cliente;
+import com.organizo.organizobackend.model.Profissional;
+import com.organizo.organizobackend.model.Salao;
+import com.organizo.organizobackend.model.Servico;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Mantém os caches de {@code saloes}, {@code servicos}, {@code profissionais} e {@code clientes}
+ * a partir dos eventos do Hibernate, em vez de anotações espalhadas pelos serviços.
+ * <p>
+ * Após o commit, uma inserção ou alteração grava o DTO novo no cache (o próximo leitor não
+ * erra), uma exclusão remove a entrada, e as gerações das listagens afetadas
+ * ({@link GeracoesCache}) avançam. Mudanças só em coleções (ex.: vincular um profissional a um
+ * serviço) não geram evento de alteração da entidade; elas são tratadas pelos eventos de
+ * coleção, com o mesmo efeito após o commit.
+ * <p>
+ * São cobertos o {@code persist}/{@code merge}/{@code remove} de entidades (inclusive os
+ * {@code save}/{@code delete} feitos direto pelos repositórios) e as mudanças de coleções.
+ * Atualizações em massa ({@code @Modifying} com JPQL ou SQL nativo) não geram eventos do
+ * Hibernate: quem as fizer nessas tabelas precisa limpar os caches afetados. Se o DTO não
+ * puder ser montado ou gravado, a entrada é removida.
+ */
+@Component
+public class SincronizacaoCacheEntidades implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SincronizacaoCacheEntidades.class);
+    private static final Set<Class<?>> ENTIDADES = Set.of(Salao.class, Servico.class, Profissional.class, Cliente.class);
+
+    private final EntityManagerFactory emf;
+    private final CacheManager caches;
+    private final GeracoesCache geracoes;
+    private final SalaoMapper salaoMapper;
+    private final ServicoMapper servicoMapper;
+    private final ProfissionalMapper profissionalMapper;
+    private final ClienteMapper clienteMapper;
+    private final AtomicBoolean falhando = new AtomicBoolean();
+
+    public SincronizacaoCacheEntidades(EntityManagerFactory emf,
+                                       CacheManager caches,
+                                       GeracoesCache geracoes,
+                                       SalaoMapper salaoMapper,
+                                       ServicoMapper servicoMapper,
+                                       ProfissionalMapper profissionalMapper,
+                                       ClienteMapper clienteMapper) {
+        this.emf = emf;
+        this.caches = caches;
+        this.geracoes = geracoes;
+        this.salaoMapper = salaoMapper;
+        this.servicoMapper = servicoMapper;
+        this.profissionalMapper = profissionalMapper;
+        this.clienteMapper = clienteMapper;
+    }
+
+    @PostConstruct
+    void registrar() {
+        EventListenerRegistry registro = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        registro.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registro.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return ENTIDADES.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        gravado(event.getEntity(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        gravado(event.getEntity(), salaoAnterior(event));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        removido(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        depoisDoCommit(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        depoisDoCommit(event);
+    }
+
+    // Rollback: nada foi gravado no cache antes do commit, então não há o que desfazer
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) { }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) { }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) { }
+
+    /**
+     * Eventos de coleção acontecem no flush; a gravação do dono fica para depois do commit.
+     */
+    private void depoisDoCommit(AbstractCollectionEvent event) {
+        Object dono = event.getAffectedOwnerOrNull();
+        if (dono == null || !ENTIDADES.contains(Hibernate.getClass(dono))) {
+            return;
+        }
+        event.getSession().getActionQueue().registerProcess((sucesso, sessao) -> {
+            if (sucesso) {
+                gravado(dono, null);
+            }
+        });
+    }
+
+    private void gravado(Object entidade, Long salaoAnterior) {
+        if (entidade instanceof Salao s) {
+            gravar("saloes", s.getId(), () -> salaoMapper.toDto(s));
+            geracoes.avancar(GeracoesCache.SALOES);
+        } else if (entidade instanceof Servico s) {
+            gravar("servicos", s.getId(), () -> servicoMapper.toDto(s));
+            Long salaoId = salaoDo(s);
+            avancarCatalogo(salaoId);
+            if (salaoAnterior != null && !salaoAnterior.equals(salaoId)) {
+                avancarCatalogo(salaoAnterior);
+            }
+        } else if (entidade instanceof Profissional p) {
+            gravar("profissionais", p.getId(), () -> profissionalMapper.toDto(p));
+        } else if (entidade instanceof Cliente c) {
+            gravar("clientes", c.getId(), () -> clienteMapper.toDto(c));
+            geracoes.avancar(GeracoesCache.CLIENTES);
+        }
+    }
+
+    private void removido(Object entidade) {
+        if (entidade instanceof Salao s) {
+            remover("saloes", s.getId());
+            geracoes.avancar(GeracoesCache.SALOES);
+            avancarCatalogo(s.getId());
+        } else if (entidade instanceof Servico s) {
+            remover("servicos", s.getId());
+            avancarCatalogo(salaoDo(s));
+        } else if (entidade instanceof Profissional p) {
+            remover("profissionais", p.getId());
+        } else if (entidade instanceof Cliente c) {
+            remover("clientes", c.getId());
+            geracoes.avancar(GeracoesCache.CLIENTES);
+        }
+    }
+
+    /**
+     * Grava o DTO novo (semântica de {@code @CachePut}); se não conseguir, remove a entrada.
+     */
+    private void gravar(String nome, Long id, Supplier<Object> dto) {
+        Cache cache = caches.getCache(nome);
+        if (cache == null || id == null) {
+            return;
+        }
+        try {
+            cache.put(id, dto.get());
+            recuperado();
+        } catch (RuntimeException e) {
+            logger.debug("Não foi possível gravar {}::{} no cache, removendo a entrada", nome, id, e);
+            remover(nome, id);
+        }
+    }
+
+    private void remover(String nome, Long id) {
+        Cache cache = caches.getCache(nome);
+        if (cache == null || id == null) {
+            return;
+        }
+        try {
+            cache.evict(id);
+            recuperado();
+        } catch (RuntimeException e) {
+            // A entrada antiga continua até o TTL do cache
+            if (falhando.compareAndSet(false, true)) {
+                logger.warn("Falha ao invalidar {}::{} após o commit: {}", nome, id, e.getMessage());
+            }
+        }
+    }
+
+    private void avancarCatalogo(Long salaoId) {
+        if (salaoId != null) {
+            geracoes.avancar(GeracoesCache.SERVICOS_DO_SALAO, salaoId);
+        }
+    }
+
+    private static Long salaoDo(Servico servico) {
+        return servico.getSalao() == null ? null : servico.getSalao().getId();
+    }
+
+    private void recuperado() {
+        if (falhando.compareAndSet(true, false)) {
+            logger.info("Invalidação de cache pós-commit voltou a funcionar");
+        }
+    }
+
+    /** Salão do serviço antes da alteração, para avançar também o catálogo de onde ele saiu. */
+    private static Long salaoAnterior(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Servico) || event.getOldState() == null) {
+            return null;
+        }
+        String[] propriedades = event.getPersister().getPropertyNames();
+        for (int i = 0; i < propriedades.length; i++) {
+            if ("salao".equals(propriedades[i]) && event.getOldState()[i] instanceof Salao anterior) {
+                return anterior.getId();
+            }
+        }
+        return null;
+    }
+}
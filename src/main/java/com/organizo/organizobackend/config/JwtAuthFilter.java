@@ -1,14 +1,12 @@
 package com.organizo.organizobackend.config;
 
-import com.organizo.organizobackend.repository.UsuarioRepository;
-import com.organizo.organizobackend.util.JwtUtil;
-import io.jsonwebtoken.JwtException;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.organizo.organizobackend.security.TokenClaims;
+import com.organizo.organizobackend.security.UsuarioAutenticado;
+import com.organizo.organizobackend.service.JwtService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,15 +14,23 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Intercepta cada requisição, extrai e valida o JWT no header Authorization.
+ * O token é verificado uma única vez e o usuário (id, e-mail e role) vem das claims,
+ * sem consulta ao banco. Registrado apenas na cadeia do Spring Security (ver {@link SecurityConfig}).
  */
-@Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    @Autowired private JwtUtil jwtUtil;
-    @Autowired private UsuarioRepository repo;
+    private static final String PREFIXO = "Bearer ";
+
+    private final JwtService jwtService;
+    private final WebAuthenticationDetailsSource detalhes = new WebAuthenticationDetailsSource();
+
+    public JwtAuthFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -33,32 +39,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws IOException, jakarta.servlet.ServletException {
 
         String header = req.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            try {
-                String email = jwtUtil.obterEmail(token);
-                if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Busca o usuário e sua role
-                    repo.findByEmail(email).ifPresent(user -> {
-                        // Converte Role em GrantedAuthority
-                        List<SimpleGrantedAuthority> authorities = List.of(
-                                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+        if (header != null && header.startsWith(PREFIXO)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Token inválido ou expirado: prossegue sem autenticação
+            Optional<TokenClaims> claims = jwtService.verificar(header.substring(PREFIXO.length()));
+            claims.filter(c -> c.getSubject() != null && c.getRole() != null).ifPresent(c -> {
+                UsernamePasswordAuthenticationToken auth =
+                        new UsernamePasswordAuthenticationToken(
+                                UsuarioAutenticado.de(c),
+                                null,
+                                List.of(new SimpleGrantedAuthority("ROLE_" + c.getRole()))
                         );
-
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(
-                                        email,
-                                        null,
-                                        authorities
-                                );
-                        auth.setDetails(new WebAuthenticationDetailsSource()
-                                .buildDetails(req));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    });
-                }
-            } catch (JwtException ex) {
-                // token inválido ou expirado; prossegue sem autenticação
-            }
+                auth.setDetails(detalhes.buildDetails(req));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            });
         }
         chain.doFilter(req, res);
     }
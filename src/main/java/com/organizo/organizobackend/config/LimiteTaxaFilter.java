@@ -0,0 +1,63 @@
+package com.organizo.organizobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.organizo.organizobackend.exception.ErrorResponse;
+import com.organizo.organizobackend.service.LimiteTaxaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Aplica o limite por IP aos POST em /api/auth/**, antes de o corpo ser lido e de qualquer
+ * acesso ao banco. Atrás de proxy, configure {@code server.forward-headers-strategy} para que
+ * {@code getRemoteAddr()} seja o IP do cliente. Registrado apenas na cadeia do Spring Security
+ * (ver {@link SecurityConfig}).
+ */
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "/api/auth/";
+
+    private final LimiteTaxaService limites;
+    private final ObjectMapper json;
+
+    public LimiteTaxaFilter(LimiteTaxaService limites, ObjectMapper json) {
+        this.limites = limites;
+        this.json = json;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !"POST".equals(req.getMethod()) || !req.getRequestURI().startsWith(PREFIXO);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req,
+                                    HttpServletResponse res,
+                                    FilterChain chain) throws ServletException, IOException {
+        long espera = limites.consumirIp(req.getRemoteAddr());
+        if (espera > 0) {
+            ErrorResponse erro = new ErrorResponse(
+                    LocalDateTime.now(),
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                    "Muitas tentativas a partir deste endereço. Tente novamente em " + espera + " segundo(s).",
+                    req.getRequestURI()
+            );
+            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(espera));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setCharacterEncoding("UTF-8");
+            json.writeValue(res.getOutputStream(), erro);
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+}
@@ -1,17 +1,20 @@
 package com.organizo.organizobackend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * Expõe BCryptPasswordEncoder como bean para hashing de senhas.
+ * A força (fator de trabalho, 4 a 31) vem de {@code senha.bcrypt.forca}; hashes com outra
+ * força são refeitos no login (ver {@link com.organizo.organizobackend.service.SenhaService}).
  */
 @Configuration
 public class PasswordConfig {
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${senha.bcrypt.forca:10}") int forca) {
+        return new BCryptPasswordEncoder(forca);
     }
 }
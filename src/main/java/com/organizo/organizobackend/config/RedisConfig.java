@@ -5,8 +5,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.organizo.organizobackend.cache.CodecsDto;
+import com.organizo.organizobackend.cache.DisjuntorRedis;
+import com.organizo.organizobackend.cache.EscritorCacheMedido;
+import com.organizo.organizobackend.cache.GerenciadorCacheDuasCamadas;
+import com.organizo.organizobackend.cache.SerializadorBinario;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
@@ -14,9 +21,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -25,14 +37,29 @@ import java.time.Duration;
 @Configuration
 public class RedisConfig extends CachingConfigurerSupport {
 
+    /**
+     * Timeout curto de conexão e de comando: com o Redis lento ou fora do ar, cada chamada
+     * falha rápido e o {@link DisjuntorRedis} abre depois de poucas falhas.
+     */
     @Bean
     public LettuceConnectionFactory redisConnectionFactory(
             @Value("${spring.redis.host:localhost}") String host,
-            @Value("${spring.redis.port:6379}") int port) {
-        return new LettuceConnectionFactory(host, port);
+            @Value("${spring.redis.port:6379}") int port,
+            @Value("${spring.redis.timeout:500ms}") Duration timeout) {
+        LettuceClientConfiguration cliente = LettuceClientConfiguration.builder()
+                .commandTimeout(timeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                        .build())
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port), cliente);
     }
 
-    private GenericJackson2JsonRedisSerializer jacksonSerializer() {
+    /**
+     * JSON com metadados de tipo: usado pelo RedisTemplate, pelo cache no modo {@code json} e como
+     * reserva do {@link SerializadorBinario} (tipos sem codec e valores gravados antes dele).
+     */
+    public static GenericJackson2JsonRedisSerializer jacksonSerializer() {
         // Criamos um ObjectMapper *local*, NÃO como bean!
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
@@ -61,18 +88,49 @@ public class RedisConfig extends CachingConfigurerSupport {
         return tpl;
     }
 
+    /**
+     * Caches do @Cacheable: Caffeine local (L1) na frente do Redis (L2), com invalidação
+     * da L1 das outras instâncias via pub/sub (ver {@link com.organizo.organizobackend.cache.AssinaturaInvalidacaoCache}),
+     * carga única por chave, recarga antecipada perto do vencimento no Redis e disjuntor
+     * (só L1, sem rede) enquanto o Redis estiver fora do ar. Estatísticas do Redis ligadas
+     * para as métricas {@code cache.*{camada=redis}}.
+     */
     @Bean
-    public CacheManager cacheManager(LettuceConnectionFactory cf) {
-        GenericJackson2JsonRedisSerializer ser = jacksonSerializer();
-
+    public GerenciadorCacheDuasCamadas cacheManager(LettuceConnectionFactory cf,
+                                                    StringRedisTemplate redis,
+                                                    DisjuntorRedis disjuntor,
+                                                    MeterRegistry registry,
+                                                    @Value("${cache.ttl:10m}") Duration ttl,
+                                                    @Value("${cache.invalidacao.canal:organizo:cache:invalidacao}") String canal,
+                                                    @Value("${cache.l1.ttl:60s}") Duration ttlLocal,
+                                                    @Value("${cache.l1.tamanho:10000}") long tamanhoLocal,
+                                                    @Value("${cache.recarga-antecipada.beta:1.0}") double betaRecarga,
+                                                    @Value("${cache.serializacao.formato:binario}") String formato,
+                                                    @Value("${cache.serializacao.compressao-acima:1024}") int compressaoAcima) {
         RedisCacheConfiguration cfg = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(ttl)
                 .disableCachingNullValues()
-                .serializeValuesWith(SerializationPair.fromSerializer(ser));
-
-        return RedisCacheManager.builder(cf)
+                .serializeValuesWith(SerializationPair.fromSerializer(serializadorCache(formato, compressaoAcima)));
+        RedisCacheWriter escritor = new EscritorCacheMedido(RedisCacheWriter.nonLockingRedisCacheWriter(cf), registry);
+        RedisCacheManager remoto = RedisCacheManager.builder(escritor)
                 .cacheDefaults(cfg)
+                .enableStatistics()
                 .build();
+        remoto.afterPropertiesSet();
+        return new GerenciadorCacheDuasCamadas(remoto, redis, canal, ttlLocal, tamanhoLocal,
+                ttl, betaRecarga, disjuntor, registry);
+    }
+
+    /**
+     * Formato dos valores do cache no Redis: {@code binario} (compacto, com JSON de reserva
+     * para tipos sem codec) ou {@code json}. Os dois leem valores JSON já gravados.
+     */
+    static RedisSerializer<Object> serializadorCache(String formato, int compressaoAcima) {
+        GenericJackson2JsonRedisSerializer json = jacksonSerializer();
+        if ("json".equalsIgnoreCase(formato)) {
+            return json;
+        }
+        return new SerializadorBinario(CodecsDto.todos(), json, compressaoAcima);
     }
 
     @Bean @Override
@@ -1,78 +1,61 @@
 package com.organizo.organizobackend.config;
 
-import com.organizo.organizobackend.enums.StatusAgendamento;
-import com.organizo.organizobackend.model.Agendamento;
-import com.organizo.organizobackend.repository.AgendamentoRepository;
-import com.organizo.organizobackend.service.EmailService;
+import com.organizo.organizobackend.service.LeaseService;
+import com.organizo.organizobackend.service.LembreteService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Componente responsável por enviar lembretes de agendamentos
  * confirmados que ocorrerão nas próximas 2 horas.
+ * Só é usado com {@code agenda.lembretes.modo=polling}; o padrão é a roda do tempo
+ * ({@link com.organizo.organizobackend.service.AgendadorLembretes}).
  */
 @Component
-@EnableScheduling
+@ConditionalOnProperty(name = "agenda.lembretes.modo", havingValue = "polling")
 public class SchedulerConfig {
 
     private static final Logger log = LoggerFactory.getLogger(SchedulerConfig.class);
 
-    private final AgendamentoRepository agRepo;
-    private final EmailService emailService;
+    static final String LEASE_LEMBRETES = "lembretes";
+    // Maior que o intervalo da tarefa: o líder renova antes de perder a lease
+    private static final Duration DURACAO_LEASE = Duration.ofMinutes(20);
+
+    private final LembreteService lembretes;
+    private final LeaseService leases;
 
     @Autowired
-    public SchedulerConfig(AgendamentoRepository agRepo,
-                           EmailService emailService) {
-        this.agRepo       = agRepo;
-        this.emailService = emailService;
+    public SchedulerConfig(LembreteService lembretes,
+                           LeaseService leases) {
+        this.lembretes = lembretes;
+        this.leases    = leases;
     }
 
     /**
      * Executa a cada 15 minutos.
-     * – Busca só os agendamentos CONFIRMADOS entre 'agora' e 'agora + 2h'
-     * – Para cada um, tenta enviar o e-mail e, em caso de falha, só loga o erro
+     * – Só a instância que detém a lease 'lembretes' faz a varredura
+     * – Cada agendamento CONFIRMADO entre 'agora' e 'agora + 2h' recebe um único lembrete,
+     *   marcado em lembrete_enviado_em e enviado pela caixa de saída de e-mails
      */
     @Scheduled(fixedRate = 15 * 60 * 1000)
     public void enviarLembretes() {
+        if (!leases.adquirir(LEASE_LEMBRETES, DURACAO_LEASE)) {
+            log.debug("Lease '{}' está com outra instância; varredura ignorada", LEASE_LEMBRETES);
+            return;
+        }
         LocalDateTime agora  = LocalDateTime.now();
         LocalDateTime limite = agora.plusHours(2);
 
-        // 1) Consulta dedicada ao banco
-        List<Agendamento> proximos = agRepo
-                .findAllByStatusAndDataHoraAgendadaBetween(
-                        StatusAgendamento.CONFIRMADO, agora, limite
-                );
-
-        // 2) Itera e envia e-mail de lembrete
-        proximos.forEach(ag -> {
-            try {
-                String texto = String.format(
-                        "Olá %s,%n%n" +
-                                "Este é um lembrete do seu agendamento de %s " +
-                                "hoje às %s.%n%nAtenciosamente.",
-                        ag.getCliente().getNome(),
-                        ag.getServico().getNome(),
-                        ag.getDataHoraAgendada().toLocalTime()
-                );
-                emailService.sendSimpleMessage(
-                        ag.getCliente().getEmail(),
-                        "Lembrete de Agendamento",
-                        texto
-                );
-                log.info("Lembrete enviado p/ Agendamento[id={}]", ag.getId());
-            } catch (Exception ex) {
-                log.error(
-                        "Falha ao enviar lembrete p/ Agendamento[id={}]: {}",
-                        ag.getId(), ex.getMessage(), ex
-                );
-            }
-        });
+        int enfileirados = lembretes.enviarPendentes(agora, limite);
+        if (enfileirados > 0) {
+            log.info("{} lembrete(s) enfileirado(s) para envio", enfileirados);
+        }
     }
 }
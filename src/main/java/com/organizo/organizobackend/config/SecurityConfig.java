@@ -1,46 +1,54 @@
 package com.organizo.organizobackend.config;
 
-import javax.crypto.spec.SecretKeySpec;
-
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.organizo.organizobackend.security.RegrasAutorizacao;
+import com.organizo.organizobackend.service.JwtService;
+import com.organizo.organizobackend.service.LimiteTaxaService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtService jwtService,
+                                                   LimiteTaxaService limites,
+                                                   RegrasAutorizacao regras,
+                                                   ObjectMapper json) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+                // Único ponto de autenticação: o JwtAuthFilter (não é bean, para não ser registrado de novo como filtro do servlet)
+                .addFilterBefore(new JwtAuthFilter(jwtService), UsernamePasswordAuthenticationFilter.class)
+                // Limite por IP do /api/auth/** roda antes de tudo que toca banco ou BCrypt
+                .addFilterBefore(new LimiteTaxaFilter(limites, json), JwtAuthFilter.class)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 // AQUI ESTÁ A CORREÇÃO: Adicionamos as permissões para as ferramentas
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll() // Endpoints de autenticação
                         .requestMatchers("/h2-console/**").permitAll() // Libera o acesso ao H2 Console
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll() // Libera o acesso ao Swagger
+                        // Regras de posse compiladas (papel primeiro, consulta só se o papel exigir)
+                        .requestMatchers(HttpMethod.GET, "/api/agendamentos/cliente/{clienteId}").access(regras.agendamentosDoCliente())
+                        .requestMatchers(HttpMethod.GET, "/api/agendamentos/profissional/{profissionalId}").access(regras.agendamentosDoProfissional())
+                        .requestMatchers(HttpMethod.PUT, "/api/agendamentos/{id}/confirmar").access(regras.confirmarAgendamento())
+                        .requestMatchers(HttpMethod.PUT, "/api/agendamentos/{id}/cancelar").access(regras.cancelarAgendamento())
+                        .requestMatchers(HttpMethod.PUT, "/api/saloes/{id}").access(regras.alterarSalao())
+                        .requestMatchers(HttpMethod.DELETE, "/api/saloes/{id}").access(regras.alterarSalao())
                         .anyRequest().authenticated() // Exige autenticação para todo o resto
                 )
                 // Necessário para o H2 Console funcionar corretamente em um iframe
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
                 .build();
     }
-
-    @Bean
-    public JwtDecoder jwtDecoder() {
-        SecretKeySpec secretKeySpec = new SecretKeySpec(this.secretKey.getBytes(), "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(secretKeySpec).build();
-    }
-}
\ No newline at end of file
+}
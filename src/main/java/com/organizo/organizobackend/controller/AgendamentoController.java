@@ -1,6 +1,7 @@
 package com.organizo.organizobackend.controller;
 
 import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.dto.CursorPaginatedResponse;
 import com.organizo.organizobackend.service.AgendamentoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 /**
  * Controller para gerenciar Agendamentos.
  * Aplica regras de autorização baseadas em roles e relação com o agendamento.
+ * As regras de posse ficam em {@link com.organizo.organizobackend.security.RegrasAutorizacao}.
  */
 @RestController
 @RequestMapping("/api/agendamentos")
@@ -51,8 +53,7 @@ public class AgendamentoController {
     }
 
     @GetMapping("/cliente/{clienteId}")
-    // Requer ADMIN OU (CLIENTE E ser o próprio cliente #clienteId)
-    @PreAuthorize("hasRole(\'ADMIN\') or (hasRole(\'CLIENTE\') and @agendamentoSecurityService.isClienteOwner(#clienteId, principal.username))")
+    // Requer ADMIN OU (CLIENTE E ser o próprio cliente #clienteId): RegrasAutorizacao.agendamentosDoCliente
     @Operation(summary = "Lista agendamentos de um cliente específico (Requer ADMIN ou o próprio Cliente)")
     @ApiResponse(responseCode = "200", description = "Lista de agendamentos do cliente retornada")
     @ApiResponse(responseCode = "403", description = "Acesso negado")
@@ -64,8 +65,7 @@ public class AgendamentoController {
     }
 
     @GetMapping("/profissional/{profissionalId}")
-    // Requer ADMIN OU (PROFISSIONAL E ser o próprio profissional #profissionalId)
-    @PreAuthorize("hasRole(\'ADMIN\') or (hasRole(\'PROFISSIONAL\') and @agendamentoSecurityService.isProfissionalOwner(#profissionalId, principal.username))")
+    // Requer ADMIN OU (PROFISSIONAL E ser o próprio profissional #profissionalId): RegrasAutorizacao.agendamentosDoProfissional
     @Operation(summary = "Lista agendamentos de um profissional específico (Requer ADMIN ou o próprio Profissional)")
     @ApiResponse(responseCode = "200", description = "Lista de agendamentos do profissional retornada")
     @ApiResponse(responseCode = "403", description = "Acesso negado")
@@ -76,11 +76,39 @@ public class AgendamentoController {
         return ResponseEntity.ok(service.listarPorProfissional(profissionalId, pageable));
     }
 
+    @GetMapping(value = "/cliente/{clienteId}", params = "cursor")
+    // Mesma regra da listagem paginada: RegrasAutorizacao.agendamentosDoCliente
+    @Operation(summary = "Lista agendamentos de um cliente paginando por cursor (Requer ADMIN ou o próprio Cliente)",
+            description = "Envie cursor vazio para a primeira página e o nextCursor retornado para as seguintes.")
+    @ApiResponse(responseCode = "200", description = "Página de agendamentos do cliente retornada")
+    @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido")
+    @ApiResponse(responseCode = "403", description = "Acesso negado")
+    @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    public ResponseEntity<CursorPaginatedResponse<AgendamentoDTO>> listarPorClienteComCursor(
+            @PathVariable Long clienteId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(service.listarPorClienteComCursor(clienteId, cursor, limite));
+    }
+
+    @GetMapping(value = "/profissional/{profissionalId}", params = "cursor")
+    // Mesma regra da listagem paginada: RegrasAutorizacao.agendamentosDoProfissional
+    @Operation(summary = "Lista agendamentos de um profissional paginando por cursor (Requer ADMIN ou o próprio Profissional)",
+            description = "Envie cursor vazio para a primeira página e o nextCursor retornado para as seguintes.")
+    @ApiResponse(responseCode = "200", description = "Página de agendamentos do profissional retornada")
+    @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido")
+    @ApiResponse(responseCode = "403", description = "Acesso negado")
+    @ApiResponse(responseCode = "404", description = "Profissional não encontrado")
+    public ResponseEntity<CursorPaginatedResponse<AgendamentoDTO>> listarPorProfissionalComCursor(
+            @PathVariable Long profissionalId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(service.listarPorProfissionalComCursor(profissionalId, cursor, limite));
+    }
+
     @PutMapping("/{id}/confirmar")
     // Requer ADMIN OU (PROFISSIONAL E ser o profissional do agendamento #id) OU (DONO_SALAO E ser dono do salão do profissional do agendamento #id)
-    @PreAuthorize("hasRole(\'ADMIN\') or " +
-            "(hasRole(\'PROFISSIONAL\') and @agendamentoSecurityService.isProfissionalOfAgendamento(#id, principal.username)) or " +
-            "(hasRole(\'DONO_SALAO\') and @agendamentoSecurityService.isOwnerOfSalaoContainingAgendamento(#id, principal.username))")
+    // Aplicada na cadeia HTTP: RegrasAutorizacao.confirmarAgendamento
     @Operation(summary = "Confirma um agendamento (Requer ADMIN, Profissional do Agendamento ou Dono do Salão)")
     @ApiResponse(responseCode = "200", description = "Agendamento confirmado")
     @ApiResponse(responseCode = "400", description = "Agendamento não está PENDENTE")
@@ -92,10 +120,7 @@ public class AgendamentoController {
 
     @PutMapping("/{id}/cancelar")
     // Requer ADMIN OU (CLIENTE E ser o cliente do agendamento #id) OU (PROFISSIONAL E ser o profissional do agendamento #id) OU (DONO_SALAO E ser dono do salão do profissional do agendamento #id)
-    @PreAuthorize("hasRole(\'ADMIN\') or " +
-            "(hasRole(\'CLIENTE\') and @agendamentoSecurityService.isClienteOfAgendamento(#id, principal.username)) or " +
-            "(hasRole(\'PROFISSIONAL\') and @agendamentoSecurityService.isProfissionalOfAgendamento(#id, principal.username)) or " +
-            "(hasRole(\'DONO_SALAO\') and @agendamentoSecurityService.isOwnerOfSalaoContainingAgendamento(#id, principal.username))")
+    // Aplicada na cadeia HTTP: RegrasAutorizacao.cancelarAgendamento
     @Operation(summary = "Cancela um agendamento (Requer ADMIN, Cliente, Profissional do Agendamento ou Dono do Salão)")
     @ApiResponse(responseCode = "200", description = "Agendamento cancelado")
     @ApiResponse(responseCode = "400", description = "Agendamento não pode ser cancelado (status inválido)")
@@ -104,8 +129,5 @@ public class AgendamentoController {
     public ResponseEntity<AgendamentoDTO> cancelar(@PathVariable Long id) {
         return ResponseEntity.ok(service.cancelar(id));
     }
-
-    // TODO: Criar um Bean @Service chamado 'agendamentoSecurityService' (ou adicionar métodos ao SalaoSecurityService)
-    // com os métodos: isClienteOwner, isProfissionalOwner, isClienteOfAgendamento, isProfissionalOfAgendamento, isOwnerOfSalaoContainingAgendamento
 }
 
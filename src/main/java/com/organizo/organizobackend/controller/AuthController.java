@@ -2,6 +2,7 @@ package com.organizo.organizobackend.controller;
 
 import com.organizo.organizobackend.dto.AuthResponse;
 import com.organizo.organizobackend.dto.LoginRequest;
+import com.organizo.organizobackend.dto.RefreshRequest;
 import com.organizo.organizobackend.dto.RegistroRequest;
 import com.organizo.organizobackend.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,4 +37,12 @@ public class AuthController {
         AuthResponse resp = service.autenticar(dto);
         return ResponseEntity.ok(resp);
     }
+
+    /** POST /api/auth/refresh */
+    @Operation(summary = "Renova a sessão", description = "Troca o refresh token por um novo JWT e um novo refresh token")
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest dto) {
+        AuthResponse resp = service.renovar(dto);
+        return ResponseEntity.ok(resp);
+    }
 }
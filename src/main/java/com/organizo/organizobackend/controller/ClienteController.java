@@ -8,7 +8,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -30,11 +29,8 @@ public class ClienteController {
     public ResponseEntity<PaginatedResponse<ClienteDTO>> listar(
             @PageableDefault(size = 10, sort = "nome") Pageable pageable) {
         log.info("Requisição para listar clientes com paginação: {}", pageable);
-        Page<ClienteDTO> page = service.listar(pageable);
-        PaginatedResponse<ClienteDTO> resp = new PaginatedResponse<>(
-                page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages()
-        );
-        log.info("Retornando {} clientes de um total de {}", page.getNumberOfElements(), page.getTotalElements());
+        PaginatedResponse<ClienteDTO> resp = service.listar(pageable);
+        log.info("Retornando {} clientes de um total de {}", resp.getContent().size(), resp.getTotalElements());
         return ResponseEntity.ok(resp);
     }
 
@@ -0,0 +1,47 @@
+package com.organizo.organizobackend.controller;
+
+import com.organizo.organizobackend.dto.HorarioDisponivelDTO;
+import com.organizo.organizobackend.service.DisponibilidadeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Disponibilidade", description = "Busca de horários livres em um salão")
+@RestController
+@RequestMapping("/api/saloes/{salaoId}/disponibilidade")
+public class DisponibilidadeController {
+
+    private final DisponibilidadeService service;
+
+    @Autowired
+    public DisponibilidadeController(DisponibilidadeService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Próximos horários livres para um serviço",
+            description = "Considera todos os profissionais do salão vinculados ao serviço e a duração do serviço")
+    @ApiResponse(responseCode = "200", description = "Horários livres em ordem cronológica")
+    @ApiResponse(responseCode = "400", description = "Parâmetros inválidos")
+    @ApiResponse(responseCode = "404", description = "Serviço não encontrado no salão")
+    @GetMapping
+    public ResponseEntity<List<HorarioDisponivelDTO>> buscar(
+            @PathVariable Long salaoId,
+            @RequestParam Long servicoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "10") int limite,
+            @RequestParam(defaultValue = "15") int passo) {
+        return ResponseEntity.ok(service.buscar(salaoId, servicoId, de, ate, limite, passo));
+    }
+}
@@ -1,5 +1,6 @@
 package com.organizo.organizobackend.controller;
 
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.dto.SalaoDTO;
 import com.organizo.organizobackend.service.SalaoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,7 +9,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 /**
  * Controller para gerenciar Salões.
  * Aplica regras de autorização baseadas em roles e posse.
+ * As regras de posse ficam em {@link com.organizo.organizobackend.security.RegrasAutorizacao}.
  */
 @RestController
 @RequestMapping("/api/saloes")
@@ -31,7 +32,7 @@ public class SalaoController {
     @GetMapping
     @Operation(summary = "Lista todos os salões de forma paginada (Público)")
     @ApiResponse(responseCode = "200", description = "Lista de salões retornada")
-    public ResponseEntity<Page<SalaoDTO>> listar(Pageable pageable) {
+    public ResponseEntity<PaginatedResponse<SalaoDTO>> listar(Pageable pageable) {
         return ResponseEntity.ok(service.listar(pageable));
     }
 
@@ -61,7 +62,7 @@ public class SalaoController {
 
     @PutMapping("/{id}")
     // Requer ADMIN OU (DONO_SALAO E ser o dono do salão com ID #id)
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('DONO_SALAO') and @salaoSecurityService.isOwner(#id, principal.username))")
+    // Aplicada na cadeia HTTP: RegrasAutorizacao.alterarSalao
     @Operation(summary = "Atualiza um salão existente (Requer ADMIN ou Dono do Salão)")
     @ApiResponse(responseCode = "200", description = "Salão atualizado com sucesso")
     @ApiResponse(responseCode = "400", description = "Dados inválidos")
@@ -73,7 +74,7 @@ public class SalaoController {
 
     @DeleteMapping("/{id}")
     // Requer ADMIN OU (DONO_SALAO E ser o dono do salão com ID #id)
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('DONO_SALAO') and @salaoSecurityService.isOwner(#id, principal.username))")
+    // Aplicada na cadeia HTTP: RegrasAutorizacao.alterarSalao
     @Operation(summary = "Deleta um salão (Requer ADMIN ou Dono do Salão)")
     @ApiResponse(responseCode = "204", description = "Salão deletado com sucesso")
     @ApiResponse(responseCode = "403", description = "Acesso negado")
@@ -82,8 +83,5 @@ public class SalaoController {
         service.deletar(id);
         return ResponseEntity.noContent().build();
     }
-
-    // TODO: Criar um Bean @Service chamado 'salaoSecurityService' com o método isOwner(Long salaoId, String username)
-    // que verifica se o usuário (pelo username/email) é o dono do salão especificado.
 }
 
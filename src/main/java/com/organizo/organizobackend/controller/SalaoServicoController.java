@@ -7,7 +7,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -33,14 +32,7 @@ public class SalaoServicoController {
             @PathVariable Long salaoId,
             @PageableDefault(size = 10, sort = "nome") Pageable pageable) {
 
-        Page<ServicoDTO> page = servicoService.listarPorSalao(salaoId, pageable);
-        return ResponseEntity.ok(new PaginatedResponse<>(
-                page.getContent(),
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages()
-        ));
+        return ResponseEntity.ok(servicoService.listarPorSalao(salaoId, pageable));
     }
 
     @Operation(summary = "Cria um serviço atrelado a um salão", description = "Somente DONO_SALAO")
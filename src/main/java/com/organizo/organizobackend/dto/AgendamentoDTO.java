@@ -48,6 +48,25 @@ public class AgendamentoDTO {
     @Schema(description = "Nome do serviço", example = "Corte de Cabelo", accessMode = Schema.AccessMode.READ_ONLY)
     private String nomeServico;
 
+    public AgendamentoDTO() { }
+
+    /**
+     * Construtor usado pelas projeções JPQL ({@code SELECT new ...}) do AgendamentoRepository.
+     */
+    public AgendamentoDTO(Long id, Long clienteId, Long profissionalId, Long servicoId,
+                          LocalDateTime dataHoraAgendada, StatusAgendamento status,
+                          String nomeCliente, String nomeProfissional, String nomeServico) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.profissionalId = profissionalId;
+        this.servicoId = servicoId;
+        this.dataHoraAgendada = dataHoraAgendada;
+        this.status = status;
+        this.nomeCliente = nomeCliente;
+        this.nomeProfissional = nomeProfissional;
+        this.nomeServico = nomeServico;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
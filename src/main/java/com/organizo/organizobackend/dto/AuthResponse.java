@@ -14,6 +14,9 @@ public class AuthResponse {
     @NotBlank
     private String token;
 
+    @Schema(description = "Refresh token opaco e de uso único, trocado em /api/auth/refresh")
+    private String refreshToken;
+
     @Schema(description = "Email do usuário autênticado")
     @NotBlank
     @Email
@@ -36,12 +39,21 @@ public class AuthResponse {
         this.role  = role;
     }
 
+    public AuthResponse(String token, String refreshToken, String email, String nome, String role) {
+        this(token, email, nome, role);
+        this.refreshToken = refreshToken;
+    }
+
     // ===== Getters =====
 
     public String getToken() {
         return token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -0,0 +1,53 @@
+package com.organizo.organizobackend.dto;
+
+import java.util.List;
+
+/**
+ * Wrapper genérico para respostas paginadas por cursor (keyset).
+ * Não traz total de elementos: evita o COUNT(*) a cada página.
+ */
+public class CursorPaginatedResponse<T> {
+
+    /** Lista de itens desta página */
+    private List<T> content;
+    /** Token opaco para buscar a próxima página (null se não houver) */
+    private String nextCursor;
+    /** Tamanho máximo da página */
+    private int pageSize;
+
+    public CursorPaginatedResponse() { }
+
+    public CursorPaginatedResponse(List<T> content, String nextCursor, int pageSize) {
+        this.content    = content;
+        this.nextCursor = nextCursor;
+        this.pageSize   = pageSize;
+    }
+
+    // — GETTERS e SETTERS —
+    public List<T> getContent()          {
+        return content;
+    }
+    public void setContent(List<T> c)    {
+        this.content = c;
+    }
+
+    public String getNextCursor()        {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String n)  {
+        this.nextCursor = n;
+    }
+
+    public int getPageSize()             {
+        return pageSize;
+    }
+
+    public void setPageSize(int s)       {
+        this.pageSize = s;
+    }
+
+    public boolean isHasNext()           {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.organizo.organizobackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Horário livre para um serviço, com os profissionais que podem atendê-lo.
+ */
+@Schema(name = "HorarioDisponivel", description = "Horário livre para agendamento de um serviço")
+public class HorarioDisponivelDTO {
+
+    @Schema(description = "Início do atendimento", example = "2025-05-01T15:30:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Fim previsto do atendimento (início + duração do serviço)", example = "2025-05-01T16:15:00")
+    private LocalDateTime fim;
+
+    @Schema(description = "IDs dos profissionais livres neste horário", example = "[3, 7]")
+    private List<Long> profissionalIds;
+
+    public HorarioDisponivelDTO() { }
+
+    public HorarioDisponivelDTO(LocalDateTime inicio, LocalDateTime fim, List<Long> profissionalIds) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.profissionalIds = profissionalIds;
+    }
+
+    // Getters e Setters
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public List<Long> getProfissionalIds() {
+        return profissionalIds;
+    }
+    public void setProfissionalIds(List<Long> profissionalIds) {
+        this.profissionalIds = profissionalIds;
+    }
+}
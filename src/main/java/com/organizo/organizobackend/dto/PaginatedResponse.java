@@ -1,5 +1,8 @@
 package com.organizo.organizobackend.dto;
 
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,6 +36,14 @@ public class PaginatedResponse<T> {
         this.totalPages    = totalPages;
     }
 
+    /**
+     * Copia a página do Spring Data (o conteúdo vai para uma ArrayList, serializável no cache).
+     */
+    public static <T> PaginatedResponse<T> de(Page<T> page) {
+        return new PaginatedResponse<>(new ArrayList<>(page.getContent()),
+                page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+
     // — GETTERS e SETTERS —
     public List<T> getContent()          {
         return content;
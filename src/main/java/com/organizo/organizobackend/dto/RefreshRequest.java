@@ -0,0 +1,26 @@
+package com.organizo.organizobackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Dados para renovar a sessão sem reenviar a senha.
+ */
+@Schema(name = "RefreshRequest", description = "Dados para renovação do token de acesso")
+public class RefreshRequest {
+
+    @Schema(description = "Refresh token recebido no login ou na última renovação", required = true)
+    @NotBlank(message = "refreshToken é obrigatório")
+    private String refreshToken;
+
+    public RefreshRequest() { }
+
+    // ===== Getters & Setters =====
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,11 @@
+package com.organizo.organizobackend.enums;
+
+/**
+ * Ciclo de vida de um e-mail na caixa de saída (email_outbox).
+ */
+public enum StatusEmail {
+    PENDENTE,
+    PROCESSANDO,
+    ENVIADO,
+    DESCARTADO
+}
@@ -0,0 +1,23 @@
+package com.organizo.organizobackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando um cliente ou conta passa do limite de tentativas.
+ * Mapeada para 429 Too Many Requests com o cabeçalho Retry-After.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class LimiteExcedidoException extends RuntimeException {
+
+    private final long tentarNovamenteEmSegundos;
+
+    public LimiteExcedidoException(String message, long tentarNovamenteEmSegundos) {
+        super(message);
+        this.tentarNovamenteEmSegundos = tentarNovamenteEmSegundos;
+    }
+
+    public long getTentarNovamenteEmSegundos() {
+        return tentarNovamenteEmSegundos;
+    }
+}
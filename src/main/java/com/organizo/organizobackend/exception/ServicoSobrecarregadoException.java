@@ -0,0 +1,23 @@
+package com.organizo.organizobackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando um recurso limitado (ex.: pool de hashing de senhas) está saturado.
+ * Mapeada para 503 Service Unavailable com o cabeçalho Retry-After.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final long tentarNovamenteEmSegundos;
+
+    public ServicoSobrecarregadoException(String message, long tentarNovamenteEmSegundos) {
+        super(message);
+        this.tentarNovamenteEmSegundos = tentarNovamenteEmSegundos;
+    }
+
+    public long getTentarNovamenteEmSegundos() {
+        return tentarNovamenteEmSegundos;
+    }
+}
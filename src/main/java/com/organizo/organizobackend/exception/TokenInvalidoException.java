@@ -0,0 +1,17 @@
+package com.organizo.organizobackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma credencial de sessão (ex.: refresh token) não é aceita:
+ * desconhecida, expirada, revogada ou reutilizada.
+ * Mapeada para 401 Unauthorized: o cliente precisa fazer login de novo.
+ */
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class TokenInvalidoException extends RuntimeException {
+
+    public TokenInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -8,7 +8,13 @@ import java.time.LocalDateTime;
  * Representa um agendamento de serviço feito pelo cliente.
  */
 @Entity
-@Table(name = "agendamento")
+@Table(name = "agendamento", indexes = {
+        // Suportam a paginação por cursor ordenada por (dataHoraAgendada, id)
+        @Index(name = "idx_agendamento_prof_data_id", columnList = "profissional_id, data_hora_agendada, id"),
+        @Index(name = "idx_agendamento_cliente_data_id", columnList = "cliente_id, data_hora_agendada, id"),
+        // Varredura de lembretes: confirmados numa janela de horário
+        @Index(name = "idx_agendamento_status_data", columnList = "status, data_hora_agendada")
+})
 public class Agendamento {
 
     @Id
@@ -31,6 +37,10 @@ public class Agendamento {
     @Column(nullable = false, length = 20)
     private StatusAgendamento status;
 
+    /** Quando o lembrete foi reivindicado para envio; null enquanto não enviado */
+    @Column(name = "lembrete_enviado_em")
+    private LocalDateTime lembreteEnviadoEm;
+
     @Column(name = "criado_em", nullable = false, updatable = false)
     private LocalDateTime criadoEm;
 
@@ -80,6 +90,10 @@ public class Agendamento {
         this.status = status;
     }
 
+    public LocalDateTime getLembreteEnviadoEm() {
+        return lembreteEnviadoEm;
+    }
+
     public LocalDateTime getCriadoEm() {
         return criadoEm;
     }
@@ -0,0 +1,104 @@
+package com.organizo.organizobackend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Bucket de 5 minutos ocupado por um agendamento.
+ * A chave primária (profissional_id, inicio) é a garantia, no banco, de que dois
+ * agendamentos ativos não ocupam o mesmo horário do mesmo profissional — inclusive
+ * quando criados por instâncias diferentes da aplicação.
+ */
+@Entity
+@Table(name = "agendamento_slot",
+        indexes = @Index(name = "idx_agendamento_slot_agendamento", columnList = "agendamento_id"))
+@IdClass(AgendamentoSlot.Chave.class)
+public class AgendamentoSlot implements Persistable<AgendamentoSlot.Chave> {
+
+    @Id
+    @Column(name = "profissional_id", nullable = false)
+    private Long profissionalId;
+
+    @Id
+    @Column(name = "inicio", nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(name = "agendamento_id", nullable = false)
+    private Long agendamentoId;
+
+    // Chave atribuída pela aplicação: evita o SELECT que o merge faria antes do INSERT
+    @Transient
+    private boolean novo = true;
+
+    public AgendamentoSlot() { }
+
+    public AgendamentoSlot(Long profissionalId, LocalDateTime inicio, Long agendamentoId) {
+        this.profissionalId = profissionalId;
+        this.inicio = inicio;
+        this.agendamentoId = agendamentoId;
+    }
+
+    // ===== Getters =====
+
+    public Long getProfissionalId() {
+        return profissionalId;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public Long getAgendamentoId() {
+        return agendamentoId;
+    }
+
+    @Override
+    public Chave getId() {
+        return new Chave(profissionalId, inicio);
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    // ===== Hooks JPA =====
+
+    @PostLoad
+    @PostPersist
+    protected void marcarPersistido() {
+        this.novo = false;
+    }
+
+    /**
+     * Chave composta (profissional, início do bucket).
+     */
+    public static class Chave implements Serializable {
+
+        private Long profissionalId;
+        private LocalDateTime inicio;
+
+        public Chave() { }
+
+        public Chave(Long profissionalId, LocalDateTime inicio) {
+            this.profissionalId = profissionalId;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave outra)) return false;
+            return Objects.equals(profissionalId, outra.profissionalId) && Objects.equals(inicio, outra.inicio);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(profissionalId, inicio);
+        }
+    }
+}
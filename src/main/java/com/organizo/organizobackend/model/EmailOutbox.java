@@ -0,0 +1,129 @@
+package com.organizo.organizobackend.model;
+
+import com.organizo.organizobackend.enums.StatusEmail;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * E-mail aguardando envio, gravado na mesma transação da operação que o originou.
+ * Um despachante assíncrono lê os pendentes após o commit e faz o envio fora da transação.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        // Busca dos prontos para envio: status + horário da próxima tentativa
+        @Index(name = "idx_email_outbox_status_proxima", columnList = "status, proxima_tentativa_em"),
+        @Index(name = "idx_email_outbox_lote", columnList = "lote")
+})
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 150)
+    private String destinatario;
+
+    @Column(nullable = false, length = 200)
+    private String assunto;
+
+    @Column(nullable = false, length = 4000)
+    private String corpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusEmail status;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private LocalDateTime proximaTentativaEm;
+
+    /** Identificador da reivindicação em andamento (null quando livre) */
+    @Column(length = 36)
+    private String lote;
+
+    @Column(name = "processando_desde")
+    private LocalDateTime processandoDesde;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "enviado_em")
+    private LocalDateTime enviadoEm;
+
+    public EmailOutbox() { }
+
+    public EmailOutbox(String destinatario, String assunto, String corpo) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.corpo = corpo;
+    }
+
+    // ===== Getters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public String getCorpo() {
+        return corpo;
+    }
+
+    public StatusEmail getStatus() {
+        return status;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public LocalDateTime getProximaTentativaEm() {
+        return proximaTentativaEm;
+    }
+
+    public String getLote() {
+        return lote;
+    }
+
+    public LocalDateTime getProcessandoDesde() {
+        return processandoDesde;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getEnviadoEm() {
+        return enviadoEm;
+    }
+
+    // ===== Hooks JPA =====
+
+    @PrePersist
+    protected void prePersist() {
+        this.criadoEm = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = StatusEmail.PENDENTE;
+        }
+        if (this.proximaTentativaEm == null) {
+            this.proximaTentativaEm = this.criadoEm;
+        }
+    }
+}
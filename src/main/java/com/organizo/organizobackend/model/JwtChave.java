@@ -0,0 +1,81 @@
+package com.organizo.organizobackend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de assinatura de JWT compartilhada entre as instâncias da aplicação.
+ * A mais recente não aposentada assina; todas as não aposentadas verificam.
+ */
+@Entity
+@Table(name = "jwt_chave")
+public class JwtChave implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    /** Segredo HS256 em Base64 */
+    @Column(nullable = false, length = 255)
+    private String segredo;
+
+    @Column(name = "criada_em", nullable = false, updatable = false)
+    private LocalDateTime criadaEm;
+
+    /** A partir deste instante tokens assinados com a chave são recusados */
+    @Column(name = "aposentada_em")
+    private LocalDateTime aposentadaEm;
+
+    // Chave atribuída pela aplicação: força INSERT (e erro de chave duplicada) em vez de merge
+    @Transient
+    private boolean novo = true;
+
+    public JwtChave() { }
+
+    public JwtChave(String kid, String segredo, LocalDateTime criadaEm) {
+        this.kid = kid;
+        this.segredo = segredo;
+        this.criadaEm = criadaEm;
+    }
+
+    // ===== Getters e Setters =====
+
+    public String getKid() {
+        return kid;
+    }
+
+    public String getSegredo() {
+        return segredo;
+    }
+
+    public LocalDateTime getCriadaEm() {
+        return criadaEm;
+    }
+
+    public LocalDateTime getAposentadaEm() {
+        return aposentadaEm;
+    }
+    public void setAposentadaEm(LocalDateTime aposentadaEm) {
+        this.aposentadaEm = aposentadaEm;
+    }
+
+    @Override
+    public String getId() {
+        return kid;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    // ===== Hooks JPA =====
+
+    @PostLoad
+    @PostPersist
+    protected void marcarPersistido() {
+        this.novo = false;
+    }
+}
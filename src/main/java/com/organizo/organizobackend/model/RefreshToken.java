@@ -0,0 +1,93 @@
+package com.organizo.organizobackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token opaco, guardado apenas como hash SHA-256.
+ * <p>
+ * Cada login abre uma família; cada renovação marca o token atual como usado e emite o
+ * próximo na mesma família. Apresentar de novo um token já usado indica roubo e revoga
+ * a família inteira.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "uk_refresh_token_hash", columnList = "hash", unique = true),
+        @Index(name = "idx_refresh_token_familia", columnList = "familia"),
+        @Index(name = "idx_refresh_token_expira", columnList = "expira_em")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SHA-256 do token em Base64 URL (o token em claro nunca é gravado) */
+    @Column(nullable = false, length = 43)
+    private String hash;
+
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    /** Preenchido quando o token é trocado pelo próximo da família */
+    @Column(name = "usado_em")
+    private LocalDateTime usadoEm;
+
+    @Column(name = "revogado_em")
+    private LocalDateTime revogadoEm;
+
+    public RefreshToken() { }
+
+    public RefreshToken(String hash, String familia, Usuario usuario, LocalDateTime criadoEm, LocalDateTime expiraEm) {
+        this.hash = hash;
+        this.familia = familia;
+        this.usuario = usuario;
+        this.criadoEm = criadoEm;
+        this.expiraEm = expiraEm;
+    }
+
+    // ===== Getters =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getFamilia() {
+        return familia;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public LocalDateTime getUsadoEm() {
+        return usadoEm;
+    }
+
+    public LocalDateTime getRevogadoEm() {
+        return revogadoEm;
+    }
+}
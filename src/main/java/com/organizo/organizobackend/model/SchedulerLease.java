@@ -0,0 +1,69 @@
+package com.organizo.organizobackend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Concessão temporária (lease) de uma tarefa agendada a uma única instância.
+ * Quem detém a linha com {@code expiraEm} no futuro é o líder daquela tarefa.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(nullable = false, length = 150)
+    private String dono;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    // Chave atribuída pela aplicação: força INSERT (e erro de chave duplicada) em vez de merge
+    @Transient
+    private boolean novo = true;
+
+    public SchedulerLease() { }
+
+    public SchedulerLease(String nome, String dono, LocalDateTime expiraEm) {
+        this.nome = nome;
+        this.dono = dono;
+        this.expiraEm = expiraEm;
+    }
+
+    // ===== Getters =====
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    @Override
+    public String getId() {
+        return nome;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    // ===== Hooks JPA =====
+
+    @PostLoad
+    @PostPersist
+    protected void marcarPersistido() {
+        this.novo = false;
+    }
+}
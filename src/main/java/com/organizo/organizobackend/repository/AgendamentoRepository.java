@@ -1,38 +1,129 @@
 package com.organizo.organizobackend.repository;
 
+import com.organizo.organizobackend.dto.AgendamentoDTO;
 import com.organizo.organizobackend.enums.StatusAgendamento;
 import com.organizo.organizobackend.model.Agendamento;
 import com.organizo.organizobackend.model.Profissional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AgendamentoRepository extends JpaRepository<Agendamento, Long> {
 
     /**
-     * Paginação geral de agendamentos.
+     * Colunas de {@link AgendamentoDTO} montadas num único SELECT com JOIN,
+     * sem carregar entidades (evita os SELECTs extras das associações EAGER).
      */
-    Page<Agendamento> findAll(Pageable pageable);
+    String PROJECAO_DTO = """
+      SELECT new com.organizo.organizobackend.dto.AgendamentoDTO(
+               a.id, c.id, p.id, s.id, a.dataHoraAgendada, a.status, c.nome, p.nome, s.nome)
+        FROM Agendamento a
+        JOIN a.cliente c
+        JOIN a.profissional p
+        JOIN a.servico s
+    """;
 
     /**
-     * Paginação de agendamentos por cliente.
+     * Paginação geral de agendamentos, já projetada em DTO.
      */
-    Page<Agendamento> findByClienteId(Long clienteId, Pageable pageable);
+    @Query(value = PROJECAO_DTO,
+           countQuery = "SELECT COUNT(a) FROM Agendamento a")
+    Page<AgendamentoDTO> findResumos(Pageable pageable);
 
     /**
-     * Paginação de agendamentos por profissional.
+     * Paginação de agendamentos por cliente, já projetada em DTO.
      */
-    Page<Agendamento> findByProfissionalId(Long profissionalId, Pageable pageable);
+    @Query(value = PROJECAO_DTO + " WHERE c.id = :clienteId",
+           countQuery = "SELECT COUNT(a) FROM Agendamento a WHERE a.cliente.id = :clienteId")
+    Page<AgendamentoDTO> findResumosPorCliente(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    /**
+     * Paginação de agendamentos por profissional, já projetada em DTO.
+     */
+    @Query(value = PROJECAO_DTO + " WHERE p.id = :profissionalId",
+           countQuery = "SELECT COUNT(a) FROM Agendamento a WHERE a.profissional.id = :profissionalId")
+    Page<AgendamentoDTO> findResumosPorProfissional(@Param("profissionalId") Long profissionalId, Pageable pageable);
+
+    /**
+     * Primeira página (por cursor) dos agendamentos de um cliente, sem COUNT.
+     * O tamanho vem do {@code limite}; a ordenação é fixa em (dataHoraAgendada, id).
+     */
+    @Query(PROJECAO_DTO + """
+       WHERE c.id = :clienteId
+       ORDER BY a.dataHoraAgendada, a.id
+    """)
+    List<AgendamentoDTO> findPrimeirosPorCliente(@Param("clienteId") Long clienteId, Pageable limite);
+
+    /**
+     * Páginas seguintes (por cursor): tudo que vem depois de (dataHora, id).
+     */
+    @Query(PROJECAO_DTO + """
+       WHERE c.id = :clienteId
+         AND (a.dataHoraAgendada > :dataHora
+              OR (a.dataHoraAgendada = :dataHora AND a.id > :id))
+       ORDER BY a.dataHoraAgendada, a.id
+    """)
+    List<AgendamentoDTO> findProximosPorCliente(@Param("clienteId") Long clienteId,
+                                             @Param("dataHora") LocalDateTime dataHora,
+                                             @Param("id") Long id,
+                                             Pageable limite);
+
+    /**
+     * Primeira página (por cursor) dos agendamentos de um profissional, sem COUNT.
+     */
+    @Query(PROJECAO_DTO + """
+       WHERE p.id = :profissionalId
+       ORDER BY a.dataHoraAgendada, a.id
+    """)
+    List<AgendamentoDTO> findPrimeirosPorProfissional(@Param("profissionalId") Long profissionalId, Pageable limite);
+
+    /**
+     * Páginas seguintes (por cursor): tudo que vem depois de (dataHora, id).
+     */
+    @Query(PROJECAO_DTO + """
+       WHERE p.id = :profissionalId
+         AND (a.dataHoraAgendada > :dataHora
+              OR (a.dataHoraAgendada = :dataHora AND a.id > :id))
+       ORDER BY a.dataHoraAgendada, a.id
+    """)
+    List<AgendamentoDTO> findProximosPorProfissional(@Param("profissionalId") Long profissionalId,
+                                                  @Param("dataHora") LocalDateTime dataHora,
+                                                  @Param("id") Long id,
+                                                  Pageable limite);
 
     boolean existsByProfissionalAndDataHoraAgendada(Profissional p, LocalDateTime dt);
 
+    /**
+     * Intervalos (início e duração) dos agendamentos de um profissional,
+     * usados para montar o mapa de ocupação em memória.
+     */
+    @Query("""
+      SELECT a.id AS id, a.dataHoraAgendada AS inicio, s.duracaoMinutos AS duracaoMinutos
+        FROM Agendamento a JOIN a.servico s
+       WHERE a.profissional.id = :profissionalId
+         AND a.status IN :status
+         AND a.dataHoraAgendada >= :inicio
+         AND a.dataHoraAgendada < :fim
+    """)
+    List<IntervaloAgendado> findIntervalosDoProfissional(
+            @Param("profissionalId") Long profissionalId,
+            @Param("status") Collection<StatusAgendamento> status,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim")    LocalDateTime fim
+    );
+
     @Query("""
       SELECT a FROM Agendamento a
        WHERE a.status = 'CONFIRMADO'
@@ -45,12 +136,165 @@ public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>
     );
 
     /**
-     * Busca todos os agendamentos confirmados
-     * com dataHoraAgendada entre 'start' e 'end'.
+     * Página (por id) dos agendamentos ativos sem buckets em agendamento_slot
+     * (gravados antes de a tabela existir), usada no preenchimento na subida.
      */
-    List<Agendamento> findAllByStatusAndDataHoraAgendadaBetween(
-            StatusAgendamento status,
-            LocalDateTime start,
-            LocalDateTime end
-    );
+    @Query("""
+      SELECT a.id AS id, a.profissional.id AS profissionalId,
+             a.dataHoraAgendada AS inicio, s.duracaoMinutos AS duracaoMinutos
+        FROM Agendamento a JOIN a.servico s
+       WHERE a.status IN :status
+         AND a.dataHoraAgendada >= :aPartirDe
+         AND a.id > :aposId
+         AND NOT EXISTS (SELECT 1 FROM AgendamentoSlot sl WHERE sl.agendamentoId = a.id)
+       ORDER BY a.id
+    """)
+    List<IntervaloSemSlots> findSemSlots(@Param("status") Collection<StatusAgendamento> status,
+                                         @Param("aPartirDe") LocalDateTime aPartirDe,
+                                         @Param("aposId") Long aposId,
+                                         Pageable limite);
+
+    /**
+     * Status do agendamento, travando a linha até o fim da transação
+     * (um cancelamento concorrente espera, em vez de deixar buckets órfãos).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.status FROM Agendamento a WHERE a.id = :id")
+    Optional<StatusAgendamento> findStatusComTrava(@Param("id") Long id);
+
+    /**
+     * Página (por id) de agendamentos com lembrete ainda não enviado numa janela de horário.
+     */
+    @Query("""
+      SELECT a.id FROM Agendamento a
+       WHERE a.status = :status
+         AND a.dataHoraAgendada BETWEEN :inicio AND :fim
+         AND a.lembreteEnviadoEm IS NULL
+         AND a.id > :aposId
+       ORDER BY a.id
+    """)
+    List<Long> findIdsSemLembrete(@Param("status") StatusAgendamento status,
+                                  @Param("inicio") LocalDateTime inicio,
+                                  @Param("fim") LocalDateTime fim,
+                                  @Param("aposId") Long aposId,
+                                  Pageable limite);
+
+    /**
+     * Página (por id) dos agendamentos com lembrete ainda não enviado numa janela de horário,
+     * usada para reconstruir e reconciliar a roda de lembretes.
+     */
+    @Query("""
+      SELECT a.id AS id, a.dataHoraAgendada AS dataHora FROM Agendamento a
+       WHERE a.status = :status
+         AND a.dataHoraAgendada > :aPartirDe
+         AND a.dataHoraAgendada <= :ate
+         AND a.lembreteEnviadoEm IS NULL
+         AND a.id > :aposId
+       ORDER BY a.id
+    """)
+    List<HorarioAgendado> findHorariosSemLembrete(@Param("status") StatusAgendamento status,
+                                                  @Param("aPartirDe") LocalDateTime aPartirDe,
+                                                  @Param("ate") LocalDateTime ate,
+                                                  @Param("aposId") Long aposId,
+                                                  Pageable limite);
+
+    /**
+     * Reivindica o lembrete de um lote: só marca quem ainda não tinha marcação
+     * e continua no status esperado. Executar de novo (ou em outro nó) não marca nada.
+     */
+    @Modifying
+    @Query("""
+      UPDATE Agendamento a
+         SET a.lembreteEnviadoEm = :marca
+       WHERE a.id IN :ids
+         AND a.status = :status
+         AND a.lembreteEnviadoEm IS NULL
+    """)
+    int reivindicarLembretes(@Param("ids") Collection<Long> ids,
+                             @Param("status") StatusAgendamento status,
+                             @Param("marca") LocalDateTime marca);
+
+    /**
+     * Dados do e-mail de lembrete dos agendamentos reivindicados com a marca informada.
+     */
+    @Query("""
+      SELECT a.id AS id, c.nome AS nomeCliente, c.email AS emailCliente,
+             s.nome AS nomeServico, a.dataHoraAgendada AS dataHora
+        FROM Agendamento a JOIN a.cliente c JOIN a.servico s
+       WHERE a.id IN :ids
+         AND a.lembreteEnviadoEm = :marca
+    """)
+    List<LembreteAgendamento> findLembretesReivindicados(@Param("ids") Collection<Long> ids,
+                                                         @Param("marca") LocalDateTime marca);
+
+    /**
+     * Verifica se o agendamento é do cliente do e-mail (sem diferenciar maiúsculas).
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END
+        FROM Agendamento a JOIN a.cliente c
+       WHERE a.id = :agendamentoId
+         AND LOWER(c.email) = LOWER(:email)
+    """)
+    boolean isDoCliente(@Param("agendamentoId") Long agendamentoId, @Param("email") String email);
+
+    /**
+     * Verifica se o agendamento é do profissional do e-mail (sem diferenciar maiúsculas).
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END
+        FROM Agendamento a JOIN a.profissional p
+       WHERE a.id = :agendamentoId
+         AND LOWER(p.email) = LOWER(:email)
+    """)
+    boolean isDoProfissional(@Param("agendamentoId") Long agendamentoId, @Param("email") String email);
+
+    /**
+     * Verifica se o agendamento é de um profissional de salão do usuário do e-mail.
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END
+        FROM Agendamento a JOIN a.profissional p JOIN p.salao s JOIN s.owner o
+       WHERE a.id = :agendamentoId
+         AND o.email = :email
+    """)
+    boolean isDoSalaoDe(@Param("agendamentoId") Long agendamentoId, @Param("email") String email);
+
+    /**
+     * Projeção com o mínimo necessário para ocupar slots da agenda.
+     */
+    interface IntervaloAgendado {
+        Long getId();
+        LocalDateTime getInicio();
+        Integer getDuracaoMinutos();
+    }
+
+    /**
+     * Projeção com o necessário para gravar os buckets de um agendamento.
+     */
+    interface IntervaloSemSlots {
+        Long getId();
+        Long getProfissionalId();
+        LocalDateTime getInicio();
+        Integer getDuracaoMinutos();
+    }
+
+    /**
+     * Projeção com o id e o horário de um agendamento.
+     */
+    interface HorarioAgendado {
+        Long getId();
+        LocalDateTime getDataHora();
+    }
+
+    /**
+     * Projeção com o necessário para montar o e-mail de lembrete.
+     */
+    interface LembreteAgendamento {
+        Long getId();
+        String getNomeCliente();
+        String getEmailCliente();
+        String getNomeServico();
+        LocalDateTime getDataHora();
+    }
 }
\ No newline at end of file
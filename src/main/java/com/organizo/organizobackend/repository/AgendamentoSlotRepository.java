@@ -0,0 +1,22 @@
+package com.organizo.organizobackend.repository;
+
+import com.organizo.organizobackend.model.AgendamentoSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório dos buckets de horário ocupados por agendamentos.
+ */
+@Repository
+public interface AgendamentoSlotRepository extends JpaRepository<AgendamentoSlot, AgendamentoSlot.Chave> {
+
+    /**
+     * Libera todos os buckets de um agendamento (cancelamento).
+     */
+    @Modifying
+    @Query("DELETE FROM AgendamentoSlot s WHERE s.agendamentoId = :agendamentoId")
+    int deleteByAgendamentoId(@Param("agendamentoId") Long agendamentoId);
+}
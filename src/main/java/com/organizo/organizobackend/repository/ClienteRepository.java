@@ -2,10 +2,23 @@ package com.organizo.organizobackend.repository;
 
 import com.organizo.organizobackend.model.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
+
+    /**
+     * Verifica se o e-mail é do próprio cliente (sem diferenciar maiúsculas).
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END
+        FROM Cliente c
+       WHERE c.id = :clienteId
+         AND LOWER(c.email) = LOWER(:email)
+    """)
+    boolean isProprio(@Param("clienteId") Long clienteId, @Param("email") String email);
 }
\ No newline at end of file
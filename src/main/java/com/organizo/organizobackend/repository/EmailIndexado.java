@@ -0,0 +1,9 @@
+package com.organizo.organizobackend.repository;
+
+/**
+ * Projeção id + e-mail usada para montar o filtro de e-mails conhecidos em páginas por id.
+ */
+public interface EmailIndexado {
+    Long getId();
+    String getEmail();
+}
@@ -0,0 +1,110 @@
+package com.organizo.organizobackend.repository;
+
+import com.organizo.organizobackend.enums.StatusEmail;
+import com.organizo.organizobackend.model.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório da caixa de saída de e-mails.
+ * As transições de status são UPDATEs condicionais, seguros entre várias instâncias.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * IDs de e-mails pendentes cuja próxima tentativa já venceu, mais antigos primeiro.
+     */
+    @Query("""
+      SELECT e.id FROM EmailOutbox e
+       WHERE e.status = :pendente
+         AND e.proximaTentativaEm <= :agora
+       ORDER BY e.proximaTentativaEm, e.id
+    """)
+    List<Long> findIdsProntos(@Param("pendente") StatusEmail pendente,
+                              @Param("agora") LocalDateTime agora,
+                              Pageable limite);
+
+    /**
+     * Reivindica os e-mails ainda pendentes para o lote informado.
+     * Só o UPDATE que encontrar o registro PENDENTE o leva, então dois despachantes nunca enviam o mesmo e-mail.
+     */
+    @Modifying
+    @Query("""
+      UPDATE EmailOutbox e
+         SET e.status = :processando, e.lote = :lote, e.processandoDesde = :agora
+       WHERE e.id IN :ids
+         AND e.status = :pendente
+    """)
+    int reivindicar(@Param("ids") Collection<Long> ids,
+                    @Param("lote") String lote,
+                    @Param("agora") LocalDateTime agora,
+                    @Param("pendente") StatusEmail pendente,
+                    @Param("processando") StatusEmail processando);
+
+    List<EmailOutbox> findByLote(String lote);
+
+    /**
+     * Conclui um envio bem-sucedido, desde que o registro ainda pertença ao lote.
+     */
+    @Modifying
+    @Query("""
+      UPDATE EmailOutbox e
+         SET e.status = :enviado, e.lote = NULL, e.processandoDesde = NULL,
+             e.tentativas = e.tentativas + 1, e.enviadoEm = :agora, e.ultimoErro = NULL
+       WHERE e.id = :id
+         AND e.lote = :lote
+    """)
+    int marcarEnviado(@Param("id") Long id,
+                      @Param("lote") String lote,
+                      @Param("agora") LocalDateTime agora,
+                      @Param("enviado") StatusEmail enviado);
+
+    /**
+     * Registra uma falha: volta para PENDENTE com nova data de tentativa, ou DESCARTADO se esgotou as tentativas.
+     */
+    @Modifying
+    @Query("""
+      UPDATE EmailOutbox e
+         SET e.status = :status, e.lote = NULL, e.processandoDesde = NULL,
+             e.tentativas = e.tentativas + 1, e.proximaTentativaEm = :proxima, e.ultimoErro = :erro
+       WHERE e.id = :id
+         AND e.lote = :lote
+    """)
+    int registrarFalha(@Param("id") Long id,
+                       @Param("lote") String lote,
+                       @Param("status") StatusEmail status,
+                       @Param("proxima") LocalDateTime proxima,
+                       @Param("erro") String erro);
+
+    /**
+     * Devolve para a fila os e-mails presos em PROCESSANDO (ex.: instância que caiu no meio do envio).
+     * A interrupção conta como tentativa: um e-mail que derruba o envio toda vez fica DESCARTADO
+     * ao esgotar as tentativas, em vez de voltar para a fila para sempre.
+     */
+    @Modifying
+    @Query("""
+      UPDATE EmailOutbox e
+         SET e.status = CASE WHEN e.tentativas + 1 >= :maxTentativas THEN :descartado ELSE :pendente END,
+             e.lote = NULL, e.processandoDesde = NULL,
+             e.tentativas = e.tentativas + 1, e.ultimoErro = :erro
+       WHERE e.status = :processando
+         AND e.processandoDesde < :limite
+    """)
+    int devolverTravados(@Param("limite") LocalDateTime limite,
+                         @Param("maxTentativas") int maxTentativas,
+                         @Param("erro") String erro,
+                         @Param("pendente") StatusEmail pendente,
+                         @Param("processando") StatusEmail processando,
+                         @Param("descartado") StatusEmail descartado);
+
+    long countByStatus(StatusEmail status);
+}
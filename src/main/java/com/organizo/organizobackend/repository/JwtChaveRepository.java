@@ -0,0 +1,32 @@
+package com.organizo.organizobackend.repository;
+
+import com.organizo.organizobackend.model.JwtChave;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtChaveRepository extends JpaRepository<JwtChave, String> {
+
+    /**
+     * Chaves ainda aceitas na verificação, da mais nova para a mais antiga.
+     */
+    @Query("""
+      SELECT c FROM JwtChave c
+       WHERE c.aposentadaEm IS NULL OR c.aposentadaEm > :agora
+       ORDER BY c.criadaEm DESC
+    """)
+    List<JwtChave> findVigentes(@Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove chaves aposentadas há mais tempo que o limite (nenhum token delas é mais aceito).
+     */
+    @Modifying
+    @Query("DELETE FROM JwtChave c WHERE c.aposentadaEm < :limite")
+    int deleteAposentadasAntesDe(@Param("limite") LocalDateTime limite);
+}
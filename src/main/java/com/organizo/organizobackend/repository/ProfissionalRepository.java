@@ -4,8 +4,12 @@ import com.organizo.organizobackend.model.Profissional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 
 /**
@@ -20,4 +24,38 @@ public interface ProfissionalRepository extends JpaRepository<Profissional, Long
      * @param salaoId ID do salão
      */
     Page<Profissional> findBySalaoId(Long salaoId, Pageable pageable);
+
+    /**
+     * IDs dos profissionais do salão vinculados ao serviço (tabela profissional_servico).
+     */
+    @Query("""
+      SELECT p.id FROM Profissional p JOIN p.servicos s
+       WHERE p.salao.id = :salaoId
+         AND s.id = :servicoId
+       ORDER BY p.id
+    """)
+    List<Long> findIdsBySalaoIdAndServicoId(@Param("salaoId") Long salaoId,
+                                            @Param("servicoId") Long servicoId);
+
+    /**
+     * Verifica se o e-mail é do próprio profissional (sem diferenciar maiúsculas).
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END
+        FROM Profissional p
+       WHERE p.id = :profissionalId
+         AND LOWER(p.email) = LOWER(:email)
+    """)
+    boolean isProprio(@Param("profissionalId") Long profissionalId, @Param("email") String email);
+
+    /**
+     * Verifica se o profissional trabalha num salão do usuário do e-mail.
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END
+        FROM Profissional p JOIN p.salao s JOIN s.owner o
+       WHERE p.id = :profissionalId
+         AND o.email = :email
+    """)
+    boolean isDoSalaoDe(@Param("profissionalId") Long profissionalId, @Param("email") String email);
 }
@@ -0,0 +1,49 @@
+package com.organizo.organizobackend.repository;
+
+import com.organizo.organizobackend.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca pelo hash (índice único) já com o usuário, que é tudo o que a renovação precisa.
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash")
+    Optional<RefreshToken> findByHashComUsuario(@Param("hash") String hash);
+
+    /**
+     * Marca o token como usado, desde que ainda esteja livre.
+     * @return 1 para quem ganhou a troca; 0 se já foi usado ou revogado (reuso ou corrida)
+     */
+    @Modifying
+    @Query("""
+      UPDATE RefreshToken r
+         SET r.usadoEm = :agora
+       WHERE r.id = :id
+         AND r.usadoEm IS NULL
+         AND r.revogadoEm IS NULL
+    """)
+    int marcarUsado(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Revoga todos os tokens ainda não revogados da família.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogadoEm = :agora WHERE r.familia = :familia AND r.revogadoEm IS NULL")
+    int revogarFamilia(@Param("familia") String familia, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove tokens vencidos (já não servem nem para detectar reuso).
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm < :limite")
+    int deleteExpiradosAntesDe(@Param("limite") LocalDateTime limite);
+}
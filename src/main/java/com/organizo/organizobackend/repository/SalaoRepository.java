@@ -2,6 +2,8 @@ package com.organizo.organizobackend.repository;
 
 import com.organizo.organizobackend.model.Salao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,4 +13,15 @@ import org.springframework.stereotype.Repository;
 public interface SalaoRepository extends JpaRepository<Salao, Long> {
     // Aqui você pode adicionar consultas customizadas, ex:
     // List<Salao> findByNomeContainingIgnoreCase(String nome);
+
+    /**
+     * Verifica se o salão pertence ao usuário do e-mail, numa única consulta (sem carregar entidades).
+     */
+    @Query("""
+      SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END
+        FROM Salao s JOIN s.owner o
+       WHERE s.id = :salaoId
+         AND o.email = :email
+    """)
+    boolean isDono(@Param("salaoId") Long salaoId, @Param("email") String email);
 }
@@ -0,0 +1,39 @@
+package com.organizo.organizobackend.repository;
+
+import com.organizo.organizobackend.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Toma ou renova a lease: só tem efeito se ela já é nossa ou se expirou.
+     * @return 1 quando esta instância passou a (ou continua a) deter a lease
+     */
+    @Modifying
+    @Query("""
+      UPDATE SchedulerLease l
+         SET l.dono = :dono, l.expiraEm = :expiraEm
+       WHERE l.nome = :nome
+         AND (l.dono = :dono OR l.expiraEm < :agora)
+    """)
+    int tomar(@Param("nome") String nome,
+              @Param("dono") String dono,
+              @Param("agora") LocalDateTime agora,
+              @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Devolve a lease antes do prazo (encerramento ordenado da instância).
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiraEm = :agora WHERE l.nome = :nome AND l.dono = :dono")
+    int devolver(@Param("nome") String nome,
+                 @Param("dono") String dono,
+                 @Param("agora") LocalDateTime agora);
+}
@@ -5,6 +5,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface ServicoRepository extends JpaRepository<Servico, Long> {
     Page<Servico> findBySalaoId(Long salaoId, Pageable pageable);
+
+    Optional<Servico> findByIdAndSalaoId(Long id, Long salaoId);
 }
\ No newline at end of file
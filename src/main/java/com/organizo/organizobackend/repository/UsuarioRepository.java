@@ -1,9 +1,13 @@
 package com.organizo.organizobackend.repository;
 
 import com.organizo.organizobackend.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,4 +16,10 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
+
+    /**
+     * E-mails em páginas por id (keyset), para montar o filtro de e-mails conhecidos.
+     */
+    @Query("SELECT x.id AS id, x.email AS email FROM Usuario x WHERE x.id > :aposId ORDER BY x.id")
+    List<EmailIndexado> findEmailsAposId(@Param("aposId") Long aposId, Pageable pageable);
 }
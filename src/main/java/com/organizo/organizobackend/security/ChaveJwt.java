@@ -0,0 +1,47 @@
+package com.organizo.organizobackend.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma chave HS256 do anel de chaves, identificada pelo {@code kid} gravado no header dos tokens.
+ * Algoritmo e verificador são montados uma vez e reaproveitados (são thread-safe).
+ */
+public final class ChaveJwt {
+
+    private final String kid;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final LocalDateTime aposentadaEm;
+
+    public ChaveJwt(String kid, byte[] segredo, LocalDateTime aposentadaEm) {
+        this.kid = kid;
+        this.algorithm = Algorithm.HMAC256(segredo);
+        this.verifier = JWT.require(algorithm).build();
+        this.aposentadaEm = aposentadaEm;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public JWTVerifier getVerifier() {
+        return verifier;
+    }
+
+    /** A partir de quando tokens desta chave deixam de ser aceitos (null = sem data). */
+    public LocalDateTime getAposentadaEm() {
+        return aposentadaEm;
+    }
+
+    public boolean aceitaEm(LocalDateTime instante) {
+        return aposentadaEm == null || instante.isBefore(aposentadaEm);
+    }
+}
@@ -0,0 +1,43 @@
+package com.organizo.organizobackend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Anel de chaves usado pelo {@link com.organizo.organizobackend.service.JwtService}:
+ * uma chave ativa para assinar e todas as não aposentadas para verificar.
+ */
+public interface ChavesJwt {
+
+    /** kid assumido para tokens emitidos antes do anel (sem header kid), assinados com jwt.secret. */
+    String KID_INICIAL = "inicial";
+
+    /** Chave usada para assinar novos tokens. */
+    ChaveJwt ativa();
+
+    /**
+     * Chave para verificar um token com o kid informado.
+     * @return vazio se o kid for desconhecido ou a chave estiver aposentada
+     */
+    Optional<ChaveJwt> paraVerificar(String kid);
+
+    /**
+     * Anel fixo com uma única chave, sem persistência (testes e benchmarks).
+     */
+    static ChavesJwt fixa(String segredo) {
+        ChaveJwt chave = new ChaveJwt(KID_INICIAL, segredo.getBytes(StandardCharsets.UTF_8), null);
+        return new ChavesJwt() {
+            @Override
+            public ChaveJwt ativa() {
+                return chave;
+            }
+
+            @Override
+            public Optional<ChaveJwt> paraVerificar(String kid) {
+                return KID_INICIAL.equals(kid) && chave.aceitaEm(LocalDateTime.now())
+                        ? Optional.of(chave) : Optional.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.organizo.organizobackend.security;
+
+import com.organizo.organizobackend.enums.Role;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Regra de autorização de um endpoint, montada em Java em vez de uma expressão SpEL.
+ * <p>
+ * Cada papel aceito aponta para "liberado" ou para uma checagem de posse sobre o ID de uma
+ * variável do path. A avaliação descobre o papel do usuário, consulta o mapa por papel e só
+ * então (se for o caso) converte o ID e chama a checagem: papéis não aceitos são negados sem
+ * acesso a dados, e no máximo uma checagem de posse roda por requisição.
+ * <pre>
+ * RegraAcesso.sobre("id")
+ *         .liberar(Role.ADMIN)
+ *         .comPosse(Role.PROFISSIONAL, seguranca::isProfissionalOfAgendamento)
+ * </pre>
+ */
+public final class RegraAcesso implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String PREFIXO_PAPEL = "ROLE_";
+    private static final AuthorizationDecision PERMITIDO = new AuthorizationDecision(true);
+    private static final AuthorizationDecision NEGADO = new AuthorizationDecision(false);
+    /** Papel aceito sem checagem de posse */
+    private static final Posse LIVRE = (id, username) -> true;
+
+    /**
+     * Checagem de posse: o usuário (e-mail) tem relação com o recurso de ID informado?
+     */
+    @FunctionalInterface
+    public interface Posse {
+        boolean verificar(Long id, String username);
+    }
+
+    private final String variavel;
+    private final Map<Role, Posse> porPapel = new EnumMap<>(Role.class);
+
+    private RegraAcesso(String variavel) {
+        this.variavel = variavel;
+    }
+
+    /**
+     * Nova regra cujas checagens de posse usam a variável de path {@code variavel}.
+     */
+    public static RegraAcesso sobre(String variavel) {
+        return new RegraAcesso(variavel);
+    }
+
+    /** O papel é suficiente. */
+    public RegraAcesso liberar(Role papel) {
+        porPapel.put(papel, LIVRE);
+        return this;
+    }
+
+    /** O papel é aceito se {@code posse} confirmar a relação com o recurso. */
+    public RegraAcesso comPosse(Role papel, Posse posse) {
+        porPapel.put(papel, posse);
+        return this;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> autenticacao, RequestAuthorizationContext contexto) {
+        Authentication auth = autenticacao.get();
+        if (auth == null || !auth.isAuthenticated()) {
+            return NEGADO;
+        }
+        Posse posse = posseDoPapel(auth);
+        if (posse == null) {
+            return NEGADO;
+        }
+        if (posse == LIVRE) {
+            return PERMITIDO;
+        }
+        Long id = id(contexto.getVariables().get(variavel));
+        return id != null && posse.verificar(id, auth.getName()) ? PERMITIDO : NEGADO;
+    }
+
+    /**
+     * Checagem do papel do usuário; com mais de um papel aceito, prefere o que não exige posse.
+     */
+    private Posse posseDoPapel(Authentication auth) {
+        // Caminho comum: principal do JWT, com um único papel e sem percorrer authorities
+        if (auth.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return porPapel.get(papel(usuario.getRole()));
+        }
+        Posse encontrada = null;
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            String nome = authority.getAuthority();
+            if (nome == null || !nome.startsWith(PREFIXO_PAPEL)) {
+                continue;
+            }
+            Posse posse = porPapel.get(papel(nome.substring(PREFIXO_PAPEL.length())));
+            if (posse == LIVRE) {
+                return LIVRE;
+            }
+            if (encontrada == null) {
+                encontrada = posse;
+            }
+        }
+        return encontrada;
+    }
+
+    private static Role papel(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        try {
+            return Role.valueOf(nome);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Long id(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
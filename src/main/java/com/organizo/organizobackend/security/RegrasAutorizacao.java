@@ -0,0 +1,70 @@
+package com.organizo.organizobackend.security;
+
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.service.SalaoSecurityService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro das regras de posse aplicadas na cadeia HTTP (ver
+ * {@link com.organizo.organizobackend.config.SecurityConfig}).
+ * <p>
+ * Substituem os {@code @PreAuthorize} com cadeias de {@code hasRole} e chamadas a beans,
+ * reavaliados via SpEL a cada requisição. ADMIN é liberado sem consulta; para os demais
+ * papéis a checagem de posse vem do {@link SalaoSecurityService} (uma consulta de
+ * existência, com cache de decisões).
+ */
+@Component
+public class RegrasAutorizacao {
+
+    private final RegraAcesso agendamentosDoCliente;
+    private final RegraAcesso agendamentosDoProfissional;
+    private final RegraAcesso confirmarAgendamento;
+    private final RegraAcesso cancelarAgendamento;
+    private final RegraAcesso alterarSalao;
+
+    public RegrasAutorizacao(SalaoSecurityService seguranca) {
+        this.agendamentosDoCliente = RegraAcesso.sobre("clienteId")
+                .liberar(Role.ADMIN)
+                .comPosse(Role.CLIENTE, seguranca::isClienteOwner);
+        this.agendamentosDoProfissional = RegraAcesso.sobre("profissionalId")
+                .liberar(Role.ADMIN)
+                .comPosse(Role.PROFISSIONAL, seguranca::isProfissionalOwner);
+        this.confirmarAgendamento = RegraAcesso.sobre("id")
+                .liberar(Role.ADMIN)
+                .comPosse(Role.PROFISSIONAL, seguranca::isProfissionalOfAgendamento)
+                .comPosse(Role.DONO_SALAO, seguranca::isOwnerOfSalaoContainingAgendamento);
+        this.cancelarAgendamento = RegraAcesso.sobre("id")
+                .liberar(Role.ADMIN)
+                .comPosse(Role.CLIENTE, seguranca::isClienteOfAgendamento)
+                .comPosse(Role.PROFISSIONAL, seguranca::isProfissionalOfAgendamento)
+                .comPosse(Role.DONO_SALAO, seguranca::isOwnerOfSalaoContainingAgendamento);
+        this.alterarSalao = RegraAcesso.sobre("id")
+                .liberar(Role.ADMIN)
+                .comPosse(Role.DONO_SALAO, seguranca::isOwner);
+    }
+
+    /** GET /api/agendamentos/cliente/{clienteId}: ADMIN ou o próprio cliente. */
+    public RegraAcesso agendamentosDoCliente() {
+        return agendamentosDoCliente;
+    }
+
+    /** GET /api/agendamentos/profissional/{profissionalId}: ADMIN ou o próprio profissional. */
+    public RegraAcesso agendamentosDoProfissional() {
+        return agendamentosDoProfissional;
+    }
+
+    /** PUT /api/agendamentos/{id}/confirmar: ADMIN, profissional do agendamento ou dono do salão. */
+    public RegraAcesso confirmarAgendamento() {
+        return confirmarAgendamento;
+    }
+
+    /** PUT /api/agendamentos/{id}/cancelar: ADMIN, cliente, profissional do agendamento ou dono do salão. */
+    public RegraAcesso cancelarAgendamento() {
+        return cancelarAgendamento;
+    }
+
+    /** PUT e DELETE /api/saloes/{id}: ADMIN ou dono do salão. */
+    public RegraAcesso alterarSalao() {
+        return alterarSalao;
+    }
+}
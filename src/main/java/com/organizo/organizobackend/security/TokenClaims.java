@@ -0,0 +1,50 @@
+package com.organizo.organizobackend.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de um JWT já verificado. Imutável: pode ser compartilhado entre requisições
+ * (ex.: no cache de tokens do {@link com.organizo.organizobackend.service.JwtService}).
+ */
+public final class TokenClaims {
+
+    private final Long usuarioId;
+    private final String subject;
+    private final String role;
+    private final Instant emitidoEm;
+    private final Instant expiraEm;
+
+    public TokenClaims(Long usuarioId, String subject, String role, Instant emitidoEm, Instant expiraEm) {
+        this.usuarioId = usuarioId;
+        this.subject = subject;
+        this.role = role;
+        this.emitidoEm = emitidoEm;
+        this.expiraEm = expiraEm;
+    }
+
+    /** ID do usuário (claim "uid"). */
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    /** E-mail do usuário. */
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getEmitidoEm() {
+        return emitidoEm;
+    }
+
+    public Instant getExpiraEm() {
+        return expiraEm;
+    }
+
+    public boolean expiradoEm(Instant instante) {
+        return expiraEm != null && !instante.isBefore(expiraEm);
+    }
+}
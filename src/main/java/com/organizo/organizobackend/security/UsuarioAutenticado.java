@@ -0,0 +1,52 @@
+package com.organizo.organizobackend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal das requisições autenticadas por JWT, montado só a partir das claims do token
+ * (sem consulta ao banco). {@link #getUsername()} mantém compatíveis as expressões
+ * {@code principal.username} usadas nos {@code @PreAuthorize}.
+ */
+public final class UsuarioAutenticado implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+
+    public UsuarioAutenticado(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static UsuarioAutenticado de(TokenClaims claims) {
+        return new UsuarioAutenticado(claims.getUsuarioId(), claims.getSubject(), claims.getRole());
+    }
+
+    /** ID do usuário (claim "uid"); pode ser null em tokens sem essa claim. */
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getUsername() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
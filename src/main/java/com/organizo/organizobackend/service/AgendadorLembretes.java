@@ -0,0 +1,234 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.AgendamentoRepository.HorarioAgendado;
+import com.organizo.organizobackend.util.RodaDoTempo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispara os lembretes de agendamentos no horário certo usando uma roda do tempo em memória,
+ * em vez de varrer a tabela de agendamentos periodicamente.
+ * <p>
+ * A roda é reconstruída do banco na subida; depois disso muda quando um agendamento é
+ * confirmado ou cancelado nesta instância. Como cada instância tem a sua roda, uma reconciliação
+ * periódica ({@code agenda.lembretes.reconciliacao-ms}) relê o banco em todas elas: entram as
+ * confirmações feitas em outra instância e saem os agendamentos cancelados ou já lembrados.
+ * <p>
+ * A roda só guarda a janela que pode vencer até depois da próxima reconciliação (horário até
+ * {@code agora + antecedencia + 2 × reconciliacao-ms}); agendamentos mais distantes entram
+ * conforme a janela avança, em vez de toda reconciliação ler a agenda futura inteira.
+ * O envio continua passando pela reivindicação em {@code lembrete_enviado_em}, então várias
+ * instâncias podem ter o mesmo agendamento na roda sem gerar lembrete duplicado.
+ * Ativo com {@code agenda.lembretes.modo=roda} (padrão); {@code polling} volta à varredura.
+ */
+@Service
+@ConditionalOnProperty(name = "agenda.lembretes.modo", havingValue = "roda", matchIfMissing = true)
+public class AgendadorLembretes {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgendadorLembretes.class);
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+    // Espera antes de tentar de novo quando o banco falha no disparo
+    private static final Duration NOVA_TENTATIVA = Duration.ofSeconds(30);
+
+    private final AgendamentoRepository agRepo;
+    private final LembreteService lembretes;
+    private final Duration antecedencia;
+    private final Duration janela;
+    private final long tickMillis;
+    private final int tamanhoPagina;
+
+    private final RodaDoTempo<Long, LocalDateTime> roda;
+    private final Timer atraso;
+    private final ScheduledExecutorService relogio;
+
+    public AgendadorLembretes(AgendamentoRepository agRepo,
+                              LembreteService lembretes,
+                              MeterRegistry registry,
+                              @Value("${agenda.lembretes.antecedencia:2h}") Duration antecedencia,
+                              @Value("${agenda.lembretes.tick-ms:1000}") long tickMillis,
+                              @Value("${agenda.lembretes.pagina:200}") int tamanhoPagina,
+                              @Value("${agenda.lembretes.reconciliacao-ms:300000}") long reconciliacaoMillis) {
+        this.agRepo = agRepo;
+        this.lembretes = lembretes;
+        this.antecedencia = antecedencia;
+        // Folga de uma reconciliação a mais para o caso de a próxima atrasar
+        this.janela = antecedencia.plusMillis(2 * reconciliacaoMillis);
+        this.tickMillis = tickMillis;
+        this.tamanhoPagina = tamanhoPagina;
+        this.roda = new RodaDoTempo<>(tickMillis, System.currentTimeMillis());
+
+        Gauge.builder("organizo.lembretes.pendentes", roda, RodaDoTempo::tamanho)
+                .description("Lembretes aguardando o horário de disparo")
+                .register(registry);
+        this.atraso = Timer.builder("organizo.lembretes.atraso")
+                .description("Diferença entre o horário previsto do lembrete e o disparo")
+                .register(registry);
+
+        this.relogio = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lembretes-roda");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        int carregados = reconstruir().size();
+        logger.info("Roda de lembretes iniciada com {} agendamento(s)", carregados);
+        relogio.scheduleAtFixedRate(this::tique, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Agenda o lembrete de um agendamento confirmado; com transação ativa, só após o commit.
+     * Fora da janela da roda, fica para a reconciliação que alcançar o horário.
+     */
+    public void agendar(Long agendamentoId, LocalDateTime dataHora) {
+        if (dataHora.isAfter(LocalDateTime.now().plus(janela))) {
+            return;
+        }
+        aposCommit(() -> roda.agendar(agendamentoId, prazo(dataHora), dataHora));
+    }
+
+    /**
+     * Retira o lembrete de um agendamento (ex.: cancelado); com transação ativa, só após o commit.
+     */
+    public void cancelar(Long agendamentoId) {
+        aposCommit(() -> roda.cancelar(agendamentoId));
+    }
+
+    /** Lembretes aguardando disparo nesta instância. */
+    public int pendentes() {
+        return roda.tamanho();
+    }
+
+    /**
+     * Relê o banco e acerta a roda desta instância com o que foi confirmado ou cancelado nas outras.
+     * Uma entrada lida do banco durante um disparo em andamento pode voltar à roda; a reivindicação
+     * condicional faz o segundo disparo não enviar nada.
+     */
+    @Scheduled(fixedDelayString = "${agenda.lembretes.reconciliacao-ms:300000}",
+            initialDelayString = "${agenda.lembretes.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        try {
+            // Só sai da roda o que já estava nela antes da leitura do banco
+            Set<Long> antes = roda.chaves();
+            antes.removeAll(reconstruir());
+            antes.forEach(roda::cancelar);
+            if (!antes.isEmpty()) {
+                logger.debug("Reconciliação retirou {} lembrete(s) da roda", antes.size());
+            }
+        } catch (Exception e) {
+            logger.error("Falha ao reconciliar a roda de lembretes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Carrega da base os agendamentos confirmados dentro da janela que ainda não receberam lembrete.
+     * @return ids carregados
+     */
+    Set<Long> reconstruir() {
+        long aposId = 0;
+        Set<Long> carregados = new HashSet<>();
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime ate = agora.plus(janela);
+        while (true) {
+            List<HorarioAgendado> pagina = agRepo.findHorariosSemLembrete(
+                    StatusAgendamento.CONFIRMADO, agora, ate, aposId, PageRequest.of(0, tamanhoPagina));
+            for (HorarioAgendado h : pagina) {
+                roda.agendar(h.getId(), prazo(h.getDataHora()), h.getDataHora());
+                carregados.add(h.getId());
+            }
+            if (pagina.size() < tamanhoPagina) {
+                return carregados;
+            }
+            aposId = pagina.get(pagina.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Avança a roda e envia os lembretes vencidos. Executado a cada tick.
+     */
+    void tique() {
+        try {
+            long agora = System.currentTimeMillis();
+            List<RodaDoTempo.Entrada<Long, LocalDateTime>> vencidas = roda.avancar(agora);
+            if (vencidas.isEmpty()) {
+                return;
+            }
+            LocalDateTime agoraLocal = LocalDateTime.now();
+            List<Long> ids = new ArrayList<>(vencidas.size());
+            for (RodaDoTempo.Entrada<Long, LocalDateTime> e : vencidas) {
+                atraso.record(Math.max(0, agora - e.getPrazoMillis()), TimeUnit.MILLISECONDS);
+                // Agendamento que já começou não recebe mais lembrete
+                if (e.getValor().isAfter(agoraLocal)) {
+                    ids.add(e.getChave());
+                }
+            }
+            disparar(ids, vencidas);
+        } catch (Exception e) {
+            logger.error("Falha no tick da roda de lembretes: {}", e.getMessage(), e);
+        }
+    }
+
+    private void disparar(List<Long> ids, List<RodaDoTempo.Entrada<Long, LocalDateTime>> vencidas) {
+        try {
+            int enviados = lembretes.enviarPara(ids);
+            if (enviados > 0) {
+                logger.info("{} lembrete(s) enfileirado(s) para envio", enviados);
+            }
+        } catch (Exception e) {
+            logger.error("Falha ao enfileirar {} lembrete(s); nova tentativa em {}s: {}",
+                    ids.size(), NOVA_TENTATIVA.toSeconds(), e.getMessage(), e);
+            long novaTentativa = System.currentTimeMillis() + NOVA_TENTATIVA.toMillis();
+            vencidas.forEach(v -> roda.agendar(v.getChave(), novaTentativa, v.getValor()));
+        }
+    }
+
+    private long prazo(LocalDateTime dataHora) {
+        return dataHora.minus(antecedencia).atZone(ZONA).toInstant().toEpochMilli();
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        relogio.shutdownNow();
+    }
+}
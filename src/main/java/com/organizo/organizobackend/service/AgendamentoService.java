@@ -1,6 +1,7 @@
 package com.organizo.organizobackend.service;
 
 import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.dto.CursorPaginatedResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -32,6 +33,24 @@ public interface AgendamentoService {
      */
     Page<AgendamentoDTO> listarPorProfissional(Long profissionalId, Pageable pageable);
 
+    /**
+     * Lista agendamentos de um cliente paginando por cursor (keyset), em ordem cronológica.
+     * @param clienteId identificador do cliente
+     * @param cursor token devolvido pela página anterior (vazio/null para a primeira)
+     * @param limite quantidade máxima de itens por página
+     * @return página de AgendamentoDTO com o cursor da próxima
+     */
+    CursorPaginatedResponse<AgendamentoDTO> listarPorClienteComCursor(Long clienteId, String cursor, int limite);
+
+    /**
+     * Lista agendamentos de um profissional paginando por cursor (keyset), em ordem cronológica.
+     * @param profissionalId identificador do profissional
+     * @param cursor token devolvido pela página anterior (vazio/null para a primeira)
+     * @param limite quantidade máxima de itens por página
+     * @return página de AgendamentoDTO com o cursor da próxima
+     */
+    CursorPaginatedResponse<AgendamentoDTO> listarPorProfissionalComCursor(Long profissionalId, String cursor, int limite);
+
     /**
      * Cria um novo agendamento.
      */
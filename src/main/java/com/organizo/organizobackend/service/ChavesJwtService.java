@@ -0,0 +1,205 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.model.JwtChave;
+import com.organizo.organizobackend.repository.JwtChaveRepository;
+import com.organizo.organizobackend.security.ChaveJwt;
+import com.organizo.organizobackend.security.ChavesJwt;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Anel de chaves JWT persistido na tabela jwt_chave e compartilhado por todas as instâncias.
+ * <p>
+ * A chave mais nova não aposentada assina; as demais continuam verificando até a data de
+ * aposentadoria, calculada na rotação como "agora + validade do token + margem" — ou seja,
+ * nenhum token emitido com a chave anterior é recusado antes de expirar. A primeira chave
+ * ({@value ChavesJwt#KID_INICIAL}) é derivada de {@code jwt.secret}, mantendo válidos os
+ * tokens sem header {@code kid}.
+ * <p>
+ * Cada instância guarda o anel em memória e o recarrega periodicamente ou ao receber um
+ * kid desconhecido (chave criada por outra instância). A rotação roda sob a lease
+ * {@value #LEASE}, em uma única instância por vez.
+ */
+@Service
+public class ChavesJwtService implements ChavesJwt {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChavesJwtService.class);
+    static final String LEASE = "jwt-chaves";
+    private static final int BYTES_SEGREDO = 32;
+    /** Cobre o intervalo de recarga das outras instâncias e a diferença de relógio */
+    private static final Duration MARGEM_APOSENTADORIA = Duration.ofMinutes(5);
+    /** Recarga sob demanda no máximo uma vez por intervalo (kids inventados não viram carga no banco) */
+    private static final long RECARGA_MINIMA_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final JwtChaveRepository repo;
+    private final LeaseService leaseService;
+    private final TransactionTemplate tx;
+    private final SecureRandom random = new SecureRandom();
+    private final byte[] segredoInicial;
+    private final Duration validadeToken;
+    private final Duration rotacao;
+
+    private volatile Anel anel;
+    private volatile long ultimaRecargaSobDemanda = System.nanoTime() - RECARGA_MINIMA_NANOS;
+
+    public ChavesJwtService(JwtChaveRepository repo,
+                            LeaseService leaseService,
+                            PlatformTransactionManager txManager,
+                            @Value("${jwt.secret}") String segredoInicial,
+                            @Value("${jwt.expiration}") long expirationTime,
+                            @Value("${jwt.chaves.rotacao:7d}") Duration rotacao) {
+        this.repo = repo;
+        this.leaseService = leaseService;
+        this.tx = new TransactionTemplate(txManager);
+        this.segredoInicial = segredoInicial.getBytes(StandardCharsets.UTF_8);
+        this.validadeToken = Duration.ofMillis(expirationTime);
+        this.rotacao = rotacao;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (repo.count() == 0) {
+            // Várias instâncias subindo juntas: só um INSERT vence, as demais leem a linha dele
+            try {
+                String segredo = Base64.getEncoder().encodeToString(segredoInicial);
+                tx.executeWithoutResult(status ->
+                        repo.saveAndFlush(new JwtChave(KID_INICIAL, segredo, LocalDateTime.now())));
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Chave inicial já criada por outra instância");
+            }
+        }
+        recarregar();
+    }
+
+    @Override
+    public ChaveJwt ativa() {
+        return anel.ativa;
+    }
+
+    @Override
+    public Optional<ChaveJwt> paraVerificar(String kid) {
+        ChaveJwt chave = anel.porKid.get(kid);
+        if (chave == null && podeRecarregarSobDemanda()) {
+            recarregar();
+            chave = anel.porKid.get(kid);
+        }
+        if (chave == null || !chave.aceitaEm(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(chave);
+    }
+
+    /**
+     * Relê as chaves vigentes do banco e troca o anel em memória de uma vez.
+     */
+    @Scheduled(fixedDelayString = "${jwt.chaves.recarga-ms:60000}",
+            initialDelayString = "${jwt.chaves.recarga-ms:60000}")
+    public void recarregar() {
+        List<JwtChave> vigentes = repo.findVigentes(LocalDateTime.now());
+        if (vigentes.isEmpty()) {
+            // Todas aposentadas (ex.: revogação manual): mantém o anel atual até a próxima rotação
+            logger.warn("Nenhuma chave JWT vigente na tabela jwt_chave");
+            if (anel == null) {
+                throw new IllegalStateException("Nenhuma chave JWT vigente");
+            }
+            return;
+        }
+        Map<String, ChaveJwt> porKid = new HashMap<>();
+        ChaveJwt ativa = null;
+        // Vêm da mais nova para a mais antiga: a primeira sem data de aposentadoria assina
+        for (JwtChave c : vigentes) {
+            ChaveJwt chave = new ChaveJwt(c.getKid(), Base64.getDecoder().decode(c.getSegredo()), c.getAposentadaEm());
+            porKid.put(chave.getKid(), chave);
+            if (ativa == null && c.getAposentadaEm() == null) {
+                ativa = chave;
+            }
+        }
+        if (ativa == null) {
+            ativa = porKid.get(vigentes.get(0).getKid());
+        }
+        this.anel = new Anel(ativa, Map.copyOf(porKid));
+    }
+
+    /**
+     * Cria uma nova chave ativa se a atual tiver passado do período de rotação.
+     */
+    @Scheduled(fixedDelayString = "${jwt.chaves.verificacao-ms:3600000}",
+            initialDelayString = "${jwt.chaves.verificacao-ms:3600000}")
+    public void rotacionarSeNecessario() {
+        if (!leaseService.adquirir(LEASE, Duration.ofMinutes(10))) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        boolean vencida = repo.findVigentes(agora).stream()
+                .filter(c -> c.getAposentadaEm() == null)
+                .findFirst()
+                .map(c -> !c.getCriadaEm().plus(rotacao).isAfter(agora))
+                .orElse(true);
+        if (vencida) {
+            rotacionar();
+        }
+    }
+
+    /**
+     * Cria uma nova chave ativa e agenda a aposentadoria das anteriores para depois que
+     * o último token assinado com elas expirar.
+     * @return kid da nova chave
+     */
+    public String rotacionar() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime aposentadoria = agora.plus(validadeToken).plus(MARGEM_APOSENTADORIA);
+        byte[] segredo = new byte[BYTES_SEGREDO];
+        random.nextBytes(segredo);
+        JwtChave nova = new JwtChave(UUID.randomUUID().toString(),
+                Base64.getEncoder().encodeToString(segredo), agora);
+
+        tx.executeWithoutResult(status -> {
+            for (JwtChave c : repo.findVigentes(agora)) {
+                if (c.getAposentadaEm() == null) {
+                    c.setAposentadaEm(aposentadoria);
+                }
+            }
+            repo.save(nova);
+            repo.deleteAposentadasAntesDe(agora.minusDays(1));
+        });
+        recarregar();
+        logger.info("Chave JWT rotacionada: nova kid={}, anteriores aceitas até {}", nova.getKid(), aposentadoria);
+        return nova.getKid();
+    }
+
+    private boolean podeRecarregarSobDemanda() {
+        long agora = System.nanoTime();
+        long ultima = ultimaRecargaSobDemanda;
+        if (agora - ultima < RECARGA_MINIMA_NANOS) {
+            return false;
+        }
+        synchronized (this) {
+            if (ultimaRecargaSobDemanda != ultima) {
+                return false;
+            }
+            ultimaRecargaSobDemanda = agora;
+            return true;
+        }
+    }
+
+    /** Fotografia imutável do anel: trocada inteira a cada recarga. */
+    private record Anel(ChaveJwt ativa, Map<String, ChaveJwt> porKid) { }
+}
@@ -1,7 +1,7 @@
 package com.organizo.organizobackend.service;
 
 import com.organizo.organizobackend.dto.ClienteDTO;
-import org.springframework.data.domain.Page;
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import org.springframework.data.domain.Pageable;
 
 
@@ -14,7 +14,7 @@ public interface ClienteService {
     /**
      * Retorna página de clientes.
      */
-    Page<ClienteDTO> listar(Pageable pageable);
+    PaginatedResponse<ClienteDTO> listar(Pageable pageable);
 
     /**
      * Busca um cliente pelo ID.
@@ -0,0 +1,101 @@
+package com.organizo.organizobackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cache de curta duração das decisões de posse do {@link SalaoSecurityService}
+ * (ex.: "o usuário X é dono do salão 7?").
+ * <p>
+ * O mesmo usuário costuma repetir a mesma checagem em sequência (listar, confirmar, cancelar),
+ * então um acerto dispensa a consulta. Alterações de salão, profissional ou cliente que podem
+ * mudar uma decisão a invalidam na hora e de novo após o commit; o TTL limita o resto.
+ * Métricas: {@code cache.*{cache=autorizacao}}.
+ */
+@Component
+public class DecisoesAutorizacao {
+
+    /**
+     * Tipo de checagem; cada um depende de um conjunto diferente de relações.
+     */
+    public enum Tipo {
+        SALAO_DONO,
+        PROFISSIONAL_SALAO_DONO,
+        CLIENTE_PROPRIO,
+        PROFISSIONAL_PROPRIO,
+        AGENDAMENTO_CLIENTE,
+        AGENDAMENTO_PROFISSIONAL,
+        AGENDAMENTO_SALAO_DONO
+    }
+
+    private final Cache<Chave, Boolean> decisoes;
+
+    public DecisoesAutorizacao(MeterRegistry registry,
+                               @Value("${seguranca.decisoes.ttl:30s}") Duration ttl,
+                               @Value("${seguranca.decisoes.tamanho:50000}") long tamanho) {
+        this.decisoes = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(tamanho)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, decisoes, "autorizacao");
+    }
+
+    /**
+     * Devolve a decisão em cache ou a calcula com {@code consulta}.
+     */
+    public boolean decidir(Tipo tipo, Long id, String username, BooleanSupplier consulta) {
+        if (id == null || username == null) {
+            return false;
+        }
+        return decisoes.get(new Chave(tipo, id, username), k -> consulta.getAsBoolean());
+    }
+
+    /** Dono, existência ou profissionais do salão mudaram. */
+    public void salaoAlterado(Long salaoId) {
+        invalidar(salaoId, EnumSet.of(Tipo.SALAO_DONO),
+                EnumSet.of(Tipo.PROFISSIONAL_SALAO_DONO, Tipo.AGENDAMENTO_SALAO_DONO));
+    }
+
+    /** E-mail, salão ou existência do profissional mudaram. */
+    public void profissionalAlterado(Long profissionalId) {
+        invalidar(profissionalId, EnumSet.of(Tipo.PROFISSIONAL_PROPRIO, Tipo.PROFISSIONAL_SALAO_DONO),
+                EnumSet.of(Tipo.AGENDAMENTO_PROFISSIONAL, Tipo.AGENDAMENTO_SALAO_DONO));
+    }
+
+    /** E-mail ou existência do cliente mudaram. */
+    public void clienteAlterado(Long clienteId) {
+        invalidar(clienteId, EnumSet.of(Tipo.CLIENTE_PROPRIO), EnumSet.of(Tipo.AGENDAMENTO_CLIENTE));
+    }
+
+    /**
+     * Remove as decisões do próprio recurso e todas as dos tipos que dependem dele indiretamente.
+     * Repete após o commit para descartar decisões recalculadas com o estado ainda antigo.
+     */
+    private void invalidar(Long id, Set<Tipo> doRecurso, Set<Tipo> dependentes) {
+        Runnable acao = () -> decisoes.asMap().keySet().removeIf(k ->
+                dependentes.contains(k.tipo()) || (doRecurso.contains(k.tipo()) && k.id().equals(id)));
+        acao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+
+    private record Chave(Tipo tipo, Long id, String username) { }
+}
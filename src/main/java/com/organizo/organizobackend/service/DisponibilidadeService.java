@@ -0,0 +1,27 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.HorarioDisponivelDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contrato para busca de horários livres em um salão.
+ */
+public interface DisponibilidadeService {
+
+    /**
+     * Lista os primeiros horários livres para o serviço, considerando todos os
+     * profissionais do salão vinculados a ele e a duração do serviço.
+     * @param salaoId identificador do salão
+     * @param servicoId identificador do serviço (deve pertencer ao salão)
+     * @param de início da janela de busca (padrão: agora)
+     * @param ate fim da janela de busca (padrão: 7 dias após o início)
+     * @param limite quantidade máxima de horários retornados
+     * @param passoMinutos intervalo entre inícios candidatos (múltiplo de 5)
+     * @return horários em ordem cronológica
+     */
+    List<HorarioDisponivelDTO> buscar(Long salaoId, Long servicoId,
+                                      LocalDateTime de, LocalDateTime ate,
+                                      int limite, int passoMinutos);
+}
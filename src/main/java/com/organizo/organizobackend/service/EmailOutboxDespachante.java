@@ -0,0 +1,223 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.StatusEmail;
+import com.organizo.organizobackend.model.EmailOutbox;
+import com.organizo.organizobackend.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Esvazia a caixa de saída de e-mails fora das transações de negócio.
+ * <p>
+ * Um único coordenador reivindica lotes de pendentes (UPDATE condicional, seguro entre instâncias)
+ * e distribui os envios num pool limitado de threads. Falhas voltam para a fila com espera
+ * exponencial; ao esgotar as tentativas o e-mail fica DESCARTADO para análise.
+ * A varredura periódica cobre wake-ups perdidos e devolve registros presos em PROCESSANDO.
+ */
+@Component
+public class EmailOutboxDespachante {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDespachante.class);
+    private static final int MAX_TAMANHO_ERRO = 1000;
+
+    private final EmailOutboxRepository repo;
+    private final EmailService emailService;
+    private final TransactionTemplate tx;
+
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Duration travadoApos;
+
+    private final ExecutorService coordenador;
+    private final ThreadPoolExecutor envios;
+    private final AtomicBoolean drenando = new AtomicBoolean();
+    private final AtomicBoolean chamadoDeNovo = new AtomicBoolean();
+
+    public EmailOutboxDespachante(EmailOutboxRepository repo,
+                                  EmailService emailService,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${email.outbox.threads:4}") int threads,
+                                  @Value("${email.outbox.lote:20}") int tamanhoLote,
+                                  @Value("${email.outbox.max-tentativas:6}") int maxTentativas,
+                                  @Value("${email.outbox.espera-inicial:30s}") Duration esperaInicial,
+                                  @Value("${email.outbox.espera-maxima:1h}") Duration esperaMaxima,
+                                  @Value("${email.outbox.travado-apos:5m}") Duration travadoApos) {
+        this.repo = repo;
+        this.emailService = emailService;
+        this.tx = new TransactionTemplate(txManager);
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.travadoApos = travadoApos;
+
+        this.coordenador = Executors.newSingleThreadExecutor(nomeadas("email-outbox-coordenador"));
+        // A fila comporta exatamente um lote: o coordenador só submete o próximo depois de esperar o atual
+        this.envios = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanhoLote), nomeadas("email-outbox-envio"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.envios.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Pede uma drenagem da fila. Chamadas durante uma drenagem em curso
+     * só garantem uma nova passada ao final dela.
+     */
+    public void acordar() {
+        chamadoDeNovo.set(true);
+        if (drenando.compareAndSet(false, true)) {
+            try {
+                coordenador.execute(this::drenar);
+            } catch (RejectedExecutionException e) {
+                // Aplicação encerrando; a varredura da próxima instância assume
+                drenando.set(false);
+            }
+        }
+    }
+
+    /**
+     * Rede de segurança: devolve e-mails presos e drena o que tiver vencido
+     * (inclusive as novas tentativas agendadas pela espera exponencial).
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.varredura-ms:30000}")
+    public void varrer() {
+        String erro = "Envio interrompido: em PROCESSANDO por mais de " + travadoApos.toSeconds() + "s";
+        Integer devolvidos = tx.execute(status -> repo.devolverTravados(
+                LocalDateTime.now().minus(travadoApos), maxTentativas, erro,
+                StatusEmail.PENDENTE, StatusEmail.PROCESSANDO, StatusEmail.DESCARTADO));
+        if (devolvidos != null && devolvidos > 0) {
+            logger.warn("{} e-mail(s) presos em PROCESSANDO voltaram para a fila (ou foram descartados, se esgotaram as tentativas)",
+                    devolvidos);
+        }
+        acordar();
+    }
+
+    private void drenar() {
+        try {
+            do {
+                chamadoDeNovo.set(false);
+                while (processarLote() > 0) {
+                    // continua enquanto houver pendentes vencidos
+                }
+            } while (chamadoDeNovo.get());
+        } catch (Exception e) {
+            logger.error("Falha ao drenar a caixa de saída de e-mails: {}", e.getMessage(), e);
+            chamadoDeNovo.set(false);
+        } finally {
+            drenando.set(false);
+        }
+        // Um acordar() pode ter chegado entre a última checagem e a liberação da flag
+        if (chamadoDeNovo.get()) {
+            acordar();
+        }
+    }
+
+    /**
+     * Reivindica e envia um lote.
+     * @return quantidade de e-mails processados (0 quando não há nada vencido)
+     */
+    int processarLote() throws InterruptedException {
+        String lote = UUID.randomUUID().toString();
+        List<EmailOutbox> itens = tx.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<Long> ids = repo.findIdsProntos(StatusEmail.PENDENTE, agora, PageRequest.of(0, tamanhoLote));
+            if (ids.isEmpty() || repo.reivindicar(ids, lote, agora, StatusEmail.PENDENTE, StatusEmail.PROCESSANDO) == 0) {
+                return List.<EmailOutbox>of();
+            }
+            return repo.findByLote(lote);
+        });
+        if (itens == null || itens.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> futuros = new ArrayList<>(itens.size());
+        for (EmailOutbox item : itens) {
+            futuros.add(envios.submit(() -> enviar(item, lote)));
+        }
+        for (Future<?> f : futuros) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                logger.error("Erro inesperado no envio de e-mail do lote {}", lote, e.getCause());
+            }
+        }
+        return itens.size();
+    }
+
+    private void enviar(EmailOutbox item, String lote) {
+        try {
+            emailService.sendSimpleMessage(item.getDestinatario(), item.getAssunto(), item.getCorpo());
+        } catch (Exception e) {
+            registrarFalha(item, lote, e);
+            return;
+        }
+        tx.executeWithoutResult(status ->
+                repo.marcarEnviado(item.getId(), lote, LocalDateTime.now(), StatusEmail.ENVIADO));
+        logger.info("Email enviado para {} (outbox {})", item.getDestinatario(), item.getId());
+    }
+
+    private void registrarFalha(EmailOutbox item, String lote, Exception e) {
+        int tentativas = item.getTentativas() + 1;
+        boolean esgotou = tentativas >= maxTentativas;
+        StatusEmail novoStatus = esgotou ? StatusEmail.DESCARTADO : StatusEmail.PENDENTE;
+        LocalDateTime proxima = LocalDateTime.now().plus(espera(tentativas));
+        String erro = String.valueOf(e.getMessage());
+        if (erro.length() > MAX_TAMANHO_ERRO) {
+            erro = erro.substring(0, MAX_TAMANHO_ERRO);
+        }
+        String erroFinal = erro;
+        tx.executeWithoutResult(status ->
+                repo.registrarFalha(item.getId(), lote, novoStatus, proxima, erroFinal));
+
+        if (esgotou) {
+            logger.error("Email para {} (outbox {}) descartado após {} tentativas: {}",
+                    item.getDestinatario(), item.getId(), tentativas, e.getMessage());
+        } else {
+            logger.warn("Falha ao enviar email para {} (outbox {}), tentativa {}: {}",
+                    item.getDestinatario(), item.getId(), tentativas, e.getMessage());
+        }
+    }
+
+    /**
+     * Espera antes da próxima tentativa: dobra a cada falha, limitada ao máximo configurado.
+     */
+    Duration espera(int tentativas) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        coordenador.shutdown();
+        coordenador.awaitTermination(10, TimeUnit.SECONDS);
+        envios.shutdown();
+        envios.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static ThreadFactory nomeadas(String prefixo) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefixo + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.model.EmailOutbox;
+import com.organizo.organizobackend.repository.EmailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Porta de entrada da caixa de saída de e-mails.
+ * O e-mail é gravado na transação de quem chama e só é enviado depois do commit;
+ * se a transação for desfeita, o e-mail some junto.
+ */
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository repo;
+    private final EmailOutboxDespachante despachante;
+
+    public EmailOutboxService(EmailOutboxRepository repo, EmailOutboxDespachante despachante) {
+        this.repo = repo;
+        this.despachante = despachante;
+    }
+
+    /**
+     * Enfileira um e-mail de texto simples.
+     * @param to      destinatário
+     * @param subject assunto
+     * @param text    corpo da mensagem
+     * @return o registro gravado na caixa de saída
+     */
+    @Transactional
+    public EmailOutbox enfileirar(String to, String subject, String text) {
+        EmailOutbox salvo = repo.save(new EmailOutbox(to, subject, text));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                despachante.acordar();
+            }
+        });
+        return salvo;
+    }
+}
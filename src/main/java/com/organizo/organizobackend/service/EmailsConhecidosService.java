@@ -0,0 +1,338 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.cache.DisjuntorRedis;
+import com.organizo.organizobackend.repository.EmailIndexado;
+import com.organizo.organizobackend.repository.UsuarioRepository;
+import com.organizo.organizobackend.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Filtro de Bloom com os e-mails cadastrados em {@code usuario}.
+ * <p>
+ * Boa parte das tentativas de login usa e-mails que não existem; quando o filtro responde
+ * "com certeza não existe", o login é recusado sem consultar o banco. O filtro é montado
+ * quando a aplicação fica pronta (até lá tudo é "talvez", ou seja, vai ao banco), recebe os
+ * novos cadastros após o commit e é reconstruído periodicamente — o que descarta e-mails
+ * removidos e redimensiona o filtro se a base cresceu.
+ * <p>
+ * Cada instância tem o próprio filtro: um cadastro é publicado no canal {@code auth.bloom.canal}
+ * e as outras instâncias o incluem ao receber. Como a mensagem pode se perder, um "não existe"
+ * ainda confere no banco as linhas com id acima do último lido (consulta por intervalo de chave
+ * primária): sempre, enquanto esta instância não está inscrita no canal, e no máximo uma vez por
+ * {@code auth.bloom.novos-intervalo} quando está.
+ * <p>
+ * Métricas (com a tag {@code tabela}): {@code organizo.auth.bloom.falso_positivo} (estimada),
+ * {@code organizo.auth.bloom.elementos}, {@code organizo.auth.bloom.consultas{resultado}}
+ * e {@code organizo.auth.bloom.falsos_positivos} (observados: "talvez" que o banco negou).
+ */
+@Service
+public class EmailsConhecidosService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailsConhecidosService.class);
+
+    private final Indice usuarios;
+    private final long capacidade;
+    private final double taxaFalsoPositivo;
+    private final int tamanhoPagina;
+    private final long intervaloNovosNanos;
+    private final StringRedisTemplate redis;
+    private final DisjuntorRedis disjuntor;
+    private final String canal;
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private volatile boolean inscrito;
+    private boolean falhando;
+
+    public EmailsConhecidosService(UsuarioRepository usuarioRepo,
+                                   MeterRegistry registry,
+                                   RedisConnectionFactory connectionFactory,
+                                   StringRedisTemplate redis,
+                                   DisjuntorRedis disjuntor,
+                                   @Value("${auth.bloom.capacidade:1000000}") long capacidade,
+                                   @Value("${auth.bloom.fpp:0.01}") double taxaFalsoPositivo,
+                                   @Value("${auth.bloom.pagina:5000}") int tamanhoPagina,
+                                   @Value("${auth.bloom.canal:organizo:auth:emails}") String canal,
+                                   @Value("${auth.bloom.novos-intervalo:1s}") Duration intervaloNovos) {
+        this.capacidade = capacidade;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.tamanhoPagina = tamanhoPagina;
+        this.intervaloNovosNanos = intervaloNovos.toNanos();
+        this.redis = redis;
+        this.disjuntor = disjuntor;
+        this.canal = canal;
+        this.usuarios = new Indice("usuario", usuarioRepo::findEmailsAposId, registry);
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(canal));
+        container.afterPropertiesSet();
+    }
+
+    /** false = o e-mail com certeza não está em {@code usuario}. */
+    public boolean talvezUsuario(String email) {
+        return usuarios.talvezContenha(email);
+    }
+
+    /** Inclui o e-mail de um usuário recém-cadastrado aqui e nas outras instâncias (após o commit). */
+    public void registrarUsuario(String email) {
+        aposCommit(() -> anunciar(usuarios, email));
+    }
+
+    /** O filtro disse "talvez" e o banco não encontrou o usuário. */
+    public void falsoPositivoUsuario() {
+        usuarios.falsosPositivos.increment();
+    }
+
+    /**
+     * (Re)monta o filtro a partir do banco e troca o atual ao final.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.bloom.reconstrucao-ms:21600000}",
+            initialDelayString = "${auth.bloom.reconstrucao-ms:21600000}")
+    public void reconstruir() {
+        usuarios.reconstruir();
+    }
+
+    /**
+     * Inscreve no canal de cadastros se ainda não estiver inscrito. Ao (re)inscrever, lê os
+     * cadastros do período sem inscrição.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.bloom.verificacao-ms:10000}",
+            initialDelayString = "${auth.bloom.verificacao-ms:10000}")
+    public synchronized void garantirInscricao() {
+        if (container.isListening()) {
+            return;
+        }
+        inscrito = false;
+        try {
+            container.stop();
+            container.start();
+            inscrito = true;
+            falhando = false;
+            usuarios.incluirNovos(true);
+        } catch (RuntimeException e) {
+            // Enquanto isso, todo "não existe" é conferido no banco
+            if (!falhando) {
+                logger.warn("Falha ao inscrever no canal de e-mails cadastrados '{}': {}", canal, e.getMessage());
+                falhando = true;
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        receber(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cadastro feito em outra instância (ou nesta: incluir de novo não muda nada).
+     * Formato: {@code tabela \n e-mail}.
+     */
+    void receber(String mensagem) {
+        int separador = mensagem.indexOf('\n');
+        if (separador < 0) {
+            return;
+        }
+        String tabela = mensagem.substring(0, separador);
+        String email = mensagem.substring(separador + 1);
+        if (usuarios.tabela.equals(tabela)) {
+            usuarios.adicionar(email);
+        }
+    }
+
+    private void anunciar(Indice indice, String email) {
+        indice.adicionar(email);
+        if (email != null) {
+            // Sem Redis, as outras instâncias acham o e-mail pela conferência de ids novos
+            disjuntor.executar(() -> redis.convertAndSend(canal, indice.tabela + '\n' + email));
+        }
+    }
+
+    @PreDestroy
+    void encerrar() throws Exception {
+        container.destroy();
+    }
+
+    private static String normalizar(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Filtro de uma tabela, com o filtro em construção durante a reconstrução.
+     */
+    private final class Indice {
+
+        private final String tabela;
+        private final BiFunction<Long, Pageable, List<EmailIndexado>> leitor;
+        private volatile FiltroBloom atual;
+        private volatile FiltroBloom emConstrucao;
+        /** Maior id já lido do banco; linhas acima dele podem não estar no filtro */
+        private final AtomicLong ultimoId = new AtomicLong();
+        private final AtomicLong proximaConferencia = new AtomicLong(System.nanoTime());
+        private final Counter ausentes;
+        private final Counter talvez;
+        private final Counter falsosPositivos;
+
+        private Indice(String tabela, BiFunction<Long, Pageable, List<EmailIndexado>> leitor, MeterRegistry registry) {
+            this.tabela = tabela;
+            this.leitor = leitor;
+            Gauge.builder("organizo.auth.bloom.falso_positivo", this,
+                            i -> i.atual == null ? 0 : i.atual.taxaFalsoPositivoEstimada())
+                    .description("Taxa de falso positivo estimada do filtro de e-mails")
+                    .tag("tabela", tabela)
+                    .register(registry);
+            Gauge.builder("organizo.auth.bloom.elementos", this, i -> i.atual == null ? 0 : i.atual.elementos())
+                    .description("E-mails no filtro")
+                    .tag("tabela", tabela)
+                    .register(registry);
+            this.ausentes = Counter.builder("organizo.auth.bloom.consultas")
+                    .description("Consultas ao filtro de e-mails por resultado")
+                    .tag("tabela", tabela).tag("resultado", "ausente")
+                    .register(registry);
+            this.talvez = Counter.builder("organizo.auth.bloom.consultas")
+                    .description("Consultas ao filtro de e-mails por resultado")
+                    .tag("tabela", tabela).tag("resultado", "talvez")
+                    .register(registry);
+            this.falsosPositivos = Counter.builder("organizo.auth.bloom.falsos_positivos")
+                    .description("Respostas 'talvez' do filtro para e-mails inexistentes")
+                    .tag("tabela", tabela)
+                    .register(registry);
+        }
+
+        private boolean talvezContenha(String email) {
+            FiltroBloom filtro = atual;
+            // Ainda não montado: não dá para afirmar nada
+            if (filtro == null || email == null || filtro.talvezContenha(normalizar(email))
+                    || (incluirNovos(!inscrito) && atual.talvezContenha(normalizar(email)))) {
+                talvez.increment();
+                return true;
+            }
+            ausentes.increment();
+            return false;
+        }
+
+        /**
+         * Inclui as linhas com id acima do último lido (ex.: cadastros de outra instância cuja
+         * mensagem se perdeu). Sem {@code sempre}, no máximo uma vez por intervalo.
+         *
+         * @return true se havia linhas novas
+         */
+        private boolean incluirNovos(boolean sempre) {
+            if (atual == null) {
+                // A primeira montagem ainda vai ler a tabela inteira
+                return false;
+            }
+            long agora = System.nanoTime();
+            long proxima = proximaConferencia.get();
+            if (!sempre && (agora - proxima < 0 || !proximaConferencia.compareAndSet(proxima, agora + intervaloNovosNanos))) {
+                return false;
+            }
+            try {
+                long aposId = ultimoId.get();
+                boolean novos = false;
+                List<EmailIndexado> pagina;
+                do {
+                    pagina = leitor.apply(aposId, PageRequest.of(0, tamanhoPagina));
+                    for (EmailIndexado e : pagina) {
+                        adicionar(e.getEmail());
+                        aposId = e.getId();
+                        novos = true;
+                    }
+                } while (pagina.size() == tamanhoPagina);
+                ultimoId.accumulateAndGet(aposId, Math::max);
+                return novos;
+            } catch (RuntimeException e) {
+                // Sem como conferir: mantém a resposta do filtro
+                logger.debug("Falha ao ler e-mails novos de '{}': {}", tabela, e.getMessage());
+                return false;
+            }
+        }
+
+
+        private void adicionar(String email) {
+            if (email == null) {
+                return;
+            }
+            String chave = normalizar(email);
+            // Lido depois do commit do cadastro e antes de 'atual': se não há reconstrução em curso,
+            // ou a próxima ainda vai ler a linha, ou a última já trocou 'atual' pelo filtro novo
+            FiltroBloom novo = emConstrucao;
+            if (novo != null) {
+                novo.adicionar(chave);
+            }
+            FiltroBloom filtro = atual;
+            if (filtro != null) {
+                filtro.adicionar(chave);
+            }
+        }
+
+        private synchronized void reconstruir() {
+            FiltroBloom anterior = atual;
+            long esperado = Math.max(capacidade, anterior == null ? 0 : anterior.elementos() * 2);
+            FiltroBloom novo = new FiltroBloom(esperado, taxaFalsoPositivo);
+            emConstrucao = novo;
+            try {
+                long aposId = 0;
+                List<EmailIndexado> pagina;
+                do {
+                    pagina = leitor.apply(aposId, PageRequest.of(0, tamanhoPagina));
+                    for (EmailIndexado e : pagina) {
+                        if (e.getEmail() != null) {
+                            novo.adicionar(normalizar(e.getEmail()));
+                        }
+                    }
+                    if (!pagina.isEmpty()) {
+                        aposId = pagina.get(pagina.size() - 1).getId();
+                    }
+                } while (pagina.size() == tamanhoPagina);
+                ultimoId.accumulateAndGet(aposId, Math::max);
+                atual = novo;
+                logger.info("Filtro de e-mails de '{}' montado com {} e-mail(s)", tabela, novo.elementos());
+            } catch (RuntimeException e) {
+                // Mantém o filtro anterior (ou nenhum, e tudo segue para o banco)
+                logger.warn("Falha ao montar o filtro de e-mails de '{}': {}", tabela, e.getMessage());
+            } finally {
+                emConstrucao = null;
+            }
+        }
+    }
+}
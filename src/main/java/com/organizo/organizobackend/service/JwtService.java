@@ -1,21 +1,59 @@
 package com.organizo.organizobackend.service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.organizo.organizobackend.security.ChaveJwt;
+import com.organizo.organizobackend.security.ChavesJwt;
+import com.organizo.organizobackend.security.TokenClaims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_USUARIO_ID = "uid";
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final long expirationTime;
+    /** Assina com a chave ativa e verifica pela chave indicada no header kid */
+    private final ChavesJwt chaves;
+    /**
+     * Tokens verificados recentemente, indexados pelo segmento de assinatura.
+     * Um acerto evita o HMAC e o parse do payload em requisições repetidas da mesma sessão.
+     */
+    private final Cache<String, TokenVerificado> verificados;
+
+    @Autowired
+    public JwtService(ChavesJwt chaves,
+                      @Value("${jwt.expiration}") long expirationTime,
+                      @Value("${jwt.cache.tamanho:10000}") long tamanhoCache) {
+        this.chaves = chaves;
+        this.expirationTime = expirationTime;
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoCache)
+                .build();
+    }
+
+    /**
+     * Instância com uma única chave fixa, sem anel persistido (testes e benchmarks).
+     */
+    public JwtService(String secretKey, long expirationTime, long tamanhoCache) {
+        this(ChavesJwt.fixa(secretKey), expirationTime, tamanhoCache);
+    }
 
     /**
      * Gera um token JWT com base nas informações do usuário.
@@ -24,12 +62,79 @@ public class JwtService {
      * @return O token JWT assinado.
      */
     public String generateToken(String email, String role) {
-        return JWT.create()
+        return generateToken(null, email, role);
+    }
+
+    /**
+     * Gera um token JWT que carrega tudo o que a autenticação das requisições precisa
+     * (id, e-mail e role), dispensando consulta ao banco a cada requisição.
+     * @param usuarioId O ID do usuário (claim 'uid'); ignorado se null.
+     * @param email O email do usuário (será o 'subject' do token).
+     * @param role A role (perfil) do usuário (adicionada como 'claim').
+     * @return O token JWT assinado.
+     */
+    public String generateToken(Long usuarioId, String email, String role) {
+        ChaveJwt ativa = chaves.ativa();
+        JWTCreator.Builder builder = JWT.create()
+                .withKeyId(ativa.getKid())
                 .withSubject(email)
-                .withClaim("role", role)
+                .withClaim(CLAIM_ROLE, role)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
-                .sign(Algorithm.HMAC256(secretKey));
+                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime));
+        if (usuarioId != null) {
+            builder.withClaim(CLAIM_USUARIO_ID, usuarioId);
+        }
+        return builder.sign(ativa.getAlgorithm());
+    }
+
+    /**
+     * Verifica assinatura (com a chave do header kid) e expiração e devolve as claims do token,
+     * decodificado uma única vez. Tokens sem kid são verificados com a chave inicial.
+     * @param token O token JWT.
+     * @return as claims, ou vazio se o token for inválido ou estiver expirado.
+     */
+    public Optional<TokenClaims> verificar(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int ultimoPonto = token.lastIndexOf('.');
+        if (ultimoPonto < 0) {
+            return Optional.empty();
+        }
+        String assinatura = token.substring(ultimoPonto + 1);
+        Instant agora = Instant.now();
+
+        TokenVerificado emCache = verificados.getIfPresent(assinatura);
+        if (emCache != null && emCache.mesmoToken(token)) {
+            // Chave aposentada (ex.: revogada) invalida também o que já estava em cache
+            if (emCache.claims.expiradoEm(agora) || chaves.paraVerificar(emCache.kid).isEmpty()) {
+                verificados.invalidate(assinatura);
+                return Optional.empty();
+            }
+            return Optional.of(emCache.claims);
+        }
+
+        try {
+            DecodedJWT jwt = JWT.decode(token);
+            String kid = jwt.getKeyId() != null ? jwt.getKeyId() : ChavesJwt.KID_INICIAL;
+            Optional<ChaveJwt> chave = chaves.paraVerificar(kid);
+            if (chave.isEmpty()) {
+                logger.debug("Token com chave desconhecida ou aposentada: kid={}", kid);
+                return Optional.empty();
+            }
+            chave.get().getVerifier().verify(jwt);
+            TokenClaims claims = new TokenClaims(
+                    jwt.getClaim(CLAIM_USUARIO_ID).asLong(),
+                    jwt.getSubject(),
+                    jwt.getClaim(CLAIM_ROLE).asString(),
+                    jwt.getIssuedAtAsInstant(),
+                    jwt.getExpiresAtAsInstant());
+            verificados.put(assinatura, new TokenVerificado(token, kid, claims));
+            return Optional.of(claims);
+        } catch (JWTVerificationException e) {
+            logger.debug("Erro na validação do token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     /**
@@ -38,30 +143,45 @@ public class JwtService {
      * @return true se o token for válido e não expirado, false caso contrário.
      */
     public boolean validateToken(String token) {
-        try {
-            JWT.require(Algorithm.HMAC256(secretKey)).build().verify(token);
-            return true;
-        } catch (JWTVerificationException e) {
-            System.err.println("Erro na validação do token: " + e.getMessage());
-            return false;
-        }
+        return verificar(token).isPresent();
     }
 
     /**
-     * Extrai o email (subject) de um token JWT.
+     * Extrai o email (subject) de um token JWT válido.
      * @param token O token JWT.
-     * @return O email.
+     * @return O email, ou null se o token for inválido.
      */
     public String getEmailFromToken(String token) {
-        return JWT.decode(token).getSubject();
+        return verificar(token).map(TokenClaims::getSubject).orElse(null);
     }
 
     /**
-     * Extrai a role do token JWT.
+     * Extrai a role de um token JWT válido.
      * @param token O token JWT.
-     * @return A role do usuário.
+     * @return A role do usuário, ou null se o token for inválido.
      */
     public String getRoleFromToken(String token) {
-        return JWT.decode(token).getClaim("role").asString();
+        return verificar(token).map(TokenClaims::getRole).orElse(null);
+    }
+
+    /**
+     * Token completo + claims: o acerto no cache só vale se o token inteiro for idêntico
+     * ao que foi verificado (a chave é apenas a assinatura).
+     */
+    private static final class TokenVerificado {
+
+        private final byte[] token;
+        private final String kid;
+        private final TokenClaims claims;
+
+        private TokenVerificado(String token, String kid, TokenClaims claims) {
+            this.token = token.getBytes(StandardCharsets.US_ASCII);
+            this.kid = kid;
+            this.claims = claims;
+        }
+
+        private boolean mesmoToken(String outro) {
+            return MessageDigest.isEqual(token, outro.getBytes(StandardCharsets.US_ASCII));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.model.SchedulerLease;
+import com.organizo.organizobackend.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Eleição de líder por tarefa agendada, apoiada numa linha da tabela scheduler_lease.
+ * <p>
+ * Cada instância tenta tomar a lease com um UPDATE condicional; só uma consegue enquanto
+ * a lease estiver válida. O líder renova a cada execução; se ele cair, outra instância
+ * assume quando a lease expirar. Pressupõe relógios sincronizados (NTP) entre os nós.
+ */
+@Service
+public class LeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseService.class);
+
+    private final SchedulerLeaseRepository repo;
+    private final TransactionTemplate tx;
+    private final String instancia;
+    private final Set<String> detidas = ConcurrentHashMap.newKeySet();
+
+    public LeaseService(SchedulerLeaseRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+        // Transação própria: a lease não pode depender do commit de quem chama
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instancia = nomeDaInstancia();
+    }
+
+    /**
+     * Toma ou renova a lease {@code nome} por {@code duracao}.
+     * @return true se esta instância é a detentora até o fim do prazo
+     */
+    public boolean adquirir(String nome, Duration duracao) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiraEm = agora.plus(duracao);
+        Integer tomadas = tx.execute(status -> repo.tomar(nome, instancia, agora, expiraEm));
+        boolean adquirida = tomadas != null && tomadas == 1;
+        if (!adquirida && !repo.existsById(nome)) {
+            // Primeira vez que a tarefa roda: quem inserir a linha primeiro leva
+            try {
+                tx.executeWithoutResult(status -> repo.saveAndFlush(new SchedulerLease(nome, instancia, expiraEm)));
+                adquirida = true;
+            } catch (DataIntegrityViolationException e) {
+                adquirida = false;
+            }
+        }
+        if (adquirida) {
+            if (detidas.add(nome)) {
+                logger.info("Instância {} assumiu a lease '{}'", instancia, nome);
+            }
+        } else {
+            detidas.remove(nome);
+        }
+        return adquirida;
+    }
+
+    /**
+     * Identificador desta instância nas leases.
+     */
+    public String getInstancia() {
+        return instancia;
+    }
+
+    /**
+     * Devolve as leases detidas para que outra instância assuma sem esperar o prazo.
+     */
+    @PreDestroy
+    public void devolverTodas() {
+        LocalDateTime agora = LocalDateTime.now();
+        for (String nome : detidas) {
+            try {
+                tx.executeWithoutResult(status -> repo.devolver(nome, instancia, agora));
+            } catch (Exception e) {
+                logger.warn("Não foi possível devolver a lease '{}': {}", nome, e.getMessage());
+            }
+        }
+        detidas.clear();
+    }
+
+    private static String nomeDaInstancia() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "desconhecido";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
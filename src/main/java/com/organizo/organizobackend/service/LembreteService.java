@@ -0,0 +1,98 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.AgendamentoRepository.LembreteAgendamento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Envio idempotente dos lembretes de agendamentos confirmados.
+ * <p>
+ * Percorre a janela em páginas por id; cada página é reivindicada com um único UPDATE
+ * condicional em {@code lembrete_enviado_em} e os e-mails entram na caixa de saída
+ * na mesma transação. Um agendamento nunca recebe dois lembretes, mesmo que a
+ * varredura se repita ou rode em mais de um nó.
+ */
+@Service
+public class LembreteService {
+
+    private final AgendamentoRepository agRepo;
+    private final EmailOutboxService emailOutbox;
+    private final TransactionTemplate tx;
+    private final int tamanhoPagina;
+
+    public LembreteService(AgendamentoRepository agRepo,
+                           EmailOutboxService emailOutbox,
+                           PlatformTransactionManager txManager,
+                           @Value("${agenda.lembretes.pagina:200}") int tamanhoPagina) {
+        this.agRepo = agRepo;
+        this.emailOutbox = emailOutbox;
+        this.tx = new TransactionTemplate(txManager);
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Enfileira os lembretes ainda não enviados dos agendamentos CONFIRMADOS entre {@code inicio} e {@code fim}.
+     * @return quantidade de lembretes enfileirados nesta execução
+     */
+    public int enviarPendentes(LocalDateTime inicio, LocalDateTime fim) {
+        long aposId = 0;
+        int total = 0;
+        while (true) {
+            List<Long> ids = agRepo.findIdsSemLembrete(StatusAgendamento.CONFIRMADO, inicio, fim, aposId,
+                    PageRequest.of(0, tamanhoPagina));
+            if (ids.isEmpty()) {
+                return total;
+            }
+            aposId = ids.get(ids.size() - 1);
+            Integer enfileirados = tx.execute(status -> reivindicarEEnfileirar(ids));
+            total += enfileirados == null ? 0 : enfileirados;
+            if (ids.size() < tamanhoPagina) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Enfileira os lembretes dos agendamentos informados que ainda estejam CONFIRMADOS e sem lembrete.
+     * Usado quando o prazo vence na roda do tempo ({@link AgendadorLembretes}).
+     * @return quantidade de lembretes enfileirados
+     */
+    public int enviarPara(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Integer enfileirados = tx.execute(status -> reivindicarEEnfileirar(ids));
+        return enfileirados == null ? 0 : enfileirados;
+    }
+
+    private int reivindicarEEnfileirar(Collection<Long> ids) {
+        // Marca desta reivindicação; só as linhas que ela marcou geram e-mail
+        LocalDateTime marca = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (agRepo.reivindicarLembretes(ids, StatusAgendamento.CONFIRMADO, marca) == 0) {
+            return 0;
+        }
+        List<LembreteAgendamento> lembretes = agRepo.findLembretesReivindicados(ids, marca);
+        for (LembreteAgendamento l : lembretes) {
+            String texto = String.format(
+                    "Olá %s,%n%n" +
+                            "Este é um lembrete do seu agendamento de %s " +
+                            "hoje às %s.%n%nAtenciosamente.",
+                    l.getNomeCliente(),
+                    l.getNomeServico(),
+                    l.getDataHora().toLocalTime()
+            );
+            emailOutbox.enfileirar(l.getEmailCliente(), "Lembrete de Agendamento", texto);
+        }
+        return lembretes.size();
+    }
+}
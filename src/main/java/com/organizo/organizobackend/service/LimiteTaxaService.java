@@ -0,0 +1,151 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.exception.LimiteExcedidoException;
+import com.organizo.organizobackend.util.LimitadorGcra;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limites de tentativas dos endpoints de autenticação, por IP e por e-mail normalizado.
+ * <p>
+ * As verificações acontecem antes de qualquer consulta ao banco ou hash de senha: o IP
+ * no {@link com.organizo.organizobackend.config.LimiteTaxaFilter} e o e-mail no início do
+ * login/registro. No modo {@code local} (padrão) cada instância tem seus próprios baldes
+ * ({@link LimitadorGcra}); no modo {@code redis} os baldes são compartilhados entre as
+ * instâncias via script Lua atômico, com recuo para os baldes locais se o Redis falhar.
+ * Métricas: {@code organizo.auth.limite{balde,resultado}} e {@code organizo.auth.limite.chaves{balde}}.
+ */
+@Service
+public class LimiteTaxaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteTaxaService.class);
+
+    /** GCRA em milissegundos com o relógio do próprio Redis (igual para todas as instâncias) */
+    private static final RedisScript<Long> SCRIPT_GCRA = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local agora = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local intervalo = tonumber(ARGV[1])
+            local tolerancia = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or agora)
+            if tat < agora then tat = agora end
+            local excesso = tat - agora - tolerancia
+            if excesso > 0 then return excesso end
+            redis.call('SET', KEYS[1], tat + intervalo, 'PX', tat + intervalo - agora)
+            return 0
+            """, Long.class);
+
+    private final Balde ip;
+    private final Balde email;
+    private final StringRedisTemplate redis;
+    private final AtomicBoolean redisFalhando = new AtomicBoolean();
+
+    public LimiteTaxaService(ObjectProvider<StringRedisTemplate> redisProvider,
+                             MeterRegistry registry,
+                             @Value("${auth.limite.modo:local}") String modo,
+                             @Value("${auth.limite.max-chaves:100000}") long maxChaves,
+                             @Value("${auth.limite.ip.capacidade:20}") int capacidadeIp,
+                             @Value("${auth.limite.ip.periodo:1m}") Duration periodoIp,
+                             @Value("${auth.limite.email.capacidade:5}") int capacidadeEmail,
+                             @Value("${auth.limite.email.periodo:5m}") Duration periodoEmail) {
+        this.redis = "redis".equalsIgnoreCase(modo) ? redisProvider.getIfAvailable() : null;
+        this.ip = new Balde("ip", capacidadeIp, periodoIp, maxChaves, registry);
+        this.email = new Balde("email", capacidadeEmail, periodoEmail, maxChaves, registry);
+    }
+
+    /**
+     * Consome uma tentativa do IP.
+     * @return 0 se permitido; senão, segundos até a próxima tentativa
+     */
+    public long consumirIp(String enderecoIp) {
+        return consumir(ip, enderecoIp);
+    }
+
+    /**
+     * Consome uma tentativa da conta (e-mail normalizado).
+     * @throws LimiteExcedidoException se o limite da conta foi atingido
+     */
+    public void verificarEmail(String enderecoEmail) {
+        if (enderecoEmail == null) {
+            return;
+        }
+        long espera = consumir(email, enderecoEmail.trim().toLowerCase(Locale.ROOT));
+        if (espera > 0) {
+            throw new LimiteExcedidoException(
+                    "Muitas tentativas para esta conta. Tente novamente em " + espera + " segundo(s).", espera);
+        }
+    }
+
+    private long consumir(Balde balde, String chave) {
+        long esperaNanos = redis != null ? consumirNoRedis(balde, chave) : balde.local.tentar(chave);
+        if (esperaNanos > 0) {
+            balde.rejeitadas.increment();
+            // Arredonda para cima: Retry-After é em segundos inteiros
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+        }
+        balde.permitidas.increment();
+        return 0;
+    }
+
+    private long consumirNoRedis(Balde balde, String chave) {
+        try {
+            Long excessoMillis = redis.execute(SCRIPT_GCRA, List.of("limite:" + balde.nome + ":" + chave),
+                    String.valueOf(balde.intervaloMillis), String.valueOf(balde.toleranciaMillis));
+            if (redisFalhando.compareAndSet(true, false)) {
+                logger.info("Redis de volta: limites de autenticação compartilhados novamente");
+            }
+            return excessoMillis == null ? 0 : TimeUnit.MILLISECONDS.toNanos(excessoMillis);
+        } catch (RuntimeException e) {
+            if (redisFalhando.compareAndSet(false, true)) {
+                logger.warn("Redis indisponível para os limites de autenticação, usando baldes locais: {}", e.getMessage());
+            }
+            return balde.local.tentar(chave);
+        }
+    }
+
+    /**
+     * Configuração, baldes locais e métricas de um tipo de limite.
+     */
+    private static final class Balde {
+
+        private final String nome;
+        private final LimitadorGcra local;
+        private final long intervaloMillis;
+        private final long toleranciaMillis;
+        private final Counter permitidas;
+        private final Counter rejeitadas;
+
+        private Balde(String nome, int capacidade, Duration periodo, long maxChaves, MeterRegistry registry) {
+            this.nome = nome;
+            this.local = new LimitadorGcra(capacidade, periodo, maxChaves);
+            this.intervaloMillis = Math.max(1, periodo.toMillis() / capacidade);
+            this.toleranciaMillis = intervaloMillis * (capacidade - 1);
+            this.permitidas = Counter.builder("organizo.auth.limite")
+                    .description("Tentativas nos endpoints de autenticação por balde e resultado")
+                    .tag("balde", nome).tag("resultado", "permitida")
+                    .register(registry);
+            this.rejeitadas = Counter.builder("organizo.auth.limite")
+                    .description("Tentativas nos endpoints de autenticação por balde e resultado")
+                    .tag("balde", nome).tag("resultado", "rejeitada")
+                    .register(registry);
+            Gauge.builder("organizo.auth.limite.chaves", local, LimitadorGcra::chaves)
+                    .description("Chaves com balde local em memória")
+                    .tag("balde", nome)
+                    .register(registry);
+        }
+    }
+}
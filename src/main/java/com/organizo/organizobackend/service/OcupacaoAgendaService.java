@@ -0,0 +1,319 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.model.Agendamento;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.AgendamentoRepository.IntervaloAgendado;
+import com.organizo.organizobackend.util.OcupacaoDia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Motor de ocupação de horários por profissional.
+ * Mantém em memória um bitmap de slots de 5 minutos por profissional e por dia,
+ * montado sob demanda a partir dos agendamentos PENDENTES/CONFIRMADOS e atualizado
+ * em criar/confirmar/cancelar. Dentro da validade ({@code agenda.ocupacao.validade}),
+ * a checagem de conflito não faz nenhuma consulta ao banco.
+ * <p>
+ * Cancelamentos e remarcações feitos em outra instância só chegam a esta quando o dia é
+ * recarregado: por isso o dia vence, e um "ocupado" da memória pode ser confirmado no banco
+ * ({@link #estaLivreNoBanco}) antes de recusar um agendamento. Reservas de transações ainda
+ * abertas não estão no banco e passam para o dia recarregado. A garantia final continua
+ * sendo a chave primária de {@code agendamento_slot}.
+ */
+@Service
+public class OcupacaoAgendaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcupacaoAgendaService.class);
+
+    public static final List<StatusAgendamento> STATUS_OCUPANTES =
+            List.of(StatusAgendamento.PENDENTE, StatusAgendamento.CONFIRMADO);
+
+    private final AgendamentoRepository agRepo;
+    private final long validadeNanos;
+    private final ConcurrentMap<Long, ConcurrentMap<LocalDate, DiaCarregado>> agendas = new ConcurrentHashMap<>();
+    /** Agendamentos reservados por transações ainda não concluídas (ainda fora do banco) */
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public OcupacaoAgendaService(AgendamentoRepository agRepo,
+                                 @Value("${agenda.ocupacao.validade:60s}") Duration validade) {
+        this.agRepo = agRepo;
+        this.validadeNanos = validade.toNanos();
+    }
+
+    /**
+     * Verifica se o profissional está livre em [inicio, inicio + duracaoMinutos).
+     */
+    public boolean estaLivre(Long profissionalId, LocalDateTime inicio, int duracaoMinutos) {
+        return estaLivre(trechos(profissionalId, inicio, duracaoMinutos, false));
+    }
+
+    /**
+     * Como {@link #estaLivre}, mas relê do banco os dias do intervalo antes de checar.
+     * Usado para confirmar um "ocupado" da memória, que pode vir de um cancelamento feito
+     * em outra instância.
+     */
+    public boolean estaLivreNoBanco(Long profissionalId, LocalDateTime inicio, int duracaoMinutos) {
+        return estaLivre(trechos(profissionalId, inicio, duracaoMinutos, true));
+    }
+
+    private static boolean estaLivre(List<Trecho> trechos) {
+        for (Trecho t : trechos) {
+            synchronized (t.ocupacao) {
+                if (!t.ocupacao.estaLivre(t.inicio, t.fim)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ocupa os slots do agendamento de forma atômica (checagem + marcação).
+     * Se a transação corrente sofrer rollback, os slots são devolvidos.
+     * @throws BusinessException se algum slot já estiver ocupado por outro agendamento
+     */
+    public void reservar(Agendamento ag) {
+        List<Trecho> trechos = trechos(ag.getProfissional().getId(), ag.getDataHoraAgendada(), duracao(ag), false);
+        boolean emTransacao = TransactionSynchronizationManager.isSynchronizationActive();
+        if (emTransacao) {
+            emAndamento.add(ag.getId());
+        }
+        if (!ocuparSeLivre(trechos, 0, ag.getId())) {
+            emAndamento.remove(ag.getId());
+            throw new BusinessException("O profissional já possui um agendamento que conflita com este horário.");
+        }
+        if (emTransacao) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Após o commit o agendamento já está no banco: uma recarga o encontra lá
+                    emAndamento.remove(ag.getId());
+                    if (status != STATUS_COMMITTED) {
+                        remover(trechos, ag.getId());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Garante que o agendamento esteja registrado, sem checar conflito (idempotente).
+     */
+    public void registrar(Agendamento ag) {
+        for (Trecho t : trechos(ag.getProfissional().getId(), ag.getDataHoraAgendada(), duracao(ag), false)) {
+            synchronized (t.ocupacao) {
+                if (!t.ocupacao.contem(ag.getId())) {
+                    t.ocupacao.ocupar(ag.getId(), t.inicio, t.fim);
+                }
+            }
+        }
+    }
+
+    /**
+     * Libera os slots do agendamento. Dentro de uma transação, só libera após o commit.
+     */
+    public void liberar(Agendamento ag) {
+        Long profissionalId = ag.getProfissional().getId();
+        LocalDateTime inicio = ag.getDataHoraAgendada();
+        int duracao = duracao(ag);
+        Runnable liberacao = () -> remover(trechosCarregados(profissionalId, inicio, duracao), ag.getId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    liberacao.run();
+                }
+            });
+        } else {
+            liberacao.run();
+        }
+    }
+
+    /**
+     * Cópia do bitmap de ocupação do profissional no dia (bit = 1 significa ocupado).
+     */
+    public long[] ocupacaoDoDia(Long profissionalId, LocalDate dia) {
+        OcupacaoDia ocupacao = dia(profissionalId, dia, false);
+        synchronized (ocupacao) {
+            return ocupacao.palavras();
+        }
+    }
+
+    /**
+     * Descarta diariamente os mapas de dias que já passaram.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void descartarDiasPassados() {
+        LocalDate hoje = LocalDate.now();
+        agendas.values().forEach(dias -> dias.keySet().removeIf(dia -> dia.isBefore(hoje)));
+        agendas.values().removeIf(ConcurrentMap::isEmpty);
+        logger.info("Mapas de ocupação anteriores a {} descartados", hoje);
+    }
+
+    // ===== Auxiliares =====
+
+    private boolean ocuparSeLivre(List<Trecho> trechos, int i, Long agendamentoId) {
+        if (i == trechos.size()) {
+            trechos.forEach(t -> t.ocupacao.ocupar(agendamentoId, t.inicio, t.fim));
+            return true;
+        }
+        // Trava os dias em ordem cronológica (trechos já vêm ordenados), evitando deadlock
+        Trecho t = trechos.get(i);
+        synchronized (t.ocupacao) {
+            if (!t.ocupacao.contem(agendamentoId) && !t.ocupacao.estaLivre(t.inicio, t.fim)) {
+                return false;
+            }
+            return ocuparSeLivre(trechos, i + 1, agendamentoId);
+        }
+    }
+
+    private void remover(List<Trecho> trechos, Long agendamentoId) {
+        for (Trecho t : trechos) {
+            synchronized (t.ocupacao) {
+                t.ocupacao.liberar(agendamentoId);
+            }
+        }
+    }
+
+    private List<Trecho> trechos(Long profissionalId, LocalDateTime inicio, int duracaoMinutos, boolean recarregar) {
+        List<Trecho> trechos = new ArrayList<>(2);
+        percorrer(inicio, duracaoMinutos, (dia, ini, fim) ->
+                trechos.add(new Trecho(dia(profissionalId, dia, recarregar), ini, fim)));
+        return trechos;
+    }
+
+    /**
+     * Como {@link #trechos}, mas ignora dias ainda não carregados (nada a liberar neles).
+     */
+    private List<Trecho> trechosCarregados(Long profissionalId, LocalDateTime inicio, int duracaoMinutos) {
+        ConcurrentMap<LocalDate, DiaCarregado> dias = agendas.get(profissionalId);
+        List<Trecho> trechos = new ArrayList<>(2);
+        if (dias != null) {
+            percorrer(inicio, duracaoMinutos, (dia, ini, fim) -> {
+                DiaCarregado carregado = dias.get(dia);
+                if (carregado != null) {
+                    trechos.add(new Trecho(carregado.ocupacao(), ini, fim));
+                }
+            });
+        }
+        return trechos;
+    }
+
+    /**
+     * Quebra o intervalo em trechos de slots por dia (um agendamento pode virar a meia-noite).
+     */
+    private static void percorrer(LocalDateTime inicio, int duracaoMinutos, VisitanteTrecho visitante) {
+        LocalDate dia = inicio.toLocalDate();
+        int minutoInicial = inicio.getHour() * 60 + inicio.getMinute();
+        int slotInicial = minutoInicial / OcupacaoDia.MINUTOS_POR_SLOT;
+        int slotFinal = (minutoInicial + duracaoMinutos + OcupacaoDia.MINUTOS_POR_SLOT - 1) / OcupacaoDia.MINUTOS_POR_SLOT;
+
+        while (slotFinal > 0) {
+            visitante.visitar(dia, slotInicial, Math.min(slotFinal, OcupacaoDia.SLOTS_POR_DIA));
+            slotInicial = 0;
+            slotFinal -= OcupacaoDia.SLOTS_POR_DIA;
+            dia = dia.plusDays(1);
+        }
+    }
+
+    /**
+     * Mapa do dia, carregado do banco no primeiro acesso, depois de vencido ou quando pedido.
+     */
+    private OcupacaoDia dia(Long profissionalId, LocalDate dia, boolean recarregar) {
+        ConcurrentMap<LocalDate, DiaCarregado> dias = agendas.computeIfAbsent(profissionalId, id -> new ConcurrentHashMap<>());
+        DiaCarregado existente = dias.get(dia);
+        if (existente != null && !recarregar && System.nanoTime() - existente.carregadoEm() < validadeNanos) {
+            return existente.ocupacao();
+        }
+        // Carrega fora do lock do mapa; em caso de corrida, prevalece a primeira instância publicada
+        DiaCarregado novo = new DiaCarregado(carregar(profissionalId, dia), System.nanoTime());
+        if (existente == null) {
+            DiaCarregado anterior = dias.putIfAbsent(dia, novo);
+            return (anterior != null ? anterior : novo).ocupacao();
+        }
+        manterEmAndamento(existente.ocupacao(), novo.ocupacao());
+        if (dias.replace(dia, existente, novo)) {
+            return novo.ocupacao();
+        }
+        DiaCarregado atual = dias.get(dia);
+        return (atual != null ? atual : novo).ocupacao();
+    }
+
+    /**
+     * Copia para o dia recarregado as reservas de transações ainda abertas (que o banco não mostra).
+     */
+    private void manterEmAndamento(OcupacaoDia anterior, OcupacaoDia novo) {
+        if (emAndamento.isEmpty()) {
+            return;
+        }
+        synchronized (anterior) {
+            for (Long id : emAndamento) {
+                int[] intervalo = anterior.intervalo(id);
+                if (intervalo != null) {
+                    novo.ocupar(id, intervalo[0], intervalo[1]);
+                }
+            }
+        }
+    }
+
+    private OcupacaoDia carregar(Long profissionalId, LocalDate dia) {
+        OcupacaoDia ocupacao = new OcupacaoDia();
+        // Inclui o dia anterior para capturar agendamentos que atravessam a meia-noite
+        List<IntervaloAgendado> intervalos = agRepo.findIntervalosDoProfissional(
+                profissionalId, STATUS_OCUPANTES,
+                dia.minusDays(1).atStartOfDay(), dia.plusDays(1).atStartOfDay());
+
+        for (IntervaloAgendado i : intervalos) {
+            percorrer(i.getInicio(), Math.max(1, i.getDuracaoMinutos()), (d, ini, fim) -> {
+                if (d.equals(dia)) {
+                    ocupacao.ocupar(i.getId(), ini, fim);
+                }
+            });
+        }
+        logger.debug("Ocupação do profissional {} em {} carregada ({} agendamentos)", profissionalId, dia, intervalos.size());
+        return ocupacao;
+    }
+
+    private static int duracao(Agendamento ag) {
+        Integer minutos = ag.getServico().getDuracaoMinutos();
+        return minutos == null ? 1 : Math.max(1, minutos);
+    }
+
+    private record DiaCarregado(OcupacaoDia ocupacao, long carregadoEm) { }
+
+    @FunctionalInterface
+    private interface VisitanteTrecho {
+        void visitar(LocalDate dia, int slotInicial, int slotFinal);
+    }
+
+    private static final class Trecho {
+        final OcupacaoDia ocupacao;
+        final int inicio;
+        final int fim;
+
+        Trecho(OcupacaoDia ocupacao, int inicio, int fim) {
+            this.ocupacao = ocupacao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+}
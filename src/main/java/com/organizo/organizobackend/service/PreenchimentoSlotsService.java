@@ -0,0 +1,118 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.model.AgendamentoSlot;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.AgendamentoRepository.IntervaloSemSlots;
+import com.organizo.organizobackend.repository.AgendamentoSlotRepository;
+import com.organizo.organizobackend.util.OcupacaoDia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Grava os buckets ({@code agendamento_slot}) dos agendamentos criados antes de a tabela existir.
+ * <p>
+ * Sem eles, a chave primária de {@code agendamento_slot} não barra um agendamento novo que se
+ * sobreponha a um antigo quando a ocupação em memória da instância não o conhece. Roda na
+ * subida, em uma instância por vez (lease {@value #LEASE}); depois da primeira passada a
+ * consulta não acha mais nada. Só entram agendamentos ativos ({@code PENDENTE}/{@code CONFIRMADO})
+ * que ainda não terminaram; os passados não podem mais conflitar com um novo.
+ * <p>
+ * Agendamentos antigos que já se sobrepunham a outros (gravados antes da garantia no banco)
+ * não recebem buckets: aparecem no log a cada subida, até serem revistos.
+ */
+@Service
+public class PreenchimentoSlotsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreenchimentoSlotsService.class);
+
+    static final String LEASE = "preenchimento-slots";
+    private static final Duration DURACAO_LEASE = Duration.ofMinutes(30);
+    private static final int PAGINA = 500;
+    // Agendamentos em andamento ainda ocupam o restante do horário
+    private static final Duration MAIOR_DURACAO = Duration.ofDays(1);
+
+    private final AgendamentoRepository agRepo;
+    private final AgendamentoSlotRepository slotRepo;
+    private final LeaseService leases;
+    private final TransactionTemplate tx;
+
+    public PreenchimentoSlotsService(AgendamentoRepository agRepo,
+                                     AgendamentoSlotRepository slotRepo,
+                                     LeaseService leases,
+                                     PlatformTransactionManager txManager) {
+        this.agRepo = agRepo;
+        this.slotRepo = slotRepo;
+        this.leases = leases;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * Preenche os buckets que faltam.
+     * @return quantidade de agendamentos que receberam buckets (0 se a lease está com outra instância)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int preencher() {
+        if (!leases.adquirir(LEASE, DURACAO_LEASE)) {
+            logger.debug("Lease '{}' está com outra instância; preenchimento ignorado", LEASE);
+            return 0;
+        }
+        LocalDateTime aPartirDe = LocalDateTime.now().minus(MAIOR_DURACAO);
+        long aposId = 0;
+        int preenchidos = 0;
+        int conflitos = 0;
+        while (true) {
+            List<IntervaloSemSlots> pagina = agRepo.findSemSlots(OcupacaoAgendaService.STATUS_OCUPANTES,
+                    aPartirDe, aposId, PageRequest.of(0, PAGINA));
+            for (IntervaloSemSlots ag : pagina) {
+                try {
+                    if (ocupar(ag)) {
+                        preenchidos++;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    conflitos++;
+                    logger.warn("Agendamento {} se sobrepõe a outro do profissional {} em {}; buckets não gravados",
+                            ag.getId(), ag.getProfissionalId(), ag.getInicio());
+                }
+            }
+            if (pagina.size() < PAGINA) {
+                break;
+            }
+            aposId = pagina.get(pagina.size() - 1).getId();
+        }
+        if (preenchidos > 0 || conflitos > 0) {
+            logger.info("Buckets gravados para {} agendamento(s) antigo(s); {} com sobreposição", preenchidos, conflitos);
+        }
+        return preenchidos;
+    }
+
+    /**
+     * Grava os buckets de um agendamento, se ele continuar ativo.
+     */
+    private boolean ocupar(IntervaloSemSlots ag) {
+        Boolean gravado = tx.execute(status -> {
+            // Trava o agendamento: um cancelamento concorrente só apaga os buckets depois deste commit
+            boolean ativo = agRepo.findStatusComTrava(ag.getId())
+                    .filter(OcupacaoAgendaService.STATUS_OCUPANTES::contains)
+                    .isPresent();
+            if (!ativo) {
+                return false;
+            }
+            slotRepo.saveAllAndFlush(OcupacaoDia.buckets(ag.getInicio(), ag.getDuracaoMinutos()).stream()
+                    .map(inicio -> new AgendamentoSlot(ag.getProfissionalId(), inicio, ag.getId()))
+                    .toList());
+            return true;
+        });
+        return Boolean.TRUE.equals(gravado);
+    }
+}
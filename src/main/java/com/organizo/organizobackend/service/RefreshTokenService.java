@@ -0,0 +1,121 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.exception.TokenInvalidoException;
+import com.organizo.organizobackend.model.RefreshToken;
+import com.organizo.organizobackend.model.Usuario;
+import com.organizo.organizobackend.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ * <p>
+ * Renovar a sessão custa uma busca pelo índice único do hash e um UPDATE condicional,
+ * em vez de uma verificação BCrypt da senha. O token é de uso único: a troca o marca como
+ * usado e devolve o próximo da família; se um token já usado voltar a aparecer, a família
+ * é revogada e o usuário precisa fazer login de novo.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int BYTES_TOKEN = 32;
+    private static final String INVALIDO = "Refresh token inválido ou expirado.";
+
+    private final RefreshTokenRepository repo;
+    private final TransactionTemplate tx;
+    private final Duration validade;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository repo,
+                               PlatformTransactionManager txManager,
+                               @Value("${jwt.refresh.validade:14d}") Duration validade) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+        this.validade = validade;
+    }
+
+    /**
+     * Abre uma nova família (login ou registro) e devolve o primeiro token, em claro.
+     */
+    public String emitir(Usuario usuario) {
+        return tx.execute(status -> gravarNovo(usuario, UUID.randomUUID().toString(), LocalDateTime.now()));
+    }
+
+    /**
+     * Troca o token pelo próximo da família.
+     * @throws TokenInvalidoException se o token for desconhecido, expirado, revogado ou reutilizado
+     */
+    public Renovacao renovar(String token) {
+        LocalDateTime agora = LocalDateTime.now();
+        RefreshToken atual = repo.findByHashComUsuario(hash(token))
+                .orElseThrow(() -> new TokenInvalidoException(INVALIDO));
+        if (!atual.getExpiraEm().isAfter(agora)) {
+            throw new TokenInvalidoException(INVALIDO);
+        }
+
+        String proximo = tx.execute(status -> {
+            if (repo.marcarUsado(atual.getId(), agora) == 0) {
+                return null;
+            }
+            return gravarNovo(atual.getUsuario(), atual.getFamilia(), agora);
+        });
+        if (proximo == null) {
+            // Já usado (ou revogado): alguém está com uma cópia do token. Derruba a família toda.
+            tx.executeWithoutResult(status -> repo.revogarFamilia(atual.getFamilia(), agora));
+            logger.warn("Reuso de refresh token detectado (usuário {}, família {}): família revogada",
+                    atual.getUsuario().getId(), atual.getFamilia());
+            throw new TokenInvalidoException(INVALIDO);
+        }
+        return new Renovacao(atual.getUsuario(), proximo);
+    }
+
+    /**
+     * Remove periodicamente os tokens vencidos.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.limpeza-ms:3600000}",
+            initialDelayString = "${jwt.refresh.limpeza-ms:3600000}")
+    public void limparExpirados() {
+        Integer removidos = tx.execute(status -> repo.deleteExpiradosAntesDe(LocalDateTime.now()));
+        if (removidos != null && removidos > 0) {
+            logger.debug("{} refresh token(s) expirado(s) removido(s)", removidos);
+        }
+    }
+
+    private String gravarNovo(Usuario usuario, String familia, LocalDateTime agora) {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        repo.save(new RefreshToken(hash(token), familia, usuario, agora, agora.plus(validade)));
+        return token;
+    }
+
+    /** Tokens têm 256 bits aleatórios: SHA-256 sem sal basta para não expor o valor em claro. */
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Resultado de uma renovação: dono da sessão e o novo refresh token em claro.
+     */
+    public record Renovacao(Usuario usuario, String refreshToken) { }
+}
@@ -1,7 +1,7 @@
 package com.organizo.organizobackend.service;
 
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.dto.SalaoDTO;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 
@@ -12,10 +12,10 @@ import org.springframework.data.domain.Pageable;
 public interface SalaoService {
 
     /**
-     * Retorna uma página de serviços cadastrados.
+     * Retorna uma página de salões cadastrados.
      * @param pageable parâmetros de paginação e ordenação
      */
-    Page<SalaoDTO> listar(Pageable pageable);
+    PaginatedResponse<SalaoDTO> listar(Pageable pageable);
 
     /**
      * Busca um salão pelo seu ID.
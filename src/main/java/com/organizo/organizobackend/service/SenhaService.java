@@ -0,0 +1,151 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hashing e verificação de senhas (BCrypt) num pool dedicado e limitado.
+ * <p>
+ * O BCrypt é deliberadamente caro em CPU; rodando direto nas threads do Tomcat, um pico de
+ * logins consumia todos os núcleos e atrasava os demais endpoints. Aqui no máximo
+ * {@code senha.hash.threads} hashes rodam ao mesmo tempo, com fila de {@code senha.hash.fila};
+ * além disso o pedido é recusado na hora com {@link ServicoSobrecarregadoException} (503)
+ * em vez de acumular espera. Métricas: {@code executor.*{name=senha.hash}},
+ * {@code organizo.senha.hash} (por operação) e {@code organizo.senha.rejeitadas}.
+ */
+@Service
+public class SenhaService {
+
+    /** Custo gravado no hash: $2a$10$..., $2b$12$... */
+    private static final Pattern CUSTO = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final int forca;
+    private final Duration esperaMaxima;
+    private final ThreadPoolExecutor pool;
+    private final Timer tempoCodificar;
+    private final Timer tempoConferir;
+    private final Counter rejeitadas;
+
+    public SenhaService(BCryptPasswordEncoder encoder,
+                        MeterRegistry registry,
+                        @Value("${senha.bcrypt.forca:10}") int forca,
+                        @Value("${senha.hash.threads:0}") int threads,
+                        @Value("${senha.hash.fila:64}") int fila,
+                        @Value("${senha.hash.espera-maxima:5s}") Duration esperaMaxima) {
+        this.encoder = encoder;
+        this.forca = forca;
+        this.esperaMaxima = esperaMaxima;
+        // 0 = um hash por núcleo disponível
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(tamanho, tamanho, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), nomeadas("senha-hash"), new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+
+        new ExecutorServiceMetrics(pool, "senha.hash", List.of()).bindTo(registry);
+        this.tempoCodificar = Timer.builder("organizo.senha.hash")
+                .description("Tempo de hashing/verificação de senha, incluindo a espera na fila")
+                .tag("operacao", "codificar")
+                .register(registry);
+        this.tempoConferir = Timer.builder("organizo.senha.hash")
+                .description("Tempo de hashing/verificação de senha, incluindo a espera na fila")
+                .tag("operacao", "conferir")
+                .register(registry);
+        this.rejeitadas = Counter.builder("organizo.senha.rejeitadas")
+                .description("Pedidos de hashing recusados por pool saturado")
+                .register(registry);
+    }
+
+    /**
+     * Gera o hash BCrypt da senha com a força configurada.
+     */
+    public String codificar(String senha) {
+        return tempoCodificar.record(() -> executar(() -> encoder.encode(senha)));
+    }
+
+    /**
+     * Confere a senha com o hash armazenado.
+     */
+    public boolean confere(String senha, String hash) {
+        Boolean ok = tempoConferir.record(() -> executar(() -> encoder.matches(senha, hash)));
+        return Boolean.TRUE.equals(ok);
+    }
+
+    /**
+     * Indica se o hash foi gerado com força diferente da configurada (para cima ou para baixo)
+     * e deve ser refeito no próximo login bem-sucedido.
+     */
+    public boolean precisaRehash(String hash) {
+        if (hash == null) {
+            return false;
+        }
+        Matcher m = CUSTO.matcher(hash);
+        return m.find() && Integer.parseInt(m.group(1)) != forca;
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = pool.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw sobrecarregado();
+        }
+        try {
+            return futuro.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw sobrecarregado();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServicoSobrecarregadoException sobrecarregado() {
+        rejeitadas.increment();
+        return new ServicoSobrecarregadoException(
+                "Servidor ocupado processando autenticações. Tente novamente em instantes.", 1);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private static ThreadFactory nomeadas(String prefixo) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefixo + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.organizo.organizobackend.service;
 
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.dto.ServicoDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,7 +17,7 @@ public interface ServicoService {
     Page<ServicoDTO> listar(Pageable pageable);
 
     // lista serviços de um salão específico
-    Page<ServicoDTO> listarPorSalao(Long salaoId, Pageable pageable);
+    PaginatedResponse<ServicoDTO> listarPorSalao(Long salaoId, Pageable pageable);
 
     ServicoDTO buscarPorId(Long id);
 
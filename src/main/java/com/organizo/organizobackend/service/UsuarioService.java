@@ -2,6 +2,7 @@ package com.organizo.organizobackend.service;
 
 import com.organizo.organizobackend.dto.AuthResponse;
 import com.organizo.organizobackend.dto.LoginRequest;
+import com.organizo.organizobackend.dto.RefreshRequest;
 import com.organizo.organizobackend.dto.RegistroRequest;
 
 /**
@@ -18,4 +19,9 @@ public interface UsuarioService {
      * Autentica usuário existente e retorna JWT.
      */
     AuthResponse autenticar(LoginRequest dto);
+
+    /**
+     * Troca um refresh token válido por um novo JWT e um novo refresh token.
+     */
+    AuthResponse renovar(RefreshRequest dto);
 }
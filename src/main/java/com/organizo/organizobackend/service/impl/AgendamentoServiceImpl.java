@@ -1,29 +1,44 @@
 package com.organizo.organizobackend.service.impl;
 
 import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.dto.CursorPaginatedResponse;
 import com.organizo.organizobackend.enums.StatusAgendamento;
 import com.organizo.organizobackend.exception.BusinessException;
 import com.organizo.organizobackend.exception.ResourceNotFoundException;
 import com.organizo.organizobackend.model.Agendamento;
+import com.organizo.organizobackend.model.AgendamentoSlot;
 import com.organizo.organizobackend.model.Cliente;
 import com.organizo.organizobackend.model.Profissional;
 import com.organizo.organizobackend.model.Servico;
 import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.AgendamentoSlotRepository;
 import com.organizo.organizobackend.repository.ClienteRepository;
 import com.organizo.organizobackend.repository.ProfissionalRepository;
 import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.service.AgendadorLembretes;
 import com.organizo.organizobackend.service.AgendamentoService;
-import com.organizo.organizobackend.service.EmailService;
+import com.organizo.organizobackend.service.EmailOutboxService;
+import com.organizo.organizobackend.service.OcupacaoAgendaService;
+import com.organizo.organizobackend.util.CursorAgendamento;
+import com.organizo.organizobackend.util.OcupacaoDia;
+import com.organizo.organizobackend.util.TravasPorChave;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementação da lógica de negócio para Agendamento,
@@ -34,18 +49,27 @@ public class AgendamentoServiceImpl implements AgendamentoService {
 
     private static final Logger logger = LoggerFactory.getLogger(AgendamentoServiceImpl.class);
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm");
+    private static final long ESPERA_TRAVA_SEGUNDOS = 5;
+    private static final int MAX_LIMITE_CURSOR = 100;
 
     @Autowired private AgendamentoRepository agRepo;
     @Autowired private ClienteRepository clienteRepo;
     @Autowired private ProfissionalRepository profRepo;
     @Autowired private ServicoRepository servRepo;
-    @Autowired private EmailService emailService;
+    @Autowired private EmailOutboxService emailOutbox;
+    @Autowired private OcupacaoAgendaService ocupacao;
+    @Autowired private AgendamentoSlotRepository slotRepo;
+    // Ausente quando agenda.lembretes.modo=polling
+    @Autowired private ObjectProvider<AgendadorLembretes> agendadorLembretes;
+
+    // Uma trava por profissional: criações para profissionais diferentes nunca disputam
+    private final TravasPorChave<Long> travasProfissional = new TravasPorChave<>();
 
     @Override
     @Transactional(readOnly = true)
     public Page<AgendamentoDTO> listar(Pageable pageable) {
-        return agRepo.findAll(pageable)
-                .map(this::toDTO);
+        // Projeção direta em DTO: um SELECT com JOIN por página (mais o COUNT)
+        return agRepo.findResumos(pageable);
     }
 
     @Override
@@ -54,8 +78,7 @@ public class AgendamentoServiceImpl implements AgendamentoService {
         if (!clienteRepo.existsById(clienteId)) {
             throw new ResourceNotFoundException("Cliente", "ID", clienteId);
         }
-        return agRepo.findByClienteId(clienteId, pageable)
-                .map(this::toDTO);
+        return agRepo.findResumosPorCliente(clienteId, pageable);
     }
 
     @Override
@@ -64,8 +87,38 @@ public class AgendamentoServiceImpl implements AgendamentoService {
         if (!profRepo.existsById(profissionalId)) {
             throw new ResourceNotFoundException("Profissional", "ID", profissionalId);
         }
-        return agRepo.findByProfissionalId(profissionalId, pageable)
-                .map(this::toDTO);
+        return agRepo.findResumosPorProfissional(profissionalId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<AgendamentoDTO> listarPorClienteComCursor(Long clienteId, String cursor, int limite) {
+        validarLimite(limite);
+        CursorAgendamento pos = CursorAgendamento.decodificar(cursor);
+        if (!clienteRepo.existsById(clienteId)) {
+            throw new ResourceNotFoundException("Cliente", "ID", clienteId);
+        }
+        // Busca um item a mais só para saber se existe próxima página
+        Pageable janela = PageRequest.of(0, limite + 1);
+        List<AgendamentoDTO> itens = pos == null
+                ? agRepo.findPrimeirosPorCliente(clienteId, janela)
+                : agRepo.findProximosPorCliente(clienteId, pos.getDataHora(), pos.getId(), janela);
+        return paginaPorCursor(itens, limite);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<AgendamentoDTO> listarPorProfissionalComCursor(Long profissionalId, String cursor, int limite) {
+        validarLimite(limite);
+        CursorAgendamento pos = CursorAgendamento.decodificar(cursor);
+        if (!profRepo.existsById(profissionalId)) {
+            throw new ResourceNotFoundException("Profissional", "ID", profissionalId);
+        }
+        Pageable janela = PageRequest.of(0, limite + 1);
+        List<AgendamentoDTO> itens = pos == null
+                ? agRepo.findPrimeirosPorProfissional(profissionalId, janela)
+                : agRepo.findProximosPorProfissional(profissionalId, pos.getDataHora(), pos.getId(), janela);
+        return paginaPorCursor(itens, limite);
     }
 
     @Override
@@ -82,7 +135,15 @@ public class AgendamentoServiceImpl implements AgendamentoService {
         Servico serv = servRepo.findById(dto.getServicoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Serviço", "ID", dto.getServicoId()));
 
-        // TODO: Adicionar validação de conflito de horário para o profissional
+        // Serializa as criações do mesmo profissional até o fim (commit/rollback) da transação
+        travarProfissionalAteFimDaTransacao(prof.getId());
+
+        // Pré-checagem em memória para não gastar um INSERT em horário já ocupado; a memória pode
+        // não ter visto um cancelamento feito em outra instância, então o "ocupado" é confirmado no banco
+        if (!ocupacao.estaLivre(prof.getId(), dto.getDataHoraAgendada(), serv.getDuracaoMinutos())
+                && !ocupacao.estaLivreNoBanco(prof.getId(), dto.getDataHoraAgendada(), serv.getDuracaoMinutos())) {
+            throw new BusinessException("O profissional já possui um agendamento que conflita com este horário.");
+        }
 
         Agendamento ag = new Agendamento();
         ag.setCliente(cliente);
@@ -92,8 +153,12 @@ public class AgendamentoServiceImpl implements AgendamentoService {
         ag.setStatus(StatusAgendamento.PENDENTE);
 
         Agendamento salvo = agRepo.save(ag);
+        // Checagem + marcação atômica; em caso de rollback os slots são devolvidos
+        ocupacao.reservar(salvo);
+        // Garantia no banco, válida também entre instâncias da aplicação
+        ocuparBuckets(salvo);
 
-        // Envio de e‑mail ao cliente e profissional
+        // E‑mails ao cliente e profissional: gravados na transação, enviados após o commit
         sendEmail(
                 cliente.getEmail(),
                 "Organizo - Agendamento Criado (Pendente)",
@@ -126,6 +191,8 @@ public class AgendamentoServiceImpl implements AgendamentoService {
 
         ag.setStatus(StatusAgendamento.CONFIRMADO);
         Agendamento salvo = agRepo.save(ag);
+        ocupacao.registrar(salvo);
+        agendadorLembretes.ifAvailable(a -> a.agendar(salvo.getId(), salvo.getDataHoraAgendada()));
 
         // Enviar email de confirmação
         Cliente cliente = salvo.getCliente();
@@ -166,6 +233,9 @@ public class AgendamentoServiceImpl implements AgendamentoService {
 
         ag.setStatus(StatusAgendamento.CANCELADO);
         Agendamento salvo = agRepo.save(ag);
+        slotRepo.deleteByAgendamentoId(salvo.getId());
+        ocupacao.liberar(salvo);
+        agendadorLembretes.ifAvailable(a -> a.cancelar(salvo.getId()));
 
         // Enviar email de cancelamento
         Cliente cliente = salvo.getCliente();
@@ -193,18 +263,75 @@ public class AgendamentoServiceImpl implements AgendamentoService {
     }
 
     /**
-     * Método auxiliar para enviar e-mail e logar erros.
+     * Adquire a trava do profissional e agenda sua liberação para o fim da transação,
+     * de modo que a checagem, o INSERT e o commit aconteçam sem concorrência.
      */
-    private void sendEmail(String to, String subject, String text, Long agendamentoId) {
+    private void travarProfissionalAteFimDaTransacao(Long profissionalId) {
+        Runnable liberar;
+        try {
+            liberar = travasProfissional.travar(profissionalId, ESPERA_TRAVA_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (IllegalStateException e) {
+            throw new BusinessException("Há outro agendamento em processamento para este profissional. Tente novamente.");
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            liberar.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar.run();
+            }
+        });
+    }
+
+    /**
+     * Insere os buckets de 5 minutos do agendamento; a chave primária
+     * (profissional, início) rejeita qualquer sobreposição.
+     */
+    private void ocuparBuckets(Agendamento ag) {
+        Long profissionalId = ag.getProfissional().getId();
+        List<AgendamentoSlot> slots = OcupacaoDia.buckets(ag.getDataHoraAgendada(), ag.getServico().getDuracaoMinutos())
+                .stream()
+                .map(inicio -> new AgendamentoSlot(profissionalId, inicio, ag.getId()))
+                .toList();
         try {
-            emailService.sendSimpleMessage(to, subject, text);
-            logger.info("Email enviado para {} sobre agendamento {}", to, agendamentoId);
-        } catch (Exception e) {
-            logger.error("Falha ao enviar email para {} sobre agendamento {}: {}", to, agendamentoId, e.getMessage(), e);
-            // Não relançar a exceção para não impedir a operação principal
+            slotRepo.saveAllAndFlush(slots);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Conflito de horário detectado no banco para o profissional {} em {}", profissionalId, ag.getDataHoraAgendada());
+            throw new BusinessException("O profissional já possui um agendamento que conflita com este horário.", e);
         }
     }
 
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > MAX_LIMITE_CURSOR) {
+            throw new BusinessException("O limite deve estar entre 1 e " + MAX_LIMITE_CURSOR + ".");
+        }
+    }
+
+    /**
+     * Corta a janela (limite + 1) no tamanho pedido e gera o cursor a partir do último item.
+     */
+    private CursorPaginatedResponse<AgendamentoDTO> paginaPorCursor(List<AgendamentoDTO> itens, int limite) {
+        boolean temProxima = itens.size() > limite;
+        List<AgendamentoDTO> pagina = temProxima ? itens.subList(0, limite) : itens;
+        String proximo = null;
+        if (temProxima) {
+            AgendamentoDTO ultimo = pagina.get(pagina.size() - 1);
+            proximo = new CursorAgendamento(ultimo.getDataHoraAgendada(), ultimo.getId()).codificar();
+        }
+        return new CursorPaginatedResponse<>(pagina, proximo, limite);
+    }
+
+    /**
+     * Método auxiliar que enfileira o e-mail na caixa de saída (email_outbox).
+     * O envio SMTP acontece fora da transação, sem segurar a conexão com o banco.
+     */
+    private void sendEmail(String to, String subject, String text, Long agendamentoId) {
+        emailOutbox.enfileirar(to, subject, text);
+        logger.debug("Email para {} sobre agendamento {} enfileirado", to, agendamentoId);
+    }
+
     /**
      * Converte entidade em DTO para resposta.
      */
@@ -1,16 +1,16 @@
 package com.organizo.organizobackend.service.impl;
 
 import com.organizo.organizobackend.dto.ClienteDTO;
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.exception.ResourceNotFoundException;
 import com.organizo.organizobackend.mapper.ClienteMapper;
 import com.organizo.organizobackend.model.Cliente;
 import com.organizo.organizobackend.repository.ClienteRepository;
 import com.organizo.organizobackend.service.ClienteService;
+import com.organizo.organizobackend.service.DecisoesAutorizacao;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,23 +27,26 @@ public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository repo;
     private final ClienteMapper mapper;
+    private final DecisoesAutorizacao decisoes;
 
     /**
      * Lista clientes paginados com cache.
+     * A chave inclui a geração de 'clientes', avançada a cada criação ou exclusão.
      */
     @Override
+    @Cacheable(value = "paginas-clientes", key = "@geracoesCache.chave('clientes', #pageable)", sync = true)
     @Transactional(readOnly = true)
-    public Page<ClienteDTO> listar(Pageable pageable) {
+    public PaginatedResponse<ClienteDTO> listar(Pageable pageable) {
         log.info("Listando clientes com paginação: {}", pageable);
-        return repo.findAll(pageable)
-                .map(mapper::toDto); // Mantido 'toDto' para consistência com seu mapper
+        return PaginatedResponse.de(repo.findAll(pageable)
+                .map(mapper::toDto)); // Mantido 'toDto' para consistência com seu mapper
     }
 
     /**
      * Busca cliente por ID e armazena em cache.
      */
     @Override
-    @Cacheable(value = "clientes", key = "#id")
+    @Cacheable(value = "clientes", key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ClienteDTO buscarPorId(Long id) {
         log.info("Buscando cliente com ID: {}. Verificando cache primeiro.", id);
@@ -58,24 +61,22 @@ public class ClienteServiceImpl implements ClienteService {
     }
 
     /**
-     * Cria novo cliente e limpa cache de lista.
+     * Cria novo cliente. O cache é atualizado após o commit (SincronizacaoCacheEntidades).
      */
     @Override
-    @CacheEvict(value = "clientes", allEntries = true)
     public ClienteDTO criar(ClienteDTO dto) {
         log.info("Iniciando criação de novo cliente com email: {}", dto.getEmail());
         Cliente c = mapper.toEntity(dto);
         // Aqui você pode adicionar lógicas como encriptar a senha antes de salvar
         Cliente salvo = repo.save(c);
-        log.info("Cliente criado com sucesso com ID: {}. Cache 'clientes' invalidado.", salvo.getId());
+        log.info("Cliente criado com sucesso com ID: {}.", salvo.getId());
         return mapper.toDto(salvo);
     }
 
     /**
-     * Deleta cliente por ID e limpa cache.
+     * Deleta cliente por ID. A remoção do cache acontece após o commit (SincronizacaoCacheEntidades).
      */
     @Override
-    @CacheEvict(value = "clientes", allEntries = true)
     public void deletar(Long id) {
         log.info("Iniciando exclusão do cliente com ID: {}", id);
         if (!repo.existsById(id)) {
@@ -83,6 +84,7 @@ public class ClienteServiceImpl implements ClienteService {
             throw new ResourceNotFoundException("Cliente não encontrado para exclusão: " + id);
         }
         repo.deleteById(id);
-        log.info("Cliente com ID: {} deletado com sucesso. Cache 'clientes' invalidado.", id);
+        decisoes.clienteAlterado(id);
+        log.info("Cliente com ID: {} deletado com sucesso.", id);
     }
 }
\ No newline at end of file
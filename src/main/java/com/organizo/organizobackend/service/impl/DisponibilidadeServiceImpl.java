@@ -0,0 +1,154 @@
+package com.organizo.organizobackend.service.impl;
+
+import com.organizo.organizobackend.dto.HorarioDisponivelDTO;
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.exception.ResourceNotFoundException;
+import com.organizo.organizobackend.model.Servico;
+import com.organizo.organizobackend.repository.ProfissionalRepository;
+import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.service.DisponibilidadeService;
+import com.organizo.organizobackend.service.OcupacaoAgendaService;
+import com.organizo.organizobackend.util.OcupacaoDia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de horários livres a partir do mapa de ocupação em memória.
+ * Para cada dia, os bitmaps dos profissionais são combinados palavra a palavra
+ * (AND com o expediente e a janela pedida, OR entre profissionais), de modo que uma
+ * única chamada substitui as tentativas de POST horário a horário feitas pelo frontend.
+ */
+@Service
+public class DisponibilidadeServiceImpl implements DisponibilidadeService {
+
+    private static final int MAX_LIMITE = 100;
+    private static final int MAX_DIAS = 31;
+
+    private final ServicoRepository servRepo;
+    private final ProfissionalRepository profRepo;
+    private final OcupacaoAgendaService ocupacao;
+    private final int slotAbertura;
+    private final int slotFechamento;
+
+    @Autowired
+    public DisponibilidadeServiceImpl(ServicoRepository servRepo,
+                                      ProfissionalRepository profRepo,
+                                      OcupacaoAgendaService ocupacao,
+                                      @Value("${agenda.expediente.abertura:08:00}") String abertura,
+                                      @Value("${agenda.expediente.fechamento:20:00}") String fechamento) {
+        this.servRepo = servRepo;
+        this.profRepo = profRepo;
+        this.ocupacao = ocupacao;
+        this.slotAbertura = slotArredondadoParaCima(LocalTime.parse(abertura));
+        this.slotFechamento = LocalTime.parse(fechamento).toSecondOfDay() / 60 / OcupacaoDia.MINUTOS_POR_SLOT;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HorarioDisponivelDTO> buscar(Long salaoId, Long servicoId,
+                                             LocalDateTime de, LocalDateTime ate,
+                                             int limite, int passoMinutos) {
+        if (limite < 1 || limite > MAX_LIMITE) {
+            throw new BusinessException("limite deve estar entre 1 e " + MAX_LIMITE + ".");
+        }
+        if (passoMinutos < OcupacaoDia.MINUTOS_POR_SLOT || passoMinutos % OcupacaoDia.MINUTOS_POR_SLOT != 0) {
+            throw new BusinessException("passo deve ser múltiplo de " + OcupacaoDia.MINUTOS_POR_SLOT + " minutos.");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicio = (de == null || de.isBefore(agora)) ? agora : de;
+        LocalDateTime fim = ate != null ? ate : inicio.plusDays(7);
+        if (!fim.isAfter(inicio)) {
+            throw new BusinessException("A data final deve ser posterior à data inicial.");
+        }
+        if (Duration.between(inicio, fim).toDays() > MAX_DIAS) {
+            throw new BusinessException("A janela de busca não pode exceder " + MAX_DIAS + " dias.");
+        }
+
+        Servico servico = servRepo.findByIdAndSalaoId(servicoId, salaoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Serviço", "ID", servicoId));
+        List<Long> profissionais = profRepo.findIdsBySalaoIdAndServicoId(salaoId, servicoId);
+        List<HorarioDisponivelDTO> horarios = new ArrayList<>(limite);
+        if (profissionais.isEmpty()) {
+            return horarios;
+        }
+
+        int duracao = servico.getDuracaoMinutos();
+        int duracaoSlots = (duracao + OcupacaoDia.MINUTOS_POR_SLOT - 1) / OcupacaoDia.MINUTOS_POR_SLOT;
+        long[] expediente = OcupacaoDia.faixa(slotAbertura, slotFechamento);
+        long[] passo = mascaraDePasso(passoMinutos / OcupacaoDia.MINUTOS_POR_SLOT);
+
+        for (LocalDate dia = inicio.toLocalDate(); !dia.isAfter(fim.toLocalDate()) && horarios.size() < limite; dia = dia.plusDays(1)) {
+            int primeiroSlot = dia.equals(inicio.toLocalDate()) ? slotArredondadoParaCima(inicio.toLocalTime()) : 0;
+            int ultimoSlot = dia.equals(fim.toLocalDate()) ? slotArredondadoParaCima(fim.toLocalTime()) : OcupacaoDia.SLOTS_POR_DIA;
+            long[] janela = OcupacaoDia.faixa(primeiroSlot, ultimoSlot);
+
+            // Inícios possíveis por profissional e a união entre eles
+            long[][] iniciosPorProf = new long[profissionais.size()][];
+            long[] uniao = new long[OcupacaoDia.PALAVRAS];
+            for (int p = 0; p < profissionais.size(); p++) {
+                long[] ocupado = ocupacao.ocupacaoDoDia(profissionais.get(p), dia);
+                long[] livres = new long[OcupacaoDia.PALAVRAS];
+                for (int i = 0; i < livres.length; i++) {
+                    livres[i] = ~ocupado[i] & expediente[i];
+                }
+                long[] inicios = OcupacaoDia.iniciosPossiveis(livres, duracaoSlots);
+                for (int i = 0; i < inicios.length; i++) {
+                    inicios[i] &= janela[i] & passo[i];
+                    uniao[i] |= inicios[i];
+                }
+                iniciosPorProf[p] = inicios;
+            }
+
+            coletar(dia, uniao, iniciosPorProf, profissionais, duracao, limite, horarios);
+        }
+        return horarios;
+    }
+
+    /**
+     * Percorre os bits ligados da união em ordem crescente, montando um horário por bit.
+     */
+    private static void coletar(LocalDate dia, long[] uniao, long[][] iniciosPorProf, List<Long> profissionais,
+                                int duracao, int limite, List<HorarioDisponivelDTO> horarios) {
+        for (int i = 0; i < uniao.length; i++) {
+            long palavra = uniao[i];
+            while (palavra != 0 && horarios.size() < limite) {
+                int bit = Long.numberOfTrailingZeros(palavra);
+                palavra &= palavra - 1;
+
+                List<Long> livres = new ArrayList<>();
+                for (int p = 0; p < profissionais.size(); p++) {
+                    if ((iniciosPorProf[p][i] & (1L << bit)) != 0) {
+                        livres.add(profissionais.get(p));
+                    }
+                }
+                int slot = i * 64 + bit;
+                LocalDateTime inicio = dia.atStartOfDay().plusMinutes((long) slot * OcupacaoDia.MINUTOS_POR_SLOT);
+                horarios.add(new HorarioDisponivelDTO(inicio, inicio.plusMinutes(duracao), livres));
+            }
+        }
+    }
+
+    private static long[] mascaraDePasso(int passoSlots) {
+        long[] mascara = new long[OcupacaoDia.PALAVRAS];
+        for (int slot = 0; slot < OcupacaoDia.SLOTS_POR_DIA; slot += passoSlots) {
+            mascara[slot >>> 6] |= 1L << slot;
+        }
+        return mascara;
+    }
+
+    private static int slotArredondadoParaCima(LocalTime hora) {
+        int segundos = hora.toSecondOfDay() + (hora.getNano() > 0 ? 1 : 0);
+        int segundosPorSlot = OcupacaoDia.MINUTOS_POR_SLOT * 60;
+        return (segundos + segundosPorSlot - 1) / segundosPorSlot;
+    }
+}
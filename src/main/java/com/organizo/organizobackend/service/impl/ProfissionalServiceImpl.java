@@ -9,9 +9,9 @@ import com.organizo.organizobackend.model.Servico;
 import com.organizo.organizobackend.repository.ProfissionalRepository;
 import com.organizo.organizobackend.repository.SalaoRepository;
 import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.service.DecisoesAutorizacao;
 import com.organizo.organizobackend.service.ProfissionalService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 /**
  * Implementação da lógica de negócio para Profissional com paginação e cache.
+ * As escritas não anotam o cache: a SincronizacaoCacheEntidades grava o DTO novo após o commit.
  * Utiliza exceções customizadas para tratamento de erros.
  */
 @Service
@@ -31,17 +32,20 @@ public class ProfissionalServiceImpl implements ProfissionalService {
     private final SalaoRepository salaoRepo;
     private final ServicoRepository servRepo;
     private final ProfissionalMapper mapper;
+    private final DecisoesAutorizacao decisoes;
 
     @Autowired
     public ProfissionalServiceImpl(
             ProfissionalRepository repo,
             SalaoRepository salaoRepo,
             ServicoRepository servRepo,
-            ProfissionalMapper mapper) {
+            ProfissionalMapper mapper,
+            DecisoesAutorizacao decisoes) {
         this.repo = repo;
         this.salaoRepo = salaoRepo;
         this.servRepo = servRepo;
         this.mapper = mapper;
+        this.decisoes = decisoes;
     }
 
     /**
@@ -70,7 +74,7 @@ public class ProfissionalServiceImpl implements ProfissionalService {
      * Busca profissional por ID.
      */
     @Override
-    @Cacheable(value = "profissionais", key = "#id")
+    @Cacheable(value = "profissionais", key = "#id", sync = true)
     public ProfissionalDTO buscarPorId(Long id) {
         Profissional p = repo.findById(id)
                 // Lança exceção específica se não encontrar
@@ -83,7 +87,6 @@ public class ProfissionalServiceImpl implements ProfissionalService {
      * Cria um novo profissional dentro de um salão.
      */
     @Override
-    @CacheEvict(value = "profissionais", allEntries = true) // Limpa cache geral ao criar novo
     public ProfissionalDTO criar(Long salaoId, ProfissionalDTO dto) {
         // 1) verificar se o salão existe
         Salao salao = salaoRepo.findById(salaoId)
@@ -103,7 +106,6 @@ public class ProfissionalServiceImpl implements ProfissionalService {
      * Vincula serviços existentes a um profissional.
      */
     @Override
-    @CacheEvict(value = "profissionais", key = "#profissionalId") // Limpa cache do profissional modificado
     public ProfissionalDTO vincularServicos(Long profissionalId, Set<Long> servicoIds) {
         Profissional p = repo.findById(profissionalId)
                 // Lança exceção específica se não encontrar
@@ -125,7 +127,6 @@ public class ProfissionalServiceImpl implements ProfissionalService {
      * Atualiza dados básicos de um profissional.
      */
     @Override
-    @CacheEvict(value = "profissionais", key = "#id") // Limpa cache do profissional modificado
     public ProfissionalDTO atualizar(Long id, ProfissionalDTO dto) {
         Profissional existente = repo.findById(id)
                 // Lança exceção específica se não encontrar
@@ -139,6 +140,8 @@ public class ProfissionalServiceImpl implements ProfissionalService {
         // obs.: não tratamos servicos aqui, usar vincularServicos
 
         Profissional atualizado = repo.save(existente);
+        // O e-mail pode ter mudado: decisões de posse baseadas nele deixam de valer
+        decisoes.profissionalAlterado(id);
         return mapper.toDto(atualizado);
     }
 
@@ -146,12 +149,12 @@ public class ProfissionalServiceImpl implements ProfissionalService {
      * Deleta um profissional.
      */
     @Override
-    @CacheEvict(value = {"profissionais", "profissionais::#id"}, allEntries = false) // Limpa cache geral e específico
     public void deletar(Long id) {
         // Verifica se o profissional existe antes de tentar deletar
         if (!repo.existsById(id)) {
             throw new ResourceNotFoundException("Profissional", "ID", id);
         }
         repo.deleteById(id);
+        decisoes.profissionalAlterado(id);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.organizo.organizobackend.service.impl;
 
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.dto.SalaoDTO;
 import com.organizo.organizobackend.exception.BusinessException;
 import com.organizo.organizobackend.exception.ResourceNotFoundException;
@@ -8,11 +9,10 @@ import com.organizo.organizobackend.model.Salao;
 import com.organizo.organizobackend.model.Usuario;
 import com.organizo.organizobackend.repository.SalaoRepository;
 import com.organizo.organizobackend.repository.UsuarioRepository;
+import com.organizo.organizobackend.service.DecisoesAutorizacao;
 import com.organizo.organizobackend.service.SalaoService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -31,25 +31,29 @@ public class SalaoServiceImpl implements SalaoService {
     private final SalaoRepository salaoRepo;
     private final SalaoMapper mapper;
     private final UsuarioRepository usuarioRepo;
+    private final DecisoesAutorizacao decisoes;
 
     @Autowired
     public SalaoServiceImpl(SalaoRepository salaoRepo,
                             SalaoMapper mapper,
-                            UsuarioRepository usuarioRepo) {
+                            UsuarioRepository usuarioRepo,
+                            DecisoesAutorizacao decisoes) {
         this.salaoRepo = salaoRepo;
         this.mapper = mapper;
         this.usuarioRepo = usuarioRepo;
+        this.decisoes = decisoes;
     }
 
     /**
      * Lista salões de forma paginada.
-     * Cache: 'saloes' -> página + tamanho + ordenação.
+     * Cache: 'paginas-saloes' -> geração de 'saloes' + página + tamanho + ordenação.
      */
     @Override
+    @Cacheable(value = "paginas-saloes", key = "@geracoesCache.chave('saloes', #pageable)", sync = true)
     @Transactional(readOnly = true)
-    public Page<SalaoDTO> listar(Pageable pageable) {
-        return salaoRepo.findAll(pageable)
-                .map(mapper::toDto);
+    public PaginatedResponse<SalaoDTO> listar(Pageable pageable) {
+        return PaginatedResponse.de(salaoRepo.findAll(pageable)
+                .map(mapper::toDto));
     }
 
     /**
@@ -57,7 +61,7 @@ public class SalaoServiceImpl implements SalaoService {
      * Cache: armazena em 'saloes:id'.
      */
     @Override
-    @Cacheable(value = "saloes", key = "#id")
+    @Cacheable(value = "saloes", key = "#id", sync = true)
     @Transactional(readOnly = true)
     public SalaoDTO buscarPorId(Long id) {
         Salao salao = salaoRepo.findById(id)
@@ -67,10 +71,9 @@ public class SalaoServiceImpl implements SalaoService {
 
     /**
      * Cria novo salão, definindo o usuário logado como proprietário.
-     * Limpa cache de listagem.
+     * O cache (salão e páginas de listagem) é atualizado após o commit pela SincronizacaoCacheEntidades.
      */
     @Override
-    @CacheEvict(value = "saloes", allEntries = true)
     @Transactional // Garante atomicidade
     public SalaoDTO criar(SalaoDTO dto) {
         // 1. Obter o email do usuário logado
@@ -93,14 +96,13 @@ public class SalaoServiceImpl implements SalaoService {
     }
 
     /**
-     * Atualiza um salão. A verificação de posse é feita via @PreAuthorize no Controller.
-     * Limpa cache.
+     * Atualiza um salão. A verificação de posse é feita na cadeia HTTP (RegrasAutorizacao.alterarSalao).
+     * O DTO novo é gravado no cache após o commit.
      */
     @Override
-    @CacheEvict(value = {"saloes", "saloes::#id"}, allEntries = false)
     @Transactional
     public SalaoDTO atualizar(Long id, SalaoDTO dto) {
-        // A checagem se o usuário logado é o dono (ou ADMIN) é feita no Controller com @PreAuthorize
+        // A checagem se o usuário logado é o dono (ou ADMIN) é feita na cadeia HTTP, antes do Controller
         Salao existente = salaoRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Salão", "ID", id));
 
@@ -115,18 +117,18 @@ public class SalaoServiceImpl implements SalaoService {
     }
 
     /**
-     * Deleta um salão. A verificação de posse é feita via @PreAuthorize no Controller.
-     * Limpa cache.
+     * Deleta um salão. A verificação de posse é feita na cadeia HTTP (RegrasAutorizacao.alterarSalao).
+     * A entrada é removida do cache após o commit.
      */
     @Override
-    @CacheEvict(value = {"saloes", "saloes::#id"}, allEntries = false)
     @Transactional
     public void deletar(Long id) {
-        // A checagem se o usuário logado é o dono (ou ADMIN) é feita no Controller com @PreAuthorize
+        // A checagem se o usuário logado é o dono (ou ADMIN) é feita na cadeia HTTP, antes do Controller
         if (!salaoRepo.existsById(id)) {
             throw new ResourceNotFoundException("Salão", "ID", id);
         }
         salaoRepo.deleteById(id);
+        decisoes.salaoAlterado(id);
     }
 }
 
@@ -1,5 +1,6 @@
 package com.organizo.organizobackend.service.impl;
 
+import com.organizo.organizobackend.dto.PaginatedResponse;
 import com.organizo.organizobackend.dto.ServicoDTO;
 import com.organizo.organizobackend.model.Profissional;
 import com.organizo.organizobackend.model.Salao;
@@ -47,20 +48,23 @@ public class ServicoServiceImpl implements ServicoService {
     }
 
     /**
-     * Lista serviços de forma paginada.
-     * Cache "servicos" to reduce load on database.
+     * Lista o catálogo de serviços de um salão de forma paginada.
+     * Cache "paginas-servicos": a chave inclui a geração do catálogo deste salão, avançada
+     * após o commit quando um serviço dele é criado, alterado ou removido (SincronizacaoCacheEntidades).
      */
     @Override
-    public Page<ServicoDTO> listarPorSalao(Long salaoId, Pageable pageable) {
-        return servicoRepo.findBySalaoId(salaoId, pageable)
-                .map(mapper::toDto);
+    @Cacheable(value = "paginas-servicos",
+            key = "@geracoesCache.chave('servicos', #salaoId, #pageable)", sync = true)
+    public PaginatedResponse<ServicoDTO> listarPorSalao(Long salaoId, Pageable pageable) {
+        return PaginatedResponse.de(servicoRepo.findBySalaoId(salaoId, pageable)
+                .map(mapper::toDto));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Cacheable(value = "servicos", key = "#id")
+    @Cacheable(value = "servicos", key = "#id", sync = true)
     public ServicoDTO buscarPorId(Long id) {
         Servico servico = servicoRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Serviço não encontrado: " + id));
@@ -2,16 +2,21 @@ package com.organizo.organizobackend.service.impl;
 
 import com.organizo.organizobackend.dto.AuthResponse;
 import com.organizo.organizobackend.dto.LoginRequest;
+import com.organizo.organizobackend.dto.RefreshRequest;
 import com.organizo.organizobackend.dto.RegistroRequest;
 import com.organizo.organizobackend.enums.Role;
 import com.organizo.organizobackend.exception.BusinessException;
 import com.organizo.organizobackend.exception.ResourceNotFoundException;
 import com.organizo.organizobackend.model.Usuario;
 import com.organizo.organizobackend.repository.UsuarioRepository;
+import com.organizo.organizobackend.service.EmailsConhecidosService;
+import com.organizo.organizobackend.service.JwtService;
+import com.organizo.organizobackend.service.LimiteTaxaService;
+import com.organizo.organizobackend.service.RefreshTokenService;
+import com.organizo.organizobackend.service.SenhaService;
 import com.organizo.organizobackend.service.UsuarioService;
-import com.organizo.organizobackend.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -24,21 +29,34 @@ import java.util.Optional;
 public class UsuarioServiceImpl implements UsuarioService {
 
     private final UsuarioRepository repo;
-    private final BCryptPasswordEncoder encoder;
-    private final JwtUtil jwtUtil;
+    private final SenhaService senhas;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
+    private final LimiteTaxaService limites;
+    private final EmailsConhecidosService emailsConhecidos;
 
     @Autowired
     public UsuarioServiceImpl(UsuarioRepository repo,
-                              BCryptPasswordEncoder encoder,
-                              JwtUtil jwtUtil) {
+                              SenhaService senhas,
+                              JwtService jwtService,
+                              RefreshTokenService refreshTokens,
+                              LimiteTaxaService limites,
+                              EmailsConhecidosService emailsConhecidos) {
         this.repo = repo;
-        this.encoder = encoder;
-        this.jwtUtil = jwtUtil;
+        this.senhas = senhas;
+        this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
+        this.limites = limites;
+        this.emailsConhecidos = emailsConhecidos;
     }
 
     @Override
     public AuthResponse registrar(RegistroRequest dto) {
-        // Verifica se o e-mail já está cadastrado
+        // Limite por conta antes de qualquer consulta ou hash
+        limites.verificarEmail(dto.getEmail());
+
+        // Verifica se o e-mail já está cadastrado. Sempre no banco: o filtro de e-mails é só
+        // para o login, uma escrita não pode depender de uma negativa probabilística
         if (repo.findByEmail(dto.getEmail()).isPresent()) {
             // Lança exceção de negócio específica
             throw new BusinessException("E-mail já cadastrado: " + dto.getEmail());
@@ -53,31 +71,61 @@ public class UsuarioServiceImpl implements UsuarioService {
         }
 
         Usuario u = new Usuario(dto.getEmail(),
-                encoder.encode(dto.getSenha()),
+                senhas.codificar(dto.getSenha()),
                 dto.getNome(),
                 papel);
-        Usuario salvo = repo.save(u);
-        String token = jwtUtil.gerarToken(salvo.getEmail());
-        return new AuthResponse(token,
-                salvo.getEmail(),
-                salvo.getNome(),
-                salvo.getRole().name());
+        Usuario salvo;
+        try {
+            salvo = repo.save(u);
+        } catch (DataIntegrityViolationException e) {
+            // Cadastro simultâneo do mesmo e-mail (ex.: por outra instância): vale o índice único
+            throw new BusinessException("E-mail já cadastrado: " + dto.getEmail());
+        }
+        emailsConhecidos.registrarUsuario(salvo.getEmail());
+        return respostaPara(salvo, refreshTokens.emitir(salvo));
     }
 
     @Override
     public AuthResponse autenticar(LoginRequest dto) {
+        // Limite por conta antes de qualquer consulta ou hash
+        limites.verificarEmail(dto.getEmail());
+
+        // E-mail com certeza inexistente: mesma resposta, sem ir ao banco
+        if (!emailsConhecidos.talvezUsuario(dto.getEmail())) {
+            throw new ResourceNotFoundException("Usuário", "email", dto.getEmail());
+        }
         // Busca o usuário pelo e-mail
         Usuario u = repo.findByEmail(dto.getEmail())
                 // Lança exceção específica se não encontrar
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "email", dto.getEmail()));
+                .orElseThrow(() -> {
+                    emailsConhecidos.falsoPositivoUsuario();
+                    return new ResourceNotFoundException("Usuário", "email", dto.getEmail());
+                });
 
         // Verifica se a senha corresponde
-        if (!encoder.matches(dto.getSenha(), u.getSenha())) {
+        if (!senhas.confere(dto.getSenha(), u.getSenha())) {
             // Lança exceção de negócio específica
             throw new BusinessException("Senha inválida.");
         }
-        String token = jwtUtil.gerarToken(u.getEmail());
+        // Força do BCrypt mudou desde o cadastro: aproveita a senha em claro para refazer o hash
+        if (senhas.precisaRehash(u.getSenha())) {
+            u.setSenha(senhas.codificar(dto.getSenha()));
+            repo.save(u);
+        }
+        return respostaPara(u, refreshTokens.emitir(u));
+    }
+
+    @Override
+    public AuthResponse renovar(RefreshRequest dto) {
+        // Sem BCrypt: uma busca pelo hash do refresh token e a assinatura do novo JWT
+        RefreshTokenService.Renovacao renovacao = refreshTokens.renovar(dto.getRefreshToken());
+        return respostaPara(renovacao.usuario(), renovacao.refreshToken());
+    }
+
+    private AuthResponse respostaPara(Usuario u, String refreshToken) {
+        String token = jwtService.generateToken(u.getId(), u.getEmail(), u.getRole().name());
         return new AuthResponse(token,
+                refreshToken,
                 u.getEmail(),
                 u.getNome(),
                 u.getRole().name());
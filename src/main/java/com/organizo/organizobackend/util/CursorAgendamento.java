@@ -0,0 +1,57 @@
+package com.organizo.organizobackend.util;
+
+import com.organizo.organizobackend.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de continuação na listagem de agendamentos ordenada por (dataHoraAgendada, id).
+ * Trafega para o cliente como um token opaco em Base64 URL-safe.
+ */
+public final class CursorAgendamento {
+
+    private static final char SEPARADOR = '|';
+
+    private final LocalDateTime dataHora;
+    private final Long id;
+
+    public CursorAgendamento(LocalDateTime dataHora, Long id) {
+        this.dataHora = dataHora;
+        this.id = id;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /** Gera o token opaco desta posição. */
+    public String codificar() {
+        String bruto = dataHora.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um token gerado por {@link #codificar()}.
+     * @return a posição, ou null para token vazio (primeira página)
+     * @throws BusinessException se o token estiver malformado
+     */
+    public static CursorAgendamento decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = bruto.indexOf(SEPARADOR);
+            return new CursorAgendamento(LocalDateTime.parse(bruto.substring(0, sep)), Long.valueOf(bruto.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.organizo.organizobackend.util;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Esboço Count-Min da frequência de acesso a chaves numéricas (ids), com as mais acessadas.
+ * <p>
+ * Cada acesso incrementa um contador em cada uma das linhas do esboço; a estimativa é o menor
+ * deles (colisões só somam, nunca fica abaixo da contagem real). Ao lado do esboço fica um
+ * conjunto limitado de candidatas: uma chave entra quando sua estimativa passa a menor das que
+ * já estão lá. A cada {@code 10 × largura} acessos todos os contadores são divididos por dois,
+ * para que acessos antigos percam peso (envelhecimento do TinyLFU).
+ * <p>
+ * Thread-safe: o registro usa contadores atômicos; só a troca de candidatas e o envelhecimento
+ * tomam lock. Pode ser serializado para sobreviver a reinícios.
+ */
+public class EsbocoFrequencia {
+
+    private static final byte VERSAO = 1;
+    private static final int PROFUNDIDADE = 4;
+    private static final int LARGURA_MAXIMA = 1 << 20;
+
+    private final int largura;
+    private final int capacidadeCandidatas;
+    private final int periodoEnvelhecimento;
+    private final AtomicIntegerArray contadores;
+    private final Map<Long, Integer> candidatas = new ConcurrentHashMap<>();
+    private final AtomicInteger desdeEnvelhecimento = new AtomicInteger();
+    /** Menor estimativa entre as candidatas quando o conjunto está cheio (0 = há vaga) */
+    private volatile int minimoCandidatas;
+
+    /**
+     * @param largura contadores por linha (arredondada para potência de 2)
+     * @param capacidadeCandidatas quantas chaves mais acessadas são acompanhadas
+     */
+    public EsbocoFrequencia(int largura, int capacidadeCandidatas) {
+        if (largura <= 0 || largura > LARGURA_MAXIMA || capacidadeCandidatas <= 0) {
+            throw new IllegalArgumentException("largura (até 2^20) e capacidade de candidatas devem ser positivas");
+        }
+        this.largura = Math.max(16, Integer.highestOneBit(largura - 1) << 1);
+        this.capacidadeCandidatas = capacidadeCandidatas;
+        this.periodoEnvelhecimento = 10 * this.largura;
+        this.contadores = new AtomicIntegerArray(PROFUNDIDADE * this.largura);
+    }
+
+    public void registrar(long chave) {
+        long h = misturar(chave);
+        int estimativa = Integer.MAX_VALUE;
+        for (int i = 0; i < PROFUNDIDADE; i++) {
+            estimativa = Math.min(estimativa, contadores.incrementAndGet(indice(h, i)));
+        }
+        if (desdeEnvelhecimento.incrementAndGet() >= periodoEnvelhecimento) {
+            envelhecer();
+        }
+        considerar(chave, estimativa);
+    }
+
+    public int estimar(long chave) {
+        long h = misturar(chave);
+        int estimativa = Integer.MAX_VALUE;
+        for (int i = 0; i < PROFUNDIDADE; i++) {
+            estimativa = Math.min(estimativa, contadores.get(indice(h, i)));
+        }
+        return estimativa;
+    }
+
+    /** Até {@code n} chaves, da mais para a menos acessada. */
+    public List<Long> maisFrequentes(int n) {
+        return candidatas.keySet().stream()
+                .map(chave -> Map.entry(chave, estimar(chave)))
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public boolean isVazio() {
+        return candidatas.isEmpty();
+    }
+
+    /**
+     * Soma as contagens de outro esboço de mesma largura (ex.: o gravado antes do reinício).
+     */
+    public void incorporar(EsbocoFrequencia outro) {
+        if (outro.largura != largura) {
+            throw new IllegalArgumentException("Esboço com largura " + outro.largura + ", esperada " + largura);
+        }
+        for (int i = 0; i < contadores.length(); i++) {
+            int somar = outro.contadores.get(i);
+            if (somar > 0) {
+                contadores.addAndGet(i, somar);
+            }
+        }
+        for (Long chave : outro.candidatas.keySet()) {
+            considerar(chave, estimar(chave));
+        }
+    }
+
+    /**
+     * Formato: versão, largura, contadores e as chaves candidatas.
+     */
+    public byte[] serializar() {
+        Long[] chaves = candidatas.keySet().toArray(Long[]::new);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 * contadores.length() + 4 + 8 * chaves.length);
+        buffer.put(VERSAO).putInt(largura);
+        for (int i = 0; i < contadores.length(); i++) {
+            buffer.putInt(contadores.get(i));
+        }
+        buffer.putInt(chaves.length);
+        for (Long chave : chaves) {
+            buffer.putLong(chave);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException se os bytes não forem de um esboço desta versão
+     */
+    public static EsbocoFrequencia desserializar(byte[] bytes, int capacidadeCandidatas) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != VERSAO) {
+                throw new IllegalArgumentException("Versão de esboço desconhecida");
+            }
+            int largura = buffer.getInt();
+            if (largura > LARGURA_MAXIMA) {
+                throw new IllegalArgumentException("Largura de esboço inválida: " + largura);
+            }
+            EsbocoFrequencia esboco = new EsbocoFrequencia(largura, capacidadeCandidatas);
+            for (int i = 0; i < esboco.contadores.length(); i++) {
+                esboco.contadores.set(i, buffer.getInt());
+            }
+            int quantas = buffer.getInt();
+            for (int i = 0; i < quantas; i++) {
+                long chave = buffer.getLong();
+                esboco.considerar(chave, esboco.estimar(chave));
+            }
+            return esboco;
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException iae) {
+                throw iae;
+            }
+            throw new IllegalArgumentException("Esboço de frequência corrompido", e);
+        }
+    }
+
+    private void considerar(long chave, int estimativa) {
+        if (candidatas.containsKey(chave)) {
+            candidatas.put(chave, estimativa);
+        } else if (estimativa > minimoCandidatas) {
+            incluir(chave, estimativa);
+        }
+    }
+
+    private synchronized void incluir(long chave, int estimativa) {
+        if (candidatas.size() >= capacidadeCandidatas) {
+            Map.Entry<Long, Integer> menor = menorCandidata();
+            if (menor.getValue() >= estimativa) {
+                minimoCandidatas = menor.getValue();
+                return;
+            }
+            candidatas.remove(menor.getKey());
+        }
+        candidatas.put(chave, estimativa);
+        minimoCandidatas = candidatas.size() >= capacidadeCandidatas ? menorCandidata().getValue() : 0;
+    }
+
+    private Map.Entry<Long, Integer> menorCandidata() {
+        return candidatas.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow();
+    }
+
+    private synchronized void envelhecer() {
+        // Outra thread pode ter envelhecido enquanto esta esperava o lock
+        if (desdeEnvelhecimento.get() < periodoEnvelhecimento) {
+            return;
+        }
+        desdeEnvelhecimento.set(0);
+        for (int i = 0; i < contadores.length(); i++) {
+            contadores.getAndUpdate(i, v -> v >>> 1);
+        }
+        candidatas.replaceAll((chave, estimativa) -> estimativa >>> 1);
+        candidatas.values().removeIf(estimativa -> estimativa == 0);
+        minimoCandidatas >>>= 1;
+    }
+
+    private int indice(long h, int linha) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        return linha * largura + ((h1 + linha * h2) & (largura - 1));
+    }
+
+    /** Mistura do MurmurHash3 (a mesma do {@link FiltroBloom}): ids sequenciais espalhados. */
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
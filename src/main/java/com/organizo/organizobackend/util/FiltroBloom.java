@@ -0,0 +1,107 @@
+package com.organizo.organizobackend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de strings, thread-safe e sem locks.
+ * <p>
+ * Responde "com certeza não contém" ou "talvez contenha": nunca dá falso negativo, e a taxa
+ * de falso positivo cresce conforme o filtro enche. O tamanho ({@code m} bits) e o número
+ * de funções de hash ({@code k}) são calculados a partir da capacidade e da taxa desejada;
+ * os {@code k} índices saem de dois hashes de 64 bits (double hashing).
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLong bitsLigados = new AtomicLong();
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * @param capacidade quantidade de elementos esperada
+     * @param taxaFalsoPositivo taxa de falso positivo desejada ao atingir a capacidade (0 a 1)
+     */
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("capacidade e taxa de falso positivo inválidas");
+        }
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.numBits = Math.max(64, m);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacidade * Math.log(2)));
+        this.palavras = new AtomicLongArray((int) ((numBits + 63) / 64));
+    }
+
+    public void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean novo = false;
+        for (int i = 0; i < numHashes; i++) {
+            novo |= ligar(Math.floorMod(h1 + i * h2, numBits));
+        }
+        if (novo) {
+            elementos.increment();
+        }
+    }
+
+    public boolean talvezContenha(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo atual estimada pela fração de bits ligados: {@code (ligados/m)^k}.
+     */
+    public double taxaFalsoPositivoEstimada() {
+        return Math.pow((double) bitsLigados.get() / numBits, numHashes);
+    }
+
+    /** Elementos distintos adicionados (aproximado: colisões totais não contam). */
+    public long elementos() {
+        return elementos.sum();
+    }
+
+    private boolean ligar(long bit) {
+        int indice = (int) (bit >>> 6);
+        long mascara = 1L << bit;
+        while (true) {
+            long atual = palavras.get(indice);
+            if ((atual & mascara) != 0) {
+                return false;
+            }
+            if (palavras.compareAndSet(indice, atual, atual | mascara)) {
+                bitsLigados.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /** FNV-1a de 64 bits sobre os bytes UTF-8, finalizado com a mistura do MurmurHash3. */
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,66 @@
+package com.organizo.organizobackend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por chave com GCRA (Generic Cell Rate Algorithm), equivalente a um
+ * token bucket de {@code capacidade} fichas que se recompõe em {@code periodo}.
+ * <p>
+ * Cada chave guarda um único {@code long} — o instante teórico da próxima chegada (TAT) —
+ * atualizado por CAS, sem locks. As chaves ficam num mapa limitado a {@code maxChaves}
+ * e somem após {@code periodo} sem uso (nesse ponto o balde já estaria cheio de novo).
+ */
+public class LimitadorGcra {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final Cache<String, AtomicLong> baldes;
+    private final LongSupplier relogio;
+
+    public LimitadorGcra(int capacidade, Duration periodo, long maxChaves) {
+        this(capacidade, periodo, maxChaves, System::nanoTime);
+    }
+
+    LimitadorGcra(int capacidade, Duration periodo, long maxChaves, LongSupplier relogio) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("capacidade deve ser positiva");
+        }
+        this.intervaloNanos = periodo.toNanos() / capacidade;
+        this.toleranciaNanos = intervaloNanos * (capacidade - 1);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterAccess(periodo)
+                .build();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Consome uma ficha do balde da chave.
+     * @return 0 se permitido; senão, nanossegundos até a próxima ficha
+     */
+    public long tentar(String chave) {
+        long agora = relogio.getAsLong();
+        AtomicLong tat = baldes.get(chave, k -> new AtomicLong(agora));
+        while (true) {
+            long atual = tat.get();
+            long base = Math.max(atual, agora);
+            long excesso = base - agora - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (tat.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Quantidade aproximada de chaves em memória. */
+    public long chaves() {
+        return baldes.estimatedSize();
+    }
+}
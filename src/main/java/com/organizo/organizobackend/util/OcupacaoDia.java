@@ -0,0 +1,151 @@
+package com.organizo.organizobackend.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapa de ocupação de um profissional em um único dia.
+ * O dia é dividido em slots de 5 minutos (288 slots) representados em um bitmap
+ * de {@code long}, permitindo checar conflitos em O(duração / 5) sem ir ao banco.
+ *
+ * Não é thread-safe: o chamador deve sincronizar na própria instância.
+ */
+public class OcupacaoDia {
+
+    public static final int MINUTOS_POR_SLOT = 5;
+    public static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+    public static final int PALAVRAS = (SLOTS_POR_DIA + 63) / 64;
+
+    private final long[] bits = new long[PALAVRAS];
+
+    // Intervalos [inicio, fim) por agendamento, usados para recalcular o bitmap ao liberar
+    private final Map<Long, int[]> intervalos = new HashMap<>();
+
+    /**
+     * Indica se todos os slots em [inicio, fim) estão livres.
+     */
+    public boolean estaLivre(int inicio, int fim) {
+        for (int slot = inicio; slot < fim; slot++) {
+            if ((bits[slot >>> 6] & (1L << slot)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica se o agendamento já está registrado neste dia.
+     */
+    public boolean contem(Long agendamentoId) {
+        return intervalos.containsKey(agendamentoId);
+    }
+
+    /**
+     * Intervalo [inicio, fim) do agendamento neste dia, ou null se não estiver registrado.
+     */
+    public int[] intervalo(Long agendamentoId) {
+        int[] intervalo = intervalos.get(agendamentoId);
+        return intervalo == null ? null : intervalo.clone();
+    }
+
+    /**
+     * Marca os slots [inicio, fim) como ocupados pelo agendamento informado.
+     */
+    public void ocupar(Long agendamentoId, int inicio, int fim) {
+        intervalos.put(agendamentoId, new int[]{inicio, fim});
+        marcar(inicio, fim);
+    }
+
+    /**
+     * Remove o agendamento e recalcula o bitmap a partir dos intervalos restantes,
+     * preservando slots compartilhados com outros agendamentos.
+     */
+    public boolean liberar(Long agendamentoId) {
+        if (intervalos.remove(agendamentoId) == null) {
+            return false;
+        }
+        Arrays.fill(bits, 0L);
+        intervalos.values().forEach(i -> marcar(i[0], i[1]));
+        return true;
+    }
+
+    /**
+     * Cópia do bitmap (bit = 1 significa slot ocupado).
+     */
+    public long[] palavras() {
+        return bits.clone();
+    }
+
+    /**
+     * Bitmap dos slots em que um atendimento de {@code duracaoSlots} pode começar,
+     * dado um bitmap de slots livres. Opera palavra a palavra: o resultado é o AND
+     * do bitmap com ele mesmo deslocado de 1 até duracaoSlots - 1 posições.
+     * Slots além de {@link #SLOTS_POR_DIA} devem vir zerados em {@code livres}.
+     */
+    public static long[] iniciosPossiveis(long[] livres, int duracaoSlots) {
+        long[] inicios = livres.clone();
+        for (int k = 1; k < duracaoSlots; k++) {
+            long[] deslocado = deslocar(livres, k);
+            for (int i = 0; i < inicios.length; i++) {
+                inicios[i] &= deslocado[i];
+            }
+        }
+        return inicios;
+    }
+
+    /**
+     * Início de cada bucket de 5 minutos ocupado por um atendimento,
+     * com o mesmo arredondamento usado no bitmap (início para baixo, fim para cima).
+     */
+    public static List<LocalDateTime> buckets(LocalDateTime inicio, int duracaoMinutos) {
+        int minutoInicial = inicio.getHour() * 60 + inicio.getMinute();
+        int primeiro = minutoInicial / MINUTOS_POR_SLOT;
+        int ultimo = (minutoInicial + duracaoMinutos + MINUTOS_POR_SLOT - 1) / MINUTOS_POR_SLOT;
+
+        LocalDateTime base = inicio.toLocalDate().atStartOfDay();
+        List<LocalDateTime> buckets = new ArrayList<>(ultimo - primeiro);
+        for (int slot = primeiro; slot < ultimo; slot++) {
+            buckets.add(base.plusMinutes((long) slot * MINUTOS_POR_SLOT));
+        }
+        return buckets;
+    }
+
+    /**
+     * Bitmap com os slots [inicio, fim) ligados.
+     */
+    public static long[] faixa(int inicio, int fim) {
+        long[] palavras = new long[PALAVRAS];
+        for (int slot = Math.max(0, inicio); slot < Math.min(fim, SLOTS_POR_DIA); slot++) {
+            palavras[slot >>> 6] |= 1L << slot;
+        }
+        return palavras;
+    }
+
+    /**
+     * Desloca o bitmap k posições para baixo: o bit i do resultado é o bit i + k da origem.
+     */
+    static long[] deslocar(long[] origem, int k) {
+        long[] destino = new long[origem.length];
+        int palavras = k >>> 6;
+        int bits = k & 63;
+        for (int i = 0; i + palavras < origem.length; i++) {
+            int j = i + palavras;
+            long valor = origem[j] >>> bits;
+            if (bits != 0 && j + 1 < origem.length) {
+                valor |= origem[j + 1] << (64 - bits);
+            }
+            destino[i] = valor;
+        }
+        return destino;
+    }
+
+    private void marcar(int inicio, int fim) {
+        for (int slot = inicio; slot < fim; slot++) {
+            bits[slot >>> 6] |= 1L << slot;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.organizo.organizobackend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Roda do tempo hierárquica (hierarchical timing wheel) para prazos em memória.
+ * <p>
+ * São {@value #NIVEIS} níveis de {@value #SLOTS} posições; cada posição do nível {@code n}
+ * cobre {@code 64^n} ticks. Agendar e cancelar são O(1); ao virar um nível, as entradas da
+ * posição correspondente do nível de cima descem (cascata) para posições mais finas.
+ * Prazos além do horizonte ({@code 64^4} ticks) ficam estacionados no último nível e
+ * são reposicionados quando a posição deles vence.
+ * <p>
+ * Thread-safe: todos os métodos públicos são sincronizados (operações curtas).
+ *
+ * @param <K> chave que identifica a entrada (ex.: id do agendamento)
+ * @param <V> valor devolvido quando o prazo vence
+ */
+public class RodaDoTempo<K, V> {
+
+    static final int NIVEIS = 4;
+    static final int SLOTS = 64;
+    private static final int BITS = 6;
+    private static final int MASCARA = SLOTS - 1;
+    private static final long HORIZONTE = 1L << (BITS * NIVEIS);
+
+    private final long tickMillis;
+    private final List<List<Set<Entrada<K, V>>>> niveis = new ArrayList<>(NIVEIS);
+    private final Map<K, Entrada<K, V>> indice = new HashMap<>();
+    private long tick;
+
+    /**
+     * @param tickMillis resolução da roda
+     * @param agoraMillis instante inicial (epoch millis)
+     */
+    public RodaDoTempo(long tickMillis, long agoraMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis deve ser positivo");
+        }
+        this.tickMillis = tickMillis;
+        this.tick = agoraMillis / tickMillis;
+        for (int n = 0; n < NIVEIS; n++) {
+            List<Set<Entrada<K, V>>> nivel = new ArrayList<>(SLOTS);
+            for (int s = 0; s < SLOTS; s++) {
+                nivel.add(new LinkedHashSet<>());
+            }
+            niveis.add(nivel);
+        }
+    }
+
+    /**
+     * Agenda (ou reagenda, se a chave já existir) uma entrada.
+     * Prazos já vencidos saem no próximo {@link #avancar}.
+     */
+    public synchronized void agendar(K chave, long prazoMillis, V valor) {
+        cancelar(chave);
+        Entrada<K, V> e = new Entrada<>(chave, valor, prazoMillis, prazoMillis / tickMillis);
+        indice.put(chave, e);
+        posicionar(e, tick + 1);
+    }
+
+    /**
+     * Remove a entrada da chave, se existir.
+     * @return true se havia entrada agendada
+     */
+    public synchronized boolean cancelar(K chave) {
+        Entrada<K, V> e = indice.remove(chave);
+        if (e == null) {
+            return false;
+        }
+        niveis.get(e.nivel).get(e.slot).remove(e);
+        return true;
+    }
+
+    /**
+     * Avança a roda até o instante informado.
+     * @return entradas cujo prazo venceu, em ordem de prazo (por tick)
+     */
+    public synchronized List<Entrada<K, V>> avancar(long agoraMillis) {
+        long alvo = agoraMillis / tickMillis;
+        List<Entrada<K, V>> vencidas = new ArrayList<>();
+        while (tick < alvo) {
+            tick++;
+            cascatear();
+            Set<Entrada<K, V>> slot = niveis.get(0).get((int) (tick & MASCARA));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Entrada<K, V>> daVez = new ArrayList<>(slot);
+            slot.clear();
+            for (Entrada<K, V> e : daVez) {
+                if (e.prazoTick > tick) {
+                    // Estava estacionada além do horizonte: ainda não é a hora
+                    posicionar(e, tick + 1);
+                } else {
+                    indice.remove(e.chave);
+                    vencidas.add(e);
+                }
+            }
+        }
+        return vencidas;
+    }
+
+    /** Cópia das chaves agendadas. */
+    public synchronized Set<K> chaves() {
+        return new HashSet<>(indice.keySet());
+    }
+
+    /** Quantidade de entradas agendadas. */
+    public synchronized int tamanho() {
+        return indice.size();
+    }
+
+    /**
+     * Quando um nível inferior completa a volta, desce as entradas da posição atual do nível de cima.
+     */
+    private void cascatear() {
+        for (int n = 1; n < NIVEIS; n++) {
+            if ((tick & ((1L << (BITS * n)) - 1)) != 0) {
+                return;
+            }
+            Set<Entrada<K, V>> slot = niveis.get(n).get((int) ((tick >>> (BITS * n)) & MASCARA));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Entrada<K, V>> descendo = new ArrayList<>(slot);
+            slot.clear();
+            // O slot do tick corrente no nível 0 ainda vai ser processado nesta passada
+            descendo.forEach(e -> posicionar(e, tick));
+        }
+    }
+
+    /**
+     * Coloca a entrada no nível/posição adequados à distância até o prazo.
+     * @param minimo primeiro tick ainda não processado (prazos anteriores vencem nele)
+     */
+    private void posicionar(Entrada<K, V> e, long minimo) {
+        long destino = Math.max(e.prazoTick, minimo);
+        long distancia = destino - tick;
+        if (distancia >= HORIZONTE) {
+            destino = tick + HORIZONTE - 1;
+            distancia = HORIZONTE - 1;
+        }
+        int nivel = 0;
+        while (distancia >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        e.nivel = nivel;
+        e.slot = (int) ((destino >>> (BITS * nivel)) & MASCARA);
+        niveis.get(nivel).get(e.slot).add(e);
+    }
+
+    /**
+     * Entrada agendada na roda.
+     */
+    public static final class Entrada<K, V> {
+
+        private final K chave;
+        private final V valor;
+        private final long prazoMillis;
+        private final long prazoTick;
+        private int nivel;
+        private int slot;
+
+        private Entrada(K chave, V valor, long prazoMillis, long prazoTick) {
+            this.chave = chave;
+            this.valor = valor;
+            this.prazoMillis = prazoMillis;
+            this.prazoTick = prazoTick;
+        }
+
+        public K getChave() {
+            return chave;
+        }
+
+        public V getValor() {
+            return valor;
+        }
+
+        public long getPrazoMillis() {
+            return prazoMillis;
+        }
+    }
+}
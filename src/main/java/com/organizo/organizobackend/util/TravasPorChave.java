@@ -0,0 +1,63 @@
+package com.organizo.organizobackend.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Travas exclusivas por chave (ex.: uma por profissional).
+ * Cada chave tem sua própria {@link ReentrantLock}, de modo que chaves diferentes
+ * nunca disputam a mesma trava. As travas são criadas sob demanda e removidas quando
+ * ninguém mais as usa, mantendo o mapa do tamanho das chaves em uso.
+ */
+public class TravasPorChave<K> {
+
+    private final ConcurrentMap<K, Trava> travas = new ConcurrentHashMap<>();
+
+    /**
+     * Adquire a trava da chave, aguardando no máximo o tempo informado.
+     * @return ação que libera a trava (deve ser executada pela mesma thread)
+     * @throws IllegalStateException se não conseguir a trava dentro do prazo
+     */
+    public Runnable travar(K chave, long timeout, TimeUnit unidade) {
+        Trava trava = travas.compute(chave, (k, atual) -> {
+            Trava t = atual != null ? atual : new Trava();
+            t.usos++;
+            return t;
+        });
+
+        boolean adquirida = false;
+        try {
+            adquirida = trava.lock.tryLock(timeout, unidade);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!adquirida) {
+            soltarReferencia(chave);
+            throw new IllegalStateException("Tempo esgotado aguardando a trava de " + chave);
+        }
+
+        return () -> {
+            trava.lock.unlock();
+            soltarReferencia(chave);
+        };
+    }
+
+    /**
+     * Quantidade de chaves com trava alocada (em uso ou aguardada).
+     */
+    public int tamanho() {
+        return travas.size();
+    }
+
+    private void soltarReferencia(K chave) {
+        travas.computeIfPresent(chave, (k, atual) -> --atual.usos == 0 ? null : atual);
+    }
+
+    private static final class Trava {
+        final ReentrantLock lock = new ReentrantLock();
+        // Alterado apenas dentro de compute/computeIfPresent, que são atômicos por chave
+        int usos;
+    }
+}
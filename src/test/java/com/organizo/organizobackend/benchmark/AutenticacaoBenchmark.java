@@ -0,0 +1,70 @@
+package com.organizo.organizobackend.benchmark;
+
+import com.organizo.organizobackend.config.JwtAuthFilter;
+import com.organizo.organizobackend.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da autenticação: do header Authorization até o SecurityContext preenchido.
+ * <p>
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.organizo.organizobackend.benchmark.AutenticacaoBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+    private static final String SEGREDO = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+    private static final long UM_DIA = 86_400_000L;
+
+    private JwtAuthFilter filtroComCache;
+    private JwtAuthFilter filtroSemCache;
+    private MockHttpServletRequest requisicao;
+
+    @Setup
+    public void setUp() {
+        JwtService comCache = new JwtService(SEGREDO, UM_DIA, 10_000);
+        filtroComCache = new JwtAuthFilter(comCache);
+        filtroSemCache = new JwtAuthFilter(new JwtService(SEGREDO, UM_DIA, 0));
+        requisicao = new MockHttpServletRequest("GET", "/api/hello");
+        requisicao.addHeader("Authorization", "Bearer " + comCache.generateToken(1L, "cliente@ex.com", "CLIENTE"));
+    }
+
+    /** Sessão repetindo o mesmo token (caso comum). */
+    @Benchmark
+    public Authentication filtroComCache() throws Exception {
+        return autenticar(filtroComCache);
+    }
+
+    /** Primeiro uso do token: HMAC + parse completos. */
+    @Benchmark
+    public Authentication filtroSemCache() throws Exception {
+        return autenticar(filtroSemCache);
+    }
+
+    private Authentication autenticar(JwtAuthFilter filtro) throws Exception {
+        SecurityContextHolder.clearContext();
+        filtro.doFilter(requisicao, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AutenticacaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.organizo.organizobackend.benchmark;
+
+import com.organizo.organizobackend.security.RegraAcesso;
+import com.organizo.organizobackend.security.RegrasAutorizacao;
+import com.organizo.organizobackend.security.UsuarioAutenticado;
+import com.organizo.organizobackend.service.SalaoSecurityService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da autorização de PUT /api/agendamentos/{id}/cancelar: expressão SpEL
+ * (como nos antigos {@code @PreAuthorize}) contra a regra compilada de {@link RegrasAutorizacao}.
+ * A checagem de posse é um stub que sempre confirma (equivale a um acerto no cache de decisões),
+ * então a diferença medida é só a avaliação da regra.
+ * <p>
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.organizo.organizobackend.benchmark.AutorizacaoBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutorizacaoBenchmark {
+
+    private static final String EXPRESSAO = "hasRole('ADMIN') or "
+            + "(hasRole('CLIENTE') and @agendamentoSecurityService.isClienteOfAgendamento(#id, principal.username)) or "
+            + "(hasRole('PROFISSIONAL') and @agendamentoSecurityService.isProfissionalOfAgendamento(#id, principal.username)) or "
+            + "(hasRole('DONO_SALAO') and @agendamentoSecurityService.isOwnerOfSalaoContainingAgendamento(#id, principal.username))";
+
+    /** Papel do usuário: ADMIN sai no primeiro termo, DONO_SALAO percorre a expressão toda. */
+    @Param({"ADMIN", "DONO_SALAO"})
+    public String papel;
+
+    private WebExpressionAuthorizationManager spel;
+    private RegraAcesso compilada;
+    private Authentication autenticacao;
+    private RequestAuthorizationContext contexto;
+
+    @Setup
+    public void setUp() {
+        SalaoSecurityService seguranca = new SalaoSecurityService() {
+            @Override
+            public boolean isClienteOfAgendamento(Long agendamentoId, String username) {
+                return true;
+            }
+
+            @Override
+            public boolean isProfissionalOfAgendamento(Long agendamentoId, String username) {
+                return true;
+            }
+
+            @Override
+            public boolean isOwnerOfSalaoContainingAgendamento(Long agendamentoId, String username) {
+                return true;
+            }
+        };
+        StaticApplicationContext beans = new StaticApplicationContext();
+        beans.getBeanFactory().registerSingleton("agendamentoSecurityService", seguranca);
+        beans.refresh();
+        DefaultHttpSecurityExpressionHandler handler = new DefaultHttpSecurityExpressionHandler();
+        handler.setApplicationContext(beans);
+        spel = new WebExpressionAuthorizationManager(EXPRESSAO);
+        spel.setExpressionHandler(handler);
+
+        compilada = new RegrasAutorizacao(seguranca).cancelarAgendamento();
+        autenticacao = new UsernamePasswordAuthenticationToken(
+                new UsuarioAutenticado(1L, "usuario@ex.com", papel), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + papel)));
+        contexto = new RequestAuthorizationContext(
+                new MockHttpServletRequest("PUT", "/api/agendamentos/7/cancelar"), Map.of("id", "7"));
+    }
+
+    /** Como era antes: expressão SpEL avaliada a cada requisição. */
+    @Benchmark
+    public AuthorizationDecision spel() {
+        return spel.check(() -> autenticacao, contexto);
+    }
+
+    /** Regra compilada: papel indexado e no máximo uma checagem de posse. */
+    @Benchmark
+    public AuthorizationDecision compilada() {
+        return compilada.check(() -> autenticacao, contexto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AutorizacaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.organizo.organizobackend.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.organizo.organizobackend.security.TokenClaims;
+import com.organizo.organizobackend.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de autenticar uma requisição a partir do header Bearer (validar + ler e-mail e role).
+ * <p>
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.organizo.organizobackend.benchmark.JwtServiceBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SEGREDO = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+    private static final long UM_DIA = 86_400_000L;
+
+    private JwtService comCache;
+    private JwtService semCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        comCache = new JwtService(SEGREDO, UM_DIA, 10_000);
+        semCache = new JwtService(SEGREDO, UM_DIA, 0);
+        token = comCache.generateToken("cliente@ex.com", "CLIENTE");
+    }
+
+    /** Como era antes: Algorithm e verifier novos a cada chamada, token decodificado três vezes. */
+    @Benchmark
+    public String legado() {
+        JWT.require(Algorithm.HMAC256(SEGREDO)).build().verify(token);
+        return JWT.decode(token).getSubject() + JWT.decode(token).getClaim("role").asString();
+    }
+
+    /** Verifier reaproveitado e decodificação única, sem cache de tokens. */
+    @Benchmark
+    public TokenClaims verifierUnico() {
+        return semCache.verificar(token).orElseThrow();
+    }
+
+    /** Mesma sessão repetindo o token: acerto no cache de tokens verificados. */
+    @Benchmark
+    public TokenClaims cacheDeTokens() {
+        return comCache.verificar(token).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
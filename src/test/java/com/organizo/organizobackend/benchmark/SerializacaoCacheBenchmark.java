@@ -0,0 +1,125 @@
+package com.organizo.organizobackend.benchmark;
+
+import com.organizo.organizobackend.cache.CodecsDto;
+import com.organizo.organizobackend.cache.SerializadorBinario;
+import com.organizo.organizobackend.config.RedisConfig;
+import com.organizo.organizobackend.dto.ProfissionalDTO;
+import com.organizo.organizobackend.dto.SalaoDTO;
+import com.organizo.organizobackend.dto.ServicoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização dos valores do cache no Redis: JSON com metadados de tipo (formato anterior)
+ * contra o {@link SerializadorBinario}, para os DTOs de salão, profissional e serviço.
+ * O tamanho de cada payload é impresso no setup.
+ * <p>
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.organizo.organizobackend.benchmark.SerializacaoCacheBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoCacheBenchmark {
+
+    @Param({"salao", "profissional", "servico"})
+    public String tipo;
+
+    private RedisSerializer<Object> json;
+    private RedisSerializer<Object> binario;
+    private Object valor;
+    private byte[] gravadoJson;
+    private byte[] gravadoBinario;
+
+    @Setup
+    public void setUp() {
+        json = RedisConfig.jacksonSerializer();
+        binario = new SerializadorBinario(CodecsDto.todos(), json, 1024);
+        valor = switch (tipo) {
+            case "salao" -> salao();
+            case "profissional" -> profissional();
+            default -> servico();
+        };
+        gravadoJson = json.serialize(valor);
+        gravadoBinario = binario.serialize(valor);
+        System.out.printf("%n%s: json=%d bytes, binario=%d bytes%n", tipo, gravadoJson.length, gravadoBinario.length);
+    }
+
+    @Benchmark
+    public byte[] jsonGravar() {
+        return json.serialize(valor);
+    }
+
+    @Benchmark
+    public Object jsonLer() {
+        return json.deserialize(gravadoJson);
+    }
+
+    @Benchmark
+    public byte[] binarioGravar() {
+        return binario.serialize(valor);
+    }
+
+    @Benchmark
+    public Object binarioLer() {
+        return binario.deserialize(gravadoBinario);
+    }
+
+    private static SalaoDTO salao() {
+        SalaoDTO s = new SalaoDTO();
+        s.setId(1L);
+        s.setNome("Beleza Pura");
+        s.setCnpj("12345678000199");
+        s.setEndereco("Rua das Flores, 123 - Centro, Belo Horizonte - MG");
+        s.setTelefone("31911112222");
+        s.setCriadoEm(LocalDateTime.of(2025, 1, 10, 9, 0));
+        s.setAtualizadoEm(LocalDateTime.of(2025, 2, 3, 17, 45, 12));
+        s.setOwnerId(5L);
+        return s;
+    }
+
+    private static ProfissionalDTO profissional() {
+        ProfissionalDTO p = new ProfissionalDTO();
+        p.setId(3L);
+        p.setNome("Ana");
+        p.setSobrenome("Silva");
+        p.setEmail("ana.silva@belezapura.com.br");
+        p.setTelefone("31999990000");
+        p.setSalaoId(1L);
+        p.setCargo(CargoProfissional.values()[0]);
+        p.setServicoIds(Set.of(2L, 4L, 7L, 11L));
+        p.setCriadoEm(LocalDateTime.of(2025, 1, 12, 8, 30));
+        p.setAtualizadoEm(LocalDateTime.of(2025, 2, 1, 10, 0));
+        return p;
+    }
+
+    private static ServicoDTO servico() {
+        ServicoDTO s = new ServicoDTO();
+        s.setId(2L);
+        s.setNome("Corte de cabelo");
+        s.setDescricao("Corte estilizado, lavagem e secagem");
+        s.setDuracaoMinutos(45);
+        s.setPreco(new BigDecimal("80.50"));
+        s.setSalaoId(1L);
+        s.setProfissionalIds(Set.of(3L, 8L));
+        return s;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SerializacaoCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
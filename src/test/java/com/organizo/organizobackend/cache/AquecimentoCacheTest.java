@@ -0,0 +1,114 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.util.EsbocoFrequencia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AquecimentoCacheTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valores;
+
+    private ConcurrentMapCacheManager remoto;
+    private GerenciadorCacheDuasCamadas caches;
+    private SimpleMeterRegistry registry;
+    private final Set<List<Long>> lotesNoBanco = ConcurrentHashMap.newKeySet();
+    private AquecimentoCache aquecimento;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valores);
+        remoto = new ConcurrentMapCacheManager();
+        registry = new SimpleMeterRegistry();
+        DisjuntorRedis disjuntor = new DisjuntorRedis(registry, 5, Duration.ofSeconds(30), System::nanoTime, Runnable::run);
+        caches = new GerenciadorCacheDuasCamadas(remoto, redis, "canal", Duration.ofMinutes(1), 100,
+                Duration.ofMinutes(10), 0, disjuntor, registry);
+        List<AquecimentoCache.Alvo> alvos = List.of(
+                new AquecimentoCache.Alvo("saloes", ids -> {
+                    lotesNoBanco.add(List.copyOf(ids));
+                    Map<Long, Object> dtos = new HashMap<>();
+                    ids.forEach(id -> dtos.put(id, "Salão " + id));
+                    return dtos;
+                }),
+                new AquecimentoCache.Alvo("servicos", ids -> fail("nenhum serviço acessado")));
+        aquecimento = new AquecimentoCache(caches, redis, disjuntor, registry, alvos, 3, 2, 2, Duration.ofSeconds(5), 1024);
+    }
+
+    @Test
+    void aquecer_deveCarregarOsMaisAcessadosEmLotesSemIrAoBancoPeloQueJaEstaNoRedis() {
+        // Esboço gravado pela execução anterior: 1 > 2 > 3 > 4
+        EsbocoFrequencia anterior = new EsbocoFrequencia(1024, 3);
+        registrar(anterior, 1L, 5);
+        registrar(anterior, 2L, 4);
+        registrar(anterior, 3L, 3);
+        registrar(anterior, 4L, 1);
+        when(valores.get("cache:aquecimento:saloes"))
+                .thenReturn(Base64.getEncoder().encodeToString(anterior.serializar()));
+        remoto.getCache("saloes").put(2L, "Salão 2 do Redis");
+
+        aquecimento.aquecer();
+
+        // Lotes de 2 entre os 3 mais acessados: [1, 2] (2 já no Redis) e [3]
+        assertEquals(Set.of(List.of(1L), List.of(3L)), lotesNoBanco);
+        CacheDuasCamadas saloes = (CacheDuasCamadas) caches.getCache("saloes");
+        assertEquals("Salão 1", saloes.getLocal().getIfPresent("1").valor());
+        assertEquals("Salão 2 do Redis", saloes.getLocal().getIfPresent("2").valor());
+        assertEquals("Salão 3", remoto.getCache("saloes").get(3L).get());
+        assertNull(saloes.getLocal().getIfPresent("4"));
+        assertEquals(3, registry.counter("organizo.cache.aquecimento.entradas", "cache", "saloes").count());
+        // Valores lidos do banco não invalidam a L1 das outras instâncias
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void gravar_deveGuardarNoRedisOsAcessosPeloCacheSoDosCachesUsados() {
+        Cache saloes = caches.getCache("saloes");
+        for (int i = 0; i < 4; i++) {
+            saloes.get(8L, () -> "Salão 8");
+        }
+        // Leitura sem loader (ex.: o próprio aquecimento) não conta
+        saloes.get(9L);
+
+        aquecimento.gravar();
+
+        ArgumentCaptor<String> gravado = ArgumentCaptor.forClass(String.class);
+        verify(valores).set(eq("cache:aquecimento:saloes"), gravado.capture(), eq(Duration.ofDays(7)));
+        verify(valores, never()).set(eq("cache:aquecimento:servicos"), anyString(), any(Duration.class));
+        EsbocoFrequencia esboco = EsbocoFrequencia.desserializar(Base64.getDecoder().decode(gravado.getValue()), 3);
+        assertEquals(4, esboco.estimar(8L));
+        assertEquals(List.of(8L), esboco.maisFrequentes(3));
+    }
+
+    private static void registrar(EsbocoFrequencia esboco, long id, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            esboco.registrar(id);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.organizo.organizobackend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjuntorRedisTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DisjuntorRedis disjuntor = new DisjuntorRedis(registry, 3, Duration.ofSeconds(30), agora::get, Runnable::run);
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    @Test
+    void falhasSeguidas_devemAbrirEEvitarARede() {
+        falhar();
+        falhar();
+        assertEquals(DisjuntorRedis.Estado.FECHADO, disjuntor.getEstado());
+        falhar();
+        assertEquals(DisjuntorRedis.Estado.ABERTO, disjuntor.getEstado());
+
+        assertEquals("reserva", disjuntor.executar(() -> "redis " + chamadas.incrementAndGet(), () -> "reserva"));
+        assertEquals(3, chamadas.get());
+        assertEquals(1, registry.counter("organizo.cache.disjuntor.desviadas").count());
+        assertEquals(2, registry.get("organizo.cache.disjuntor.estado").gauge().value());
+        assertEquals("ABERTO", disjuntor.health().getDetails().get("estado").toString());
+    }
+
+    @Test
+    void sonda_deveFecharComSucessoOuReabrirComFalha() {
+        AtomicInteger recuperacoes = new AtomicInteger();
+        disjuntor.aoRecuperar(recuperacoes::incrementAndGet);
+        falhar();
+        falhar();
+        falhar();
+
+        // Depois do período aberto, uma sonda passa; falhando, reabre por mais um período
+        agora.addAndGet(Duration.ofSeconds(30).toNanos());
+        falhar();
+        assertEquals(DisjuntorRedis.Estado.ABERTO, disjuntor.getEstado());
+        assertFalse(disjuntor.executar(chamadas::incrementAndGet));
+        assertEquals(4, chamadas.get());
+
+        agora.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(disjuntor.executar(chamadas::incrementAndGet));
+        assertEquals(DisjuntorRedis.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(1, recuperacoes.get());
+        assertEquals(1, registry.counter("organizo.cache.disjuntor.transicoes", "estado", "fechado").count());
+    }
+
+    private void falhar() {
+        disjuntor.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new RedisConnectionFailureException("sem conexão");
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.organizo.organizobackend.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EscritorCacheMedidoTest {
+
+    @Test
+    void gravacoes_deveRegistrarOTamanhoSerializadoPorCacheMesmoComEstatisticasLigadas() {
+        RedisCacheWriter delegado = mock(RedisCacheWriter.class);
+        when(delegado.withStatisticsCollector(any())).thenReturn(delegado);
+        when(delegado.putIfAbsent(eq("saloes"), any(), any(), any())).thenReturn(null, new byte[1]);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RedisCacheWriter escritor = new EscritorCacheMedido(delegado, registry)
+                .withStatisticsCollector(CacheStatisticsCollector.create());
+
+        escritor.put("saloes", new byte[1], new byte[100], Duration.ofMinutes(10));
+        escritor.put("clientes", new byte[1], new byte[40], Duration.ofMinutes(10));
+        escritor.putIfAbsent("saloes", new byte[1], new byte[300], Duration.ofMinutes(10));
+        // Já existia: nada gravado, nada medido
+        escritor.putIfAbsent("saloes", new byte[1], new byte[999], Duration.ofMinutes(10));
+
+        DistributionSummary saloes = registry.get("organizo.cache.valor.tamanho").tag("cache", "saloes").summary();
+        assertEquals(2, saloes.count());
+        assertEquals(400, saloes.totalAmount());
+        assertEquals(40, registry.get("organizo.cache.valor.tamanho").tag("cache", "clientes").summary().totalAmount());
+        verify(delegado).put(eq("saloes"), any(), any(), eq(Duration.ofMinutes(10)));
+    }
+}
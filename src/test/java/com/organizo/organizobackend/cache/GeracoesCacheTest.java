@@ -0,0 +1,119 @@
+package com.organizo.organizobackend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeracoesCacheTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valores;
+
+    private DisjuntorRedis disjuntor;
+    private GeracoesCache geracoes;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(valores);
+        disjuntor = new DisjuntorRedis(new SimpleMeterRegistry(), 1, Duration.ZERO, System::nanoTime, Runnable::run);
+        geracoes = new GeracoesCache(redis, disjuntor, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void avancar_deveMudarSoAChaveDoAgregadoAfetado() {
+        when(valores.get("cache:geracao:servicos:1")).thenReturn("4");
+        when(valores.get("cache:geracao:servicos:2")).thenReturn(null);
+        PageRequest pagina = PageRequest.of(0, 10, Sort.by("nome"));
+
+        assertEquals("g4:p0:s10:nome: ASC", geracoes.chave(GeracoesCache.SERVICOS_DO_SALAO, 1L, pagina));
+        assertEquals("g0:p0:s10:nome: ASC", geracoes.chave(GeracoesCache.SERVICOS_DO_SALAO, 2L, pagina));
+
+        when(valores.increment("cache:geracao:servicos:1")).thenReturn(5L);
+        geracoes.avancar(GeracoesCache.SERVICOS_DO_SALAO, 1L);
+
+        assertEquals("g5:p0:s10:nome: ASC", geracoes.chave(GeracoesCache.SERVICOS_DO_SALAO, 1L, pagina));
+        assertEquals("g0:p0:s10:nome: ASC", geracoes.chave(GeracoesCache.SERVICOS_DO_SALAO, 2L, pagina));
+        // Leituras memorizadas: uma ida ao Redis por agregado
+        verify(valores, times(1)).get("cache:geracao:servicos:1");
+    }
+
+    @Test
+    void avancar_dentroDeTransacao_deveEsperarOCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            geracoes.avancar(GeracoesCache.CLIENTES);
+            verify(valores, never()).increment(anyString());
+
+            when(valores.increment("cache:geracao:clientes")).thenReturn(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(valores).increment("cache:geracao:clientes");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void redisFora_deveAvancarLocalmenteEReaplicarQuandoVoltar() {
+        when(valores.get("cache:geracao:saloes")).thenReturn("3");
+        assertEquals(3, geracoes.atual(GeracoesCache.SALOES));
+
+        when(valores.increment("cache:geracao:saloes"))
+                .thenThrow(new RedisConnectionFailureException("sem conexão"));
+        when(valores.increment("cache:geracao:saloes", 1L)).thenReturn(4L);
+        geracoes.avancar(GeracoesCache.SALOES);
+
+        // Páginas montadas antes da escrita não são mais lidas, mesmo sem o Redis
+        assertEquals(4, geracoes.atual(GeracoesCache.SALOES));
+        assertEquals(DisjuntorRedis.Estado.ABERTO, disjuntor.getEstado());
+
+        // Próxima chamada é a sonda: o Redis responde, o disjuntor fecha e o INCR perdido é reaplicado
+        assertEquals(0, geracoes.atual(GeracoesCache.CLIENTES));
+        assertEquals(DisjuntorRedis.Estado.FECHADO, disjuntor.getEstado());
+        verify(valores).increment("cache:geracao:saloes", 1L);
+    }
+
+    @Test
+    void redisFora_variosAvancos_naoDevemVoltarAGeracaoAoReaplicar() {
+        when(valores.get("cache:geracao:saloes")).thenReturn("3");
+        assertEquals(3, geracoes.atual(GeracoesCache.SALOES));
+
+        // Três escritas com o Redis fora (cada chamada seguinte é uma sonda que falha)
+        when(valores.increment("cache:geracao:saloes"))
+                .thenThrow(new RedisConnectionFailureException("sem conexão"));
+        geracoes.avancar(GeracoesCache.SALOES);
+        geracoes.avancar(GeracoesCache.SALOES);
+        geracoes.avancar(GeracoesCache.SALOES);
+        assertEquals(6, geracoes.atual(GeracoesCache.SALOES));
+
+        // O Redis volta sem a chave: INCRBY 3 dá 3, abaixo da geração local; avança para 7
+        doReturn(3L).when(valores).increment("cache:geracao:saloes", 3L);
+        doReturn(7L).when(valores).increment("cache:geracao:saloes", 4L);
+        doReturn(null).when(valores).get("cache:geracao:clientes");
+        doReturn("7").when(valores).get("cache:geracao:saloes");
+        assertEquals(0, geracoes.atual(GeracoesCache.CLIENTES));
+        assertEquals(DisjuntorRedis.Estado.FECHADO, disjuntor.getEstado());
+
+        assertEquals(7, geracoes.atual(GeracoesCache.SALOES));
+        verify(valores).increment("cache:geracao:saloes", 3L);
+        verify(valores).increment("cache:geracao:saloes", 4L);
+    }
+}
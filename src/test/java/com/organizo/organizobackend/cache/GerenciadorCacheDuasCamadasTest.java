@@ -0,0 +1,252 @@
+package com.organizo.organizobackend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GerenciadorCacheDuasCamadasTest {
+
+    private static final String CANAL = "canal";
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    private ConcurrentMapCacheManager remoto;
+    private GerenciadorCacheDuasCamadas caches;
+    private SimpleMeterRegistry registry;
+    private final AtomicLong agora = new AtomicLong();
+    private DisjuntorRedis disjuntor;
+
+    @BeforeEach
+    void setUp() {
+        remoto = new ConcurrentMapCacheManager();
+        registry = new SimpleMeterRegistry();
+        disjuntor = new DisjuntorRedis(registry, 2, Duration.ofSeconds(30), agora::get, Runnable::run);
+        caches = novo(0, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void get_deveServirDaCamadaLocalDepoisDaPrimeiraLeituraNoRemoto() {
+        remoto.getCache("saloes").put(1L, "Salão 1");
+        Cache cache = caches.getCache("saloes");
+
+        assertEquals("Salão 1", cache.get(1L).get());
+        // Valor trocado direto no remoto: a L1 ainda responde sem ir ao Redis
+        remoto.getCache("saloes").put(1L, "alterado");
+        assertEquals("Salão 1", cache.get(1L).get());
+
+        AtomicInteger cargas = new AtomicInteger();
+        assertEquals("Salão 2", cache.get(2L, () -> "Salão " + cargas.incrementAndGet() * 2));
+        assertEquals("Salão 2", cache.get(2L, () -> "Salão " + cargas.incrementAndGet() * 2));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void evict_deveRemoverDasDuasCamadasEAnunciarAsOutrasInstancias() {
+        Cache cache = caches.getCache("saloes");
+        cache.put(1L, "Salão 1");
+        clearInvocations(redis);
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        assertNull(remoto.getCache("saloes").get(1L));
+        ArgumentCaptor<String> mensagem = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(CANAL), mensagem.capture());
+        assertEquals(caches.getOrigem() + "\nsaloes\n1", mensagem.getValue());
+    }
+
+    @Test
+    void receber_deveDescartarAL1SoParaMensagensDeOutraInstancia() {
+        CacheDuasCamadas cache = (CacheDuasCamadas) caches.getCache("saloes");
+        cache.put(1L, "Salão 1");
+        cache.put(2L, "Salão 2");
+
+        caches.receber(caches.getOrigem() + "\nsaloes\n1");
+        assertNotNull(cache.getLocal().getIfPresent("1"));
+
+        caches.receber("outra\nsaloes\n1");
+        assertNull(cache.getLocal().getIfPresent("1"));
+        assertNotNull(cache.getLocal().getIfPresent("2"));
+
+        caches.receber("outra\nsaloes");
+        assertEquals(0, cache.getLocal().estimatedSize());
+        // O Redis continua com os valores: a próxima leitura repovoa a L1
+        assertEquals("Salão 2", cache.get(2L).get());
+    }
+
+    @Test
+    void get_comLoader_deveCarregarUmaVezPorChaveMesmoComRequisicoesSimultaneas() throws Exception {
+        Cache cache = caches.getCache("profissionais");
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        int simultaneas = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(simultaneas);
+        try {
+            List<Future<String>> respostas = new ArrayList<>();
+            for (int i = 0; i < simultaneas; i++) {
+                respostas.add(pool.submit(() -> cache.get(7L, () -> {
+                    cargas.incrementAndGet();
+                    liberar.await();
+                    return "Profissional 7";
+                })));
+            }
+            // Espera todas as outras requisições estarem aguardando a carga em andamento
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (contador("profissionais", "coalescida") < simultaneas - 1 && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+            for (Future<String> resposta : respostas) {
+                assertEquals("Profissional 7", resposta.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(1, contador("profissionais", "carga"));
+        assertEquals(simultaneas - 1, contador("profissionais", "coalescida"));
+        assertEquals("Profissional 7", remoto.getCache("profissionais").get(7L).get());
+        // Carga pelo loader não é escrita: nada é anunciado às outras instâncias
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void get_comLoader_deveRecarregarAntesQuandoAEntradaGravadaAquiEstaPertoDeVencerNoRedis() {
+        // Um segundo de validade no Redis e beta alto: a recarga antecipada é praticamente certa
+        caches = novo(1e9, Duration.ofSeconds(1));
+        CacheDuasCamadas cache = (CacheDuasCamadas) caches.getCache("servicos");
+        AtomicInteger cargas = new AtomicInteger();
+        cache.get(9L, () -> { // registra um custo de carga de pelo menos 1 ms
+            Thread.sleep(1);
+            return "custo " + cargas.incrementAndGet();
+        });
+        remoto.getCache("servicos").put(3L, "de outra instância");
+        cache.get(2L, () -> "antigo");
+        // A entrada saiu da L1 (TTL curto), mas esta instância ainda sabe quando vence no Redis
+        cache.getLocal().invalidate("2");
+
+        assertEquals("antigo", cache.get(2L, () -> "novo"));
+        assertEquals("novo", remoto.getCache("servicos").get(2L).get());
+        assertEquals(1, contador("servicos", "antecipada"));
+
+        // Gravada por outra instância: vencimento desconhecido, sem recarga antecipada nem consulta extra
+        assertEquals("de outra instância", cache.get(3L, () -> "recarregado"));
+        assertEquals("de outra instância", remoto.getCache("servicos").get(3L).get());
+        assertEquals(1, contador("servicos", "antecipada"));
+
+        // Sem recarga antecipada (beta 0), o valor só é recarregado quando falta
+        caches = novo(0, Duration.ofSeconds(1));
+        assertEquals("novo", caches.getCache("servicos").get(2L, () -> "outro"));
+    }
+
+    @Test
+    void metricas_deveSepararAcertosDaL1ECargasPorCache() {
+        Cache cache = caches.getCache("clientes");
+        cache.get(1L, () -> "Cliente 1");
+        cache.get(1L, () -> "outro");
+        cache.get(1L, () -> "outro");
+
+        assertEquals(2, registry.get("cache.gets").tags("cache", "clientes", "camada", "l1", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "clientes", "camada", "l1", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tags("cache", "clientes", "camada", "l1").gauge().value());
+        assertEquals(1, registry.get("organizo.cache.carga.duracao").tag("cache", "clientes").timer().count());
+    }
+
+    @Test
+    void redisFora_deveUsarSoAL1SemTentarARedeEEsvaziarOCacheAoVoltar() {
+        AtomicBoolean foraDoAr = new AtomicBoolean();
+        AtomicInteger tentativas = new AtomicInteger();
+        remoto = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new ConcurrentMapCache(name) {
+                    @Override
+                    public ValueWrapper get(Object key) {
+                        tentar();
+                        return super.get(key);
+                    }
+
+                    @Override
+                    public void put(Object key, Object value) {
+                        tentar();
+                        super.put(key, value);
+                    }
+
+                    @Override
+                    public void evict(Object key) {
+                        tentar();
+                        super.evict(key);
+                    }
+
+                    private void tentar() {
+                        if (foraDoAr.get()) {
+                            tentativas.incrementAndGet();
+                            throw new RedisConnectionFailureException("Redis fora do ar");
+                        }
+                    }
+                };
+            }
+        };
+        caches = novo(0, Duration.ofMinutes(10));
+        Cache cache = caches.getCache("saloes");
+        remoto.getCache("saloes").put(1L, "antigo");
+
+        foraDoAr.set(true);
+        assertNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertEquals(DisjuntorRedis.Estado.ABERTO, disjuntor.getEstado());
+
+        // Aberto: carga e escrita só na L1, nenhuma tentativa de rede
+        assertEquals("Salão 2", cache.get(2L, () -> "Salão 2"));
+        assertEquals("Salão 2", cache.get(2L, () -> "outro"));
+        cache.evict(1L);
+        assertEquals(2, tentativas.get());
+
+        // Sonda com sucesso: o cache que perdeu a remoção de 1 é esvaziado no Redis
+        foraDoAr.set(false);
+        agora.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertNull(cache.get(5L));
+        assertEquals(DisjuntorRedis.Estado.FECHADO, disjuntor.getEstado());
+        assertNull(remoto.getCache("saloes").get(1L));
+    }
+
+    private GerenciadorCacheDuasCamadas novo(double beta, Duration ttlRemoto) {
+        return new GerenciadorCacheDuasCamadas(remoto, redis, CANAL, Duration.ofMinutes(1), 100,
+                ttlRemoto, beta, disjuntor, registry);
+    }
+
+    private long contador(String cache, String tipo) {
+        return (long) registry.counter("organizo.cache.carregamentos", "cache", cache, "tipo", tipo).count();
+    }
+}
@@ -0,0 +1,110 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.config.RedisConfig;
+import com.organizo.organizobackend.dto.ClienteDTO;
+import com.organizo.organizobackend.dto.PaginatedResponse;
+import com.organizo.organizobackend.dto.ProfissionalDTO;
+import com.organizo.organizobackend.dto.ServicoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializadorBinarioTest {
+
+    private final GenericJackson2JsonRedisSerializer json = RedisConfig.jacksonSerializer();
+    private final SerializadorBinario serializador = new SerializadorBinario(CodecsDto.todos(), json, 256);
+
+    @Test
+    void dtos_devemIrEVoltarMenoresQueOJson() {
+        ProfissionalDTO p = new ProfissionalDTO();
+        p.setId(3L);
+        p.setNome("Ana");
+        p.setSobrenome("Silva");
+        p.setEmail("ana@ex.com");
+        p.setSalaoId(1L);
+        p.setCargo(CargoProfissional.values()[0]);
+        p.setServicoIds(Set.of(1L, 2L, 300L));
+        p.setCriadoEm(LocalDateTime.of(2025, 3, 1, 10, 30, 15, 123_000_000));
+
+        byte[] bytes = serializador.serialize(p);
+        ProfissionalDTO lido = (ProfissionalDTO) serializador.deserialize(bytes);
+        assertEquals(SerializadorBinario.MAGICO, bytes[0]);
+        assertTrue(bytes.length * 3 < json.serialize(p).length);
+        assertEquals("ana@ex.com", lido.getEmail());
+        assertNull(lido.getTelefone());
+        assertEquals(Set.of(1L, 2L, 300L), lido.getServicoIds());
+        assertEquals(p.getCriadoEm(), lido.getCriadoEm());
+        assertNull(lido.getAtualizadoEm());
+
+        ServicoDTO s = new ServicoDTO();
+        s.setId(-2L);
+        s.setPreco(new BigDecimal("80.50"));
+        s.setDuracaoMinutos(45);
+        ServicoDTO servicoLido = (ServicoDTO) serializador.deserialize(serializador.serialize(s));
+        assertEquals(-2L, servicoLido.getId());
+        assertEquals(new BigDecimal("80.50"), servicoLido.getPreco());
+        assertEquals(45, servicoLido.getDuracaoMinutos());
+    }
+
+    @Test
+    void valorGrande_deveSerComprimidoEDescomprimido() {
+        ClienteDTO c = ClienteDTO.builder()
+                .id(10L)
+                .nome("Maria ".repeat(100))
+                .email("maria@ex.com")
+                .build();
+
+        byte[] bytes = serializador.serialize(c);
+        assertEquals(1, bytes[2] & 1);
+        assertTrue(bytes.length < 200);
+        assertEquals(c.getNome(), ((ClienteDTO) serializador.deserialize(bytes)).getNome());
+    }
+
+    @Test
+    void tiposSemCodecEValoresJsonAntigos_devemUsarOJson() {
+        Map<String, List<Long>> semCodec = new HashMap<>();
+        semCodec.put("ids", new ArrayList<>(List.of(1L, 2L)));
+        byte[] bytes = serializador.serialize(semCodec);
+        assertEquals('{', bytes[0]);
+        assertEquals(semCodec, serializador.deserialize(bytes));
+
+        ServicoDTO s = new ServicoDTO();
+        s.setNome("Corte");
+        assertEquals("Corte", ((ServicoDTO) serializador.deserialize(json.serialize(s))).getNome());
+
+        // Páginas de listagem em cache
+        PaginatedResponse<ServicoDTO> pagina = PaginatedResponse.de(new PageImpl<>(List.of(s), PageRequest.of(2, 1), 7));
+        @SuppressWarnings("unchecked")
+        PaginatedResponse<ServicoDTO> lida = (PaginatedResponse<ServicoDTO>) serializador.deserialize(serializador.serialize(pagina));
+        assertEquals("Corte", lida.getContent().get(0).getNome());
+        assertEquals(2, lida.getPageNumber());
+        assertEquals(7, lida.getTotalPages());
+    }
+
+    @Test
+    void versaoOuTipoDesconhecidos_devemSerLidosComoAusentes() {
+        ServicoDTO s = new ServicoDTO();
+        s.setNome("Corte");
+        byte[] bytes = serializador.serialize(s);
+
+        byte[] versaoNova = bytes.clone();
+        versaoNova[4] = 9; // tipo (1 byte) em [3], versão em [4]
+        assertNull(serializador.deserialize(versaoNova));
+
+        byte[] tipoDesconhecido = bytes.clone();
+        tipoDesconhecido[3] = 99;
+        assertNull(serializador.deserialize(tipoDesconhecido));
+    }
+}
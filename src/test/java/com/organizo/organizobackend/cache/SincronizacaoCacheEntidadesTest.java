@@ -0,0 +1,129 @@
+package com.organizo.organizobackend.cache;
+
+import com.organizo.organizobackend.dto.SalaoDTO;
+import com.organizo.organizobackend.dto.ServicoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.model.Profissional;
+import com.organizo.organizobackend.model.Salao;
+import com.organizo.organizobackend.model.Servico;
+import com.organizo.organizobackend.model.Usuario;
+import com.organizo.organizobackend.repository.ProfissionalRepository;
+import com.organizo.organizobackend.repository.SalaoRepository;
+import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.repository.UsuarioRepository;
+import com.organizo.organizobackend.service.ServicoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Escritas pelo JPA (serviços ou repositórios) atualizam o cache após o commit, sem anotações nos serviços.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:sincronizacaocache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class SincronizacaoCacheEntidadesTest {
+
+    @MockBean private GerenciadorCacheDuasCamadas caches;
+    @MockBean private GeracoesCache geracoes;
+
+    @Autowired private ServicoService servicoService;
+    @Autowired private ServicoRepository servRepo;
+    @Autowired private SalaoRepository salaoRepo;
+    @Autowired private ProfissionalRepository profRepo;
+    @Autowired private UsuarioRepository usuarioRepo;
+    @Autowired private TransactionTemplate transacao;
+
+    private final Map<String, Cache> mapa = new ConcurrentHashMap<>();
+    private Salao salao;
+
+    @BeforeEach
+    void setUp() {
+        when(caches.getCache(anyString())).thenAnswer(inv -> mapa.computeIfAbsent(inv.getArgument(0), ConcurrentMapCache::new));
+        Usuario dono = usuarioRepo.save(new Usuario("dono" + UUID.randomUUID() + "@ex.com", "x", "Dono", Role.DONO_SALAO));
+        Salao s = new Salao();
+        s.setNome("Salão Cache");
+        s.setCnpj("12345678000199");
+        s.setOwner(dono);
+        salao = salaoRepo.save(s);
+    }
+
+    @Test
+    void atualizar_deveGravarODtoNovoNoCacheEAvancarOCatalogoDoSalao() {
+        ServicoDTO dto = new ServicoDTO();
+        dto.setNome("Corte");
+        dto.setDuracaoMinutos(30);
+        dto.setPreco(BigDecimal.TEN);
+        dto.setProfissionalIds(new HashSet<>());
+        Long id = servicoService.criar(salao.getId(), dto).getId();
+        assertEquals("Corte", emCache("servicos", id, ServicoDTO.class).getNome());
+
+        dto.setNome("Corte e barba");
+        servicoService.atualizar(id, dto);
+
+        assertEquals("Corte e barba", emCache("servicos", id, ServicoDTO.class).getNome());
+        verify(geracoes, atLeast(2)).avancar(GeracoesCache.SERVICOS_DO_SALAO, salao.getId());
+
+        // Alteração direto pelo repositório (sem passar pelo serviço) também chega ao cache
+        salao.setNome("Salão Renomeado");
+        salaoRepo.save(salao);
+        assertEquals("Salão Renomeado", emCache("saloes", salao.getId(), SalaoDTO.class).getNome());
+        verify(geracoes, atLeastOnce()).avancar(GeracoesCache.SALOES);
+    }
+
+    @Test
+    void mudancaSoNaColecao_deveAtualizarODonoEExclusaoDeveRemover() {
+        Servico sv = new Servico();
+        sv.setNome("Escova");
+        sv.setDuracaoMinutos(40);
+        sv.setPreco(BigDecimal.ONE);
+        sv.setSalao(salao);
+        sv.setProfissionais(new HashSet<>());
+        Long id = servRepo.save(sv).getId();
+
+        Profissional p = new Profissional();
+        p.setNome("Ana");
+        p.setSobrenome("Silva");
+        p.setEmail("ana" + UUID.randomUUID() + "@ex.com");
+        p.setCargo(CargoProfissional.values()[0]);
+        p.setSalao(salao);
+        Long profissionalId = profRepo.save(p).getId();
+
+        // Como o ServicoProfissionalController: só a associação muda
+        transacao.executeWithoutResult(status -> {
+            Servico servico = servRepo.findById(id).orElseThrow();
+            servico.getProfissionais().add(profRepo.findById(profissionalId).orElseThrow());
+        });
+        assertEquals(Set.of(profissionalId), emCache("servicos", id, ServicoDTO.class).getProfissionalIds());
+
+        servicoService.deletar(id);
+        assertNull(mapa.get("servicos").get(id));
+    }
+
+    private <T> T emCache(String cache, Long id, Class<T> tipo) {
+        Cache c = mapa.get(cache);
+        assertNotNull(c, "cache " + cache + " não usado");
+        T valor = c.get(id, tipo);
+        assertNotNull(valor, cache + "::" + id + " ausente");
+        return valor;
+    }
+}
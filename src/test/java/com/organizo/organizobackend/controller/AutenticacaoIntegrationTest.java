@@ -0,0 +1,65 @@
+package com.organizo.organizobackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.organizo.organizobackend.dto.RegistroRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:autenticacao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class AutenticacaoIntegrationTest {
+
+    @Autowired private MockMvc mvc;
+    @Autowired private ObjectMapper json;
+    @Autowired private EntityManagerFactory emf;
+
+    @Test
+    void tokenDoRegistro_deveAutenticarSemConsultarOBanco() throws Exception {
+        RegistroRequest reg = new RegistroRequest();
+        reg.setEmail("auth@ex.com");
+        reg.setSenha("123456");
+        reg.setNome("Auth");
+        reg.setRole("CLIENTE");
+
+        String corpo = mvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(reg)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode resposta = json.readTree(corpo);
+        String token = resposta.get("token").asText();
+
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mvc.perform(get("/api/hello").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void semTokenOuComTokenInvalido_deveResponder401() throws Exception {
+        mvc.perform(get("/api/hello"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/hello").header("Authorization", "Bearer abc.def.ghi"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,71 @@
+package com.organizo.organizobackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.organizo.organizobackend.dto.LoginRequest;
+import com.organizo.organizobackend.service.EmailsConhecidosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:authlimite;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "auth.limite.ip.capacidade=4",
+        "auth.limite.ip.periodo=1h",
+        "auth.limite.email.capacidade=2",
+        "auth.limite.email.periodo=1h"
+})
+@AutoConfigureMockMvc
+class AuthLimiteIntegrationTest {
+
+    @Autowired private MockMvc mvc;
+    @Autowired private ObjectMapper json;
+    // Primeira etapa do login após o limite (antes do banco e do BCrypt)
+    @SpyBean private EmailsConhecidosService emailsConhecidos;
+
+    @Test
+    void login_deveResponder429AntesDeQualquerConsultaAoPassarDosLimites() throws Exception {
+        // Por conta: o e-mail é normalizado, então variações de caixa contam juntas
+        login("10.0.0.1", "alvo@ex.com").andExpect(status().isNotFound());
+        login("10.0.0.2", " ALVO@ex.com").andExpect(status().isNotFound());
+        login("10.0.0.3", "Alvo@Ex.com")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        verify(emailsConhecidos, times(2)).talvezUsuario(anyString());
+
+        // Por IP: contas diferentes, mesmo endereço
+        clearInvocations(emailsConhecidos);
+        for (int i = 0; i < 4; i++) {
+            login("10.0.0.9", "conta" + i + "@ex.com").andExpect(status().isNotFound());
+        }
+        login("10.0.0.9", "outra@ex.com")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+        verify(emailsConhecidos, times(4)).talvezUsuario(anyString());
+    }
+
+    private ResultActions login(String ip, String email) throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setEmail(email);
+        req.setSenha("123456");
+        return mvc.perform(post("/api/auth/login")
+                .with(r -> {
+                    r.setRemoteAddr(ip);
+                    return r;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json.writeValueAsString(req)));
+    }
+}
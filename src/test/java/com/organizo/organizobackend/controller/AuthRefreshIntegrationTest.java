@@ -0,0 +1,72 @@
+package com.organizo.organizobackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.organizo.organizobackend.dto.RefreshRequest;
+import com.organizo.organizobackend.dto.RegistroRequest;
+import com.organizo.organizobackend.service.SenhaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:refresh;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class AuthRefreshIntegrationTest {
+
+    @Autowired private MockMvc mvc;
+    @Autowired private ObjectMapper json;
+    @SpyBean private SenhaService senhas;
+
+    @Test
+    void refresh_deveRotacionarSemVerificarSenhaERevogarAFamiliaNoReuso() throws Exception {
+        RegistroRequest reg = new RegistroRequest();
+        reg.setEmail("refresh@ex.com");
+        reg.setSenha("123456");
+        reg.setNome("Refresh");
+        reg.setRole("CLIENTE");
+        JsonNode registro = json.readTree(mvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(reg)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andReturn().getResponse().getContentAsString());
+        String primeiro = registro.get("refreshToken").asText();
+
+        JsonNode renovado = json.readTree(refresh(primeiro)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.email").value("refresh@ex.com"))
+                .andReturn().getResponse().getContentAsString());
+        String segundo = renovado.get("refreshToken").asText();
+        assertNotEquals(primeiro, segundo);
+        verify(senhas, never()).confere(anyString(), anyString());
+
+        // Reapresentar o token já trocado revoga a família: nem o mais novo vale mais
+        refresh(primeiro).andExpect(status().isUnauthorized());
+        refresh(segundo).andExpect(status().isUnauthorized());
+        refresh("token-que-nunca-existiu").andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String token) throws Exception {
+        RefreshRequest req = new RefreshRequest();
+        req.setRefreshToken(token);
+        return mvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json.writeValueAsString(req)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.organizo.organizobackend.security;
+
+import com.organizo.organizobackend.service.SalaoSecurityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegrasAutorizacaoTest {
+
+    private static final String EMAIL = "usuario@ex.com";
+
+    @Mock
+    private SalaoSecurityService seguranca;
+
+    private RegrasAutorizacao regras;
+
+    @BeforeEach
+    void setUp() {
+        regras = new RegrasAutorizacao(seguranca);
+    }
+
+    @Test
+    void cancelar_deveLiberarAdminEBarrarPapelNaoAceitoSemConsultarPosse() {
+        assertTrue(decidir(regras.cancelarAgendamento(), "ADMIN", Map.of("id", "7")));
+        assertFalse(decidir(regras.confirmarAgendamento(), "CLIENTE", Map.of("id", "7")));
+        assertFalse(decidir(regras.alterarSalao(), "PROFISSIONAL", Map.of("id", "7")));
+
+        verifyNoInteractions(seguranca);
+    }
+
+    @Test
+    void cancelar_deveFazerSoAChecagemDePosseDoPapelDoUsuario() {
+        when(seguranca.isOwnerOfSalaoContainingAgendamento(7L, EMAIL)).thenReturn(true);
+
+        assertTrue(decidir(regras.cancelarAgendamento(), "DONO_SALAO", Map.of("id", "7")));
+        // ID inválido no path: negado sem consulta
+        assertFalse(decidir(regras.cancelarAgendamento(), "DONO_SALAO", Map.of("id", "abc")));
+
+        verify(seguranca).isOwnerOfSalaoContainingAgendamento(7L, EMAIL);
+        verifyNoMoreInteractions(seguranca);
+    }
+
+    @Test
+    void semPrincipalDoJwt_deveUsarAsAuthorities() {
+        when(seguranca.isClienteOwner(3L, EMAIL)).thenReturn(false);
+        Authentication auth = new UsernamePasswordAuthenticationToken(EMAIL, null,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENTE")));
+
+        assertFalse(regras.agendamentosDoCliente()
+                .check(() -> auth, contexto(Map.of("clienteId", "3"))).isGranted());
+        assertFalse(regras.agendamentosDoCliente()
+                .check(() -> null, contexto(Map.of("clienteId", "3"))).isGranted());
+        verify(seguranca).isClienteOwner(3L, EMAIL);
+    }
+
+    private static boolean decidir(RegraAcesso regra, String papel, Map<String, String> variaveis) {
+        Authentication auth = new UsernamePasswordAuthenticationToken(
+                new UsuarioAutenticado(1L, EMAIL, papel), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + papel)));
+        return regra.check(() -> auth, contexto(variaveis)).isGranted();
+    }
+
+    private static RequestAuthorizationContext contexto(Map<String, String> variaveis) {
+        return new RequestAuthorizationContext(new MockHttpServletRequest(), variaveis);
+    }
+}
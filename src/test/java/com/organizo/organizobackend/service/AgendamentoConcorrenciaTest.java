@@ -0,0 +1,209 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.model.*;
+import com.organizo.organizobackend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class AgendamentoConcorrenciaTest {
+
+    private static final int TENTATIVAS = 3000;
+    private static final int THREADS = 32;
+    private static final int DURACAO_MINUTOS = 30;
+
+    @Autowired private AgendamentoService service;
+    @Autowired private AgendamentoRepository agRepo;
+    @Autowired private AgendamentoSlotRepository slotRepo;
+    @Autowired private ClienteRepository clienteRepo;
+    @Autowired private ProfissionalRepository profRepo;
+    @Autowired private ServicoRepository servRepo;
+    @Autowired private SalaoRepository salaoRepo;
+    @Autowired private UsuarioRepository usuarioRepo;
+    @Autowired private TransactionTemplate tx;
+    @Autowired private PreenchimentoSlotsService preenchimento;
+
+    // Os e-mails não fazem parte do que está sendo testado
+    @MockBean private EmailService emailService;
+
+    private Cliente cliente;
+    private Servico servico;
+    private List<Profissional> profissionais;
+    private final LocalDate dia = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        slotRepo.deleteAll();
+        agRepo.deleteAll();
+
+        Usuario dono = usuarioRepo.save(new Usuario("dono" + UUID.randomUUID() + "@ex.com", "x", "Dono", Role.DONO_SALAO));
+        Salao salao = new Salao();
+        salao.setNome("Salão Teste");
+        salao.setCnpj("12345678000199");
+        salao.setOwner(dono);
+        salao = salaoRepo.save(salao);
+
+        profissionais = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Profissional p = new Profissional();
+            p.setNome("Prof" + i);
+            p.setSobrenome("Teste");
+            p.setEmail("prof" + i + UUID.randomUUID() + "@ex.com");
+            p.setCargo(CargoProfissional.CABELEIREIRO);
+            p.setSalao(salao);
+            profissionais.add(profRepo.save(p));
+        }
+
+        Servico s = new Servico();
+        s.setNome("Corte");
+        s.setDuracaoMinutos(DURACAO_MINUTOS);
+        s.setPreco(BigDecimal.TEN);
+        s.setSalao(salao);
+        servico = servRepo.save(s);
+
+        cliente = clienteRepo.save(new Cliente(null, "Cliente", "Teste", "cli" + UUID.randomUUID() + "@ex.com",
+                null, "x", "CLIENTE", null, null));
+    }
+
+    @Test
+    void criarEmParalelo_naoDevePermitirAgendamentosSobrepostos() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < TENTATIVAS; i++) {
+            Profissional prof = profissionais.get(i % profissionais.size());
+            // Inícios a cada 10 minutos com serviço de 30: quase todos se sobrepõem a vizinhos
+            LocalDateTime inicio = dia.atTime(9, 0).plusMinutes(10L * ThreadLocalRandom.current().nextInt(24));
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                try {
+                    service.criar(dto(prof.getId(), inicio));
+                    sucessos.incrementAndGet();
+                } catch (BusinessException e) {
+                    conflitos.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> f : futuros) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(TENTATIVAS, sucessos.get() + conflitos.get());
+        assertTrue(sucessos.get() > 0);
+        assertSemSobreposicao();
+    }
+
+    @Test
+    void criar_comMemoriaDesatualizada_deveSerBarradoPeloBanco() {
+        Profissional prof = profissionais.get(0);
+        LocalDateTime inicio = dia.atTime(14, 0);
+        // Carrega o dia em memória antes da gravação feita pela "outra instância"
+        service.criar(dto(prof.getId(), inicio.plusHours(3)));
+
+        // Outra instância grava um agendamento direto no banco (com seus buckets)
+        tx.executeWithoutResult(status -> {
+            Agendamento ag = new Agendamento();
+            ag.setCliente(cliente);
+            ag.setProfissional(prof);
+            ag.setServico(servico);
+            ag.setDataHoraAgendada(inicio);
+            Agendamento salvo = agRepo.save(ag);
+            slotRepo.saveAll(List.of(
+                    new AgendamentoSlot(prof.getId(), inicio, salvo.getId()),
+                    new AgendamentoSlot(prof.getId(), inicio.plusMinutes(5), salvo.getId())));
+        });
+
+        // Esta instância não conhece o agendamento acima; o banco deve recusar
+        assertThrows(BusinessException.class, () -> service.criar(dto(prof.getId(), inicio.plusMinutes(5))));
+        assertSemSobreposicao();
+    }
+
+    @Test
+    void preencher_deveGravarBucketsDosAgendamentosAntigosParaOBancoBarrarSobreposicao() {
+        Profissional prof = profissionais.get(1);
+        LocalDateTime inicio = dia.atTime(10, 0);
+        // Gravados antes de agendamento_slot existir: nenhum bucket
+        Agendamento antigo = antigo(prof, inicio, StatusAgendamento.CONFIRMADO);
+        Agendamento sobreposto = antigo(prof, inicio.plusMinutes(10), StatusAgendamento.PENDENTE);
+        Agendamento cancelado = antigo(prof, inicio.plusHours(2), StatusAgendamento.CANCELADO);
+
+        assertEquals(1, preenchimento.preencher());
+
+        Map<Long, Long> bucketsPorAgendamento = slotRepo.findAll().stream()
+                .collect(Collectors.groupingBy(AgendamentoSlot::getAgendamentoId, Collectors.counting()));
+        assertEquals(DURACAO_MINUTOS / 5, bucketsPorAgendamento.get(antigo.getId()));
+        assertNull(bucketsPorAgendamento.get(sobreposto.getId()));
+        assertNull(bucketsPorAgendamento.get(cancelado.getId()));
+
+        // Uma segunda passada não acha mais nada
+        assertEquals(0, preenchimento.preencher());
+
+        // O horário do agendamento antigo agora é protegido pela chave primária
+        assertThrows(DataIntegrityViolationException.class, () -> slotRepo.saveAndFlush(
+                new AgendamentoSlot(prof.getId(), inicio.plusMinutes(10), sobreposto.getId())));
+    }
+
+    private Agendamento antigo(Profissional prof, LocalDateTime inicio, StatusAgendamento status) {
+        Agendamento ag = new Agendamento();
+        ag.setCliente(cliente);
+        ag.setProfissional(prof);
+        ag.setServico(servico);
+        ag.setDataHoraAgendada(inicio);
+        ag.setStatus(status);
+        return agRepo.save(ag);
+    }
+
+    private void assertSemSobreposicao() {
+        Map<Long, List<Agendamento>> porProfissional = tx.execute(status -> agRepo.findAll().stream()
+                .collect(Collectors.groupingBy(a -> a.getProfissional().getId())));
+
+        porProfissional.forEach((profId, ags) -> {
+            ags.sort(Comparator.comparing(Agendamento::getDataHoraAgendada));
+            for (int i = 1; i < ags.size(); i++) {
+                LocalDateTime fimAnterior = ags.get(i - 1).getDataHoraAgendada()
+                        .plusMinutes(ags.get(i - 1).getServico().getDuracaoMinutos());
+                assertFalse(fimAnterior.isAfter(ags.get(i).getDataHoraAgendada()),
+                        "Agendamentos sobrepostos para o profissional " + profId);
+            }
+        });
+    }
+
+    private AgendamentoDTO dto(Long profissionalId, LocalDateTime inicio) {
+        AgendamentoDTO dto = new AgendamentoDTO();
+        dto.setClienteId(cliente.getId());
+        dto.setProfissionalId(profissionalId);
+        dto.setServicoId(servico.getId());
+        dto.setDataHoraAgendada(inicio);
+        return dto;
+    }
+}
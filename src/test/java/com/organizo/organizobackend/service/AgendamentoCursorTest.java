@@ -0,0 +1,77 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.dto.CursorPaginatedResponse;
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import com.organizo.organizobackend.repository.ClienteRepository;
+import com.organizo.organizobackend.service.impl.AgendamentoServiceImpl;
+import com.organizo.organizobackend.util.CursorAgendamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgendamentoCursorTest {
+
+    @Mock private AgendamentoRepository agRepo;
+    @Mock private ClienteRepository clienteRepo;
+
+    @InjectMocks
+    private AgendamentoServiceImpl service;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 10, 9, 0);
+
+    @Test
+    void primeiraPagina_deveBuscarUmAMaisEGerarCursorDoUltimoItem() {
+        when(clienteRepo.existsById(1L)).thenReturn(true);
+        when(agRepo.findPrimeirosPorCliente(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(ag(10L, base), ag(11L, base), ag(12L, base.plusHours(1))));
+
+        CursorPaginatedResponse<AgendamentoDTO> pagina = service.listarPorClienteComCursor(1L, "", 2);
+
+        verify(agRepo).findPrimeirosPorCliente(1L, PageRequest.of(0, 3));
+        assertEquals(2, pagina.getContent().size());
+        assertTrue(pagina.isHasNext());
+        CursorAgendamento proximo = CursorAgendamento.decodificar(pagina.getNextCursor());
+        assertEquals(base, proximo.getDataHora());
+        assertEquals(11L, proximo.getId());
+    }
+
+    @Test
+    void paginaSeguinte_deveContinuarAposOCursorESemProximaNoFim() {
+        when(clienteRepo.existsById(1L)).thenReturn(true);
+        String cursor = new CursorAgendamento(base, 11L).codificar();
+        when(agRepo.findProximosPorCliente(eq(1L), eq(base), eq(11L), any(Pageable.class)))
+                .thenReturn(List.of(ag(12L, base.plusHours(1))));
+
+        CursorPaginatedResponse<AgendamentoDTO> pagina = service.listarPorClienteComCursor(1L, cursor, 2);
+
+        assertEquals(1, pagina.getContent().size());
+        assertNull(pagina.getNextCursor());
+        assertFalse(pagina.isHasNext());
+    }
+
+    @Test
+    void cursorMalformado_deveLancarBusinessException() {
+        assertThrows(BusinessException.class, () -> service.listarPorClienteComCursor(1L, "%%%", 10));
+        verifyNoInteractions(agRepo);
+    }
+
+    private AgendamentoDTO ag(Long id, LocalDateTime dataHora) {
+        return new AgendamentoDTO(id, 1L, 2L, 3L, dataHora, StatusAgendamento.PENDENTE, "Cliente", "Prof", "Corte");
+    }
+}
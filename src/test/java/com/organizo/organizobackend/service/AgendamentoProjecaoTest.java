@@ -0,0 +1,137 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.AgendamentoDTO;
+import com.organizo.organizobackend.enums.CargoProfissional;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.model.*;
+import com.organizo.organizobackend.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que as listagens paginadas custam sempre o mesmo número de SQLs,
+ * independente do tamanho da página e de quantos clientes/profissionais aparecem nela.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:projecao;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AgendamentoProjecaoTest {
+
+    private static final int TOTAL = 60;
+
+    @Autowired private AgendamentoService service;
+    @Autowired private AgendamentoRepository agRepo;
+    @Autowired private AgendamentoSlotRepository slotRepo;
+    @Autowired private ClienteRepository clienteRepo;
+    @Autowired private ProfissionalRepository profRepo;
+    @Autowired private ServicoRepository servRepo;
+    @Autowired private SalaoRepository salaoRepo;
+    @Autowired private UsuarioRepository usuarioRepo;
+    @Autowired private EntityManagerFactory emf;
+
+    @MockBean private EmailService emailService;
+
+    private Statistics estatisticas;
+    private Cliente primeiroCliente;
+
+    @BeforeEach
+    void setUp() {
+        slotRepo.deleteAll();
+        agRepo.deleteAll();
+
+        Usuario dono = usuarioRepo.save(new Usuario("dono" + UUID.randomUUID() + "@ex.com", "x", "Dono", Role.DONO_SALAO));
+        Salao salao = new Salao();
+        salao.setNome("Salão Projeção");
+        salao.setCnpj("12345678000199");
+        salao.setOwner(dono);
+        salao = salaoRepo.save(salao);
+
+        Servico s = new Servico();
+        s.setNome("Corte");
+        s.setDuracaoMinutos(30);
+        s.setPreco(BigDecimal.TEN);
+        s.setSalao(salao);
+        Servico servico = servRepo.save(s);
+
+        // Muitos clientes e profissionais distintos: com carregamento por entidade, cada um custaria um SELECT
+        List<Agendamento> ags = new ArrayList<>();
+        for (int i = 0; i < TOTAL; i++) {
+            Cliente c = clienteRepo.save(new Cliente(null, "Cliente" + i, "Teste", "cli" + UUID.randomUUID() + "@ex.com",
+                    null, "x", "CLIENTE", null, null));
+            if (i == 0) {
+                primeiroCliente = c;
+            }
+            Profissional p = new Profissional();
+            p.setNome("Prof" + i);
+            p.setSobrenome("Teste");
+            p.setEmail("prof" + UUID.randomUUID() + "@ex.com");
+            p.setCargo(CargoProfissional.CABELEIREIRO);
+            p.setSalao(salao);
+            p = profRepo.save(p);
+
+            Agendamento ag = new Agendamento();
+            ag.setCliente(i % 2 == 0 ? primeiroCliente : c);
+            ag.setProfissional(p);
+            ag.setServico(servico);
+            ag.setDataHoraAgendada(LocalDateTime.now().plusDays(1).plusMinutes(30L * i));
+            ag.setStatus(StatusAgendamento.PENDENTE);
+            ags.add(ag);
+        }
+        agRepo.saveAll(ags);
+
+        estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listar_deveUsarOMesmoNumeroDeSqlsParaQualquerTamanhoDePagina() {
+        long pequena = sqlsDe(() -> service.listar(PageRequest.of(0, 5, Sort.by("dataHoraAgendada"))));
+        long grande = sqlsDe(() -> {
+            Page<AgendamentoDTO> pagina = service.listar(PageRequest.of(0, 50, Sort.by("dataHoraAgendada")));
+            assertEquals(50, pagina.getNumberOfElements());
+            assertEquals(TOTAL, pagina.getTotalElements());
+            assertNotNull(pagina.getContent().get(0).getNomeProfissional());
+        });
+
+        // Um SELECT com JOIN para o conteúdo e um COUNT
+        assertEquals(2, pequena);
+        assertEquals(pequena, grande);
+    }
+
+    @Test
+    void listarPorCliente_deveUsarOMesmoNumeroDeSqlsParaQualquerTamanhoDePagina() {
+        Long clienteId = primeiroCliente.getId();
+        long pequena = sqlsDe(() -> service.listarPorCliente(clienteId, PageRequest.of(0, 2)));
+        long grande = sqlsDe(() -> service.listarPorCliente(clienteId, PageRequest.of(0, 25)));
+
+        // existsById + SELECT com JOIN + COUNT
+        assertEquals(3, pequena);
+        assertEquals(pequena, grande);
+    }
+
+    private long sqlsDe(Runnable acao) {
+        estatisticas.clear();
+        acao.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+}
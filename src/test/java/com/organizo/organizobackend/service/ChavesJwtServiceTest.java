@@ -0,0 +1,83 @@
+package com.organizo.organizobackend.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.organizo.organizobackend.model.JwtChave;
+import com.organizo.organizobackend.repository.JwtChaveRepository;
+import com.organizo.organizobackend.security.ChavesJwt;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotação do anel de chaves JWT e verificação de tokens emitidos por outras instâncias.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:jwtchaves;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class ChavesJwtServiceTest {
+
+    @Autowired private ChavesJwtService chaves;
+    @Autowired private JwtService jwtService;
+    @Autowired private JwtChaveRepository repo;
+    @Value("${jwt.secret}") private String segredoConfigurado;
+
+    @Test
+    void rotacionar_tokensAnterioresContinuamValidosENovosUsamANovaChave() {
+        String semKid = JWT.create()
+                .withSubject("antigo@ex.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256(segredoConfigurado));
+        String antes = jwtService.generateToken(1L, "cliente@ex.com", "CLIENTE");
+        String kidAnterior = JWT.decode(antes).getKeyId();
+
+        String novaKid = chaves.rotacionar();
+        String depois = jwtService.generateToken(1L, "cliente@ex.com", "CLIENTE");
+
+        assertNotEquals(kidAnterior, novaKid);
+        assertEquals(novaKid, JWT.decode(depois).getKeyId());
+        assertTrue(jwtService.validateToken(antes));
+        assertTrue(jwtService.validateToken(depois));
+        assertEquals("antigo@ex.com", jwtService.getEmailFromToken(semKid));
+        assertNotNull(repo.findById(kidAnterior).orElseThrow().getAposentadaEm());
+    }
+
+    @Test
+    void chaveCriadaPorOutraInstancia_deveSerCarregadaAoAparecerNoToken() {
+        byte[] segredo = "chave-gerada-em-outra-replica-32b".getBytes(StandardCharsets.UTF_8);
+        repo.save(new JwtChave("outra-replica", Base64.getEncoder().encodeToString(segredo), LocalDateTime.now()));
+        String token = JWT.create()
+                .withKeyId("outra-replica")
+                .withSubject("cliente@ex.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256(segredo));
+
+        assertEquals("cliente@ex.com", jwtService.getEmailFromToken(token));
+    }
+
+    @Test
+    void chaveAposentada_deveRecusarTokensMesmoJaVerificados() {
+        String kid = chaves.rotacionar();
+        String token = jwtService.generateToken(2L, "prof@ex.com", "PROFISSIONAL");
+        assertTrue(jwtService.validateToken(token));
+
+        JwtChave chave = repo.findById(kid).orElseThrow();
+        chave.setAposentadaEm(LocalDateTime.now().minusSeconds(1));
+        repo.save(chave);
+        chaves.recarregar();
+
+        assertTrue(chaves.paraVerificar(kid).isEmpty());
+        assertFalse(jwtService.validateToken(token));
+        assertTrue(chaves.paraVerificar(ChavesJwt.KID_INICIAL + "-inexistente").isEmpty());
+    }
+}
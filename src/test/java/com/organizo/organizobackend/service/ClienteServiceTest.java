@@ -28,6 +28,9 @@ class ClienteServiceTest {
     @Mock
     private ClienteMapper mapper;
 
+    @Mock
+    private DecisoesAutorizacao decisoes;
+
     @InjectMocks
     private ClienteServiceImpl service;
 
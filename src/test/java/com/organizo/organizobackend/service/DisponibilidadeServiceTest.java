@@ -0,0 +1,86 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.HorarioDisponivelDTO;
+import com.organizo.organizobackend.exception.ResourceNotFoundException;
+import com.organizo.organizobackend.model.Servico;
+import com.organizo.organizobackend.repository.ProfissionalRepository;
+import com.organizo.organizobackend.repository.ServicoRepository;
+import com.organizo.organizobackend.service.impl.DisponibilidadeServiceImpl;
+import com.organizo.organizobackend.util.OcupacaoDia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadeServiceTest {
+
+    @Mock
+    private ServicoRepository servRepo;
+
+    @Mock
+    private ProfissionalRepository profRepo;
+
+    @Mock
+    private OcupacaoAgendaService ocupacao;
+
+    private DisponibilidadeServiceImpl service;
+
+    private final LocalDate dia = LocalDate.now().plusDays(2);
+
+    @BeforeEach
+    void setUp() {
+        service = new DisponibilidadeServiceImpl(servRepo, profRepo, ocupacao, "08:00", "20:00");
+    }
+
+    @Test
+    void buscar_deveCombinarOcupacaoDosProfissionaisRespeitandoDuracao() {
+        Servico corte = new Servico();
+        corte.setDuracaoMinutos(30);
+        when(servRepo.findByIdAndSalaoId(5L, 1L)).thenReturn(Optional.of(corte));
+        when(profRepo.findIdsBySalaoIdAndServicoId(1L, 5L)).thenReturn(List.of(10L, 20L));
+        // Profissional 10 ocupado das 08:00 às 09:00; profissional 20 das 08:00 às 08:30
+        when(ocupacao.ocupacaoDoDia(10L, dia)).thenReturn(OcupacaoDia.faixa(96, 108));
+        when(ocupacao.ocupacaoDoDia(20L, dia)).thenReturn(OcupacaoDia.faixa(96, 102));
+
+        List<HorarioDisponivelDTO> horarios = service.buscar(1L, 5L, dia.atStartOfDay(), dia.atTime(23, 0), 3, 15);
+
+        assertEquals(3, horarios.size());
+        assertEquals(dia.atTime(8, 30), horarios.get(0).getInicio());
+        assertEquals(dia.atTime(9, 0), horarios.get(0).getFim());
+        assertEquals(List.of(20L), horarios.get(0).getProfissionalIds());
+        assertEquals(dia.atTime(8, 45), horarios.get(1).getInicio());
+        assertEquals(dia.atTime(9, 0), horarios.get(2).getInicio());
+        assertEquals(List.of(10L, 20L), horarios.get(2).getProfissionalIds());
+    }
+
+    @Test
+    void buscar_naoDeveOferecerHorarioQueUltrapasseOExpediente() {
+        Servico escova = new Servico();
+        escova.setDuracaoMinutos(60);
+        when(servRepo.findByIdAndSalaoId(5L, 1L)).thenReturn(Optional.of(escova));
+        when(profRepo.findIdsBySalaoIdAndServicoId(1L, 5L)).thenReturn(List.of(10L));
+        when(ocupacao.ocupacaoDoDia(10L, dia)).thenReturn(new long[OcupacaoDia.PALAVRAS]);
+
+        List<HorarioDisponivelDTO> horarios = service.buscar(1L, 5L, dia.atTime(18, 0), dia.atTime(23, 59), 10, 30);
+
+        assertEquals(List.of(dia.atTime(18, 0), dia.atTime(18, 30), dia.atTime(19, 0)),
+                horarios.stream().map(HorarioDisponivelDTO::getInicio).toList());
+    }
+
+    @Test
+    void buscar_quandoServicoNaoPertenceAoSalao_deveLancarResourceNotFoundException() {
+        when(servRepo.findByIdAndSalaoId(5L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.buscar(1L, 5L, dia.atStartOfDay(), dia.atTime(23, 0), 10, 15));
+    }
+}
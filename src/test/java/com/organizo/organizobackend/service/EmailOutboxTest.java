@@ -0,0 +1,135 @@
+package com.organizo.organizobackend.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.organizo.organizobackend.enums.StatusEmail;
+import com.organizo.organizobackend.model.EmailOutbox;
+import com.organizo.organizobackend.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Entrega real via SMTP (GreenMail em memória) e tratamento de falhas da caixa de saída.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "email.outbox.max-tentativas=3",
+        "email.outbox.espera-inicial=0s"
+})
+class EmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired private EmailOutboxService outbox;
+    @Autowired private EmailOutboxRepository repo;
+    @Autowired private TransactionTemplate tx;
+    @SpyBean private EmailService emailService;
+
+    @BeforeEach
+    void limpar() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void enfileirar_deveEntregarViaSmtpSomenteAposOCommit() throws Exception {
+        EmailOutbox salvo = tx.execute(status -> {
+            EmailOutbox e = outbox.enfileirar("cliente@ex.com", "Agendamento Criado", "Olá!");
+            // Ainda dentro da transação: nada pode ter saído
+            assertEquals(0, smtp.getReceivedMessages().length);
+            return e;
+        });
+
+        assertTrue(smtp.waitForIncomingEmail(5000, 1));
+        MimeMessage recebida = smtp.getReceivedMessages()[0];
+        assertEquals("Agendamento Criado", recebida.getSubject());
+        assertEquals("cliente@ex.com", recebida.getAllRecipients()[0].toString());
+
+        aguardar(() -> repo.findById(salvo.getId()).orElseThrow().getStatus() == StatusEmail.ENVIADO);
+    }
+
+    @Test
+    void enfileirar_emTransacaoDesfeita_naoDeveEnviar() throws Exception {
+        tx.executeWithoutResult(status -> {
+            outbox.enfileirar("cliente@ex.com", "Nunca", "Não deve sair");
+            status.setRollbackOnly();
+        });
+
+        assertFalse(smtp.waitForIncomingEmail(500, 1));
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void falhasSeguidas_deveTentarNovamenteEDescartarAoEsgotar() throws Exception {
+        doThrow(new MailSendException("SMTP fora do ar"))
+                .when(emailService).sendSimpleMessage(anyString(), anyString(), anyString());
+
+        EmailOutbox salvo = outbox.enfileirar("cliente@ex.com", "Falha", "Corpo");
+
+        aguardar(() -> repo.findById(salvo.getId()).orElseThrow().getStatus() == StatusEmail.DESCARTADO);
+        EmailOutbox descartado = repo.findById(salvo.getId()).orElseThrow();
+        assertEquals(3, descartado.getTentativas());
+        assertEquals("SMTP fora do ar", descartado.getUltimoErro());
+        assertNull(descartado.getLote());
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+
+    @Test
+    void presoEmProcessando_deveVoltarContandoTentativaEDescartarAoEsgotar() {
+        EmailOutbox salvo = repo.save(new EmailOutbox("cliente@ex.com", "Preso", "Corpo"));
+        List<Long> ids = List.of(salvo.getId());
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Três instâncias caem seguidas no meio do envio do mesmo e-mail (max-tentativas=3)
+        for (int i = 1; i <= 3; i++) {
+            String lote = "lote-" + i;
+            tx.executeWithoutResult(status -> {
+                assertEquals(1, repo.reivindicar(ids, lote, agora.minusHours(1),
+                        StatusEmail.PENDENTE, StatusEmail.PROCESSANDO));
+                assertEquals(1, repo.devolverTravados(agora.minusMinutes(5), 3, "interrompido",
+                        StatusEmail.PENDENTE, StatusEmail.PROCESSANDO, StatusEmail.DESCARTADO));
+            });
+            EmailOutbox devolvido = repo.findById(salvo.getId()).orElseThrow();
+            assertEquals(i, devolvido.getTentativas());
+            assertEquals(i < 3 ? StatusEmail.PENDENTE : StatusEmail.DESCARTADO, devolvido.getStatus());
+            assertEquals("interrompido", devolvido.getUltimoErro());
+            assertNull(devolvido.getLote());
+        }
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                fail("Condição não atingida a tempo");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
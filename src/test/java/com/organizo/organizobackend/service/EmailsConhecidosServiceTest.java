@@ -0,0 +1,86 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.dto.LoginRequest;
+import com.organizo.organizobackend.dto.RegistroRequest;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.exception.ResourceNotFoundException;
+import com.organizo.organizobackend.model.Usuario;
+import com.organizo.organizobackend.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Login e registro consultando o filtro de e-mails conhecidos antes do banco.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:emailsconhecidos;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class EmailsConhecidosServiceTest {
+
+    @Autowired private UsuarioService usuarioService;
+    @Autowired private EmailsConhecidosService emailsConhecidos;
+    @SpyBean private UsuarioRepository usuarios;
+
+    @Test
+    void emailInexistente_deveSerRecusadoSemConsultaEONovoCadastroDeveEntrarNoFiltro() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("fantasma@ex.com");
+        login.setSenha("123456");
+
+        assertThrows(ResourceNotFoundException.class, () -> usuarioService.autenticar(login));
+        verify(usuarios, never()).findByEmail(anyString());
+
+        RegistroRequest reg = new RegistroRequest();
+        reg.setEmail("Fantasma@ex.com");
+        reg.setSenha("123456");
+        reg.setNome("Fantasma");
+        reg.setRole("CLIENTE");
+        usuarioService.registrar(reg);
+        // A checagem de duplicidade do registro sempre vai ao banco
+        verify(usuarios).findByEmail("Fantasma@ex.com");
+
+        assertTrue(emailsConhecidos.talvezUsuario("fantasma@ex.com"));
+        login.setEmail("Fantasma@ex.com");
+        assertNotNull(usuarioService.autenticar(login).getToken());
+        verify(usuarios, times(2)).findByEmail("Fantasma@ex.com");
+    }
+
+    @Test
+    void cadastroFeitoEmOutraInstancia_deveSerAchadoPelaMensagemOuPelaConferenciaDeIdsNovos() {
+        // Mensagem do canal: entra no filtro sem consulta
+        assertFalse(emailsConhecidos.talvezUsuario("so-na-mensagem@ex.com"));
+        emailsConhecidos.receber("usuario\nso-na-mensagem@ex.com");
+        assertTrue(emailsConhecidos.talvezUsuario("So-Na-Mensagem@ex.com"));
+
+        // Mensagem perdida: a linha gravada por outra instância é lida pelo id
+        usuarios.save(new Usuario("outra-instancia@ex.com", "hash", "Outra", Role.CLIENTE));
+        assertTrue(emailsConhecidos.talvezUsuario("outra-instancia@ex.com"));
+    }
+
+    @Test
+    void registrar_emailDuplicadoQueOFiltroDesconhece_deveResponderComErroDeNegocio() {
+        RegistroRequest reg = new RegistroRequest();
+        reg.setEmail("duplicado@ex.com");
+        reg.setSenha("123456");
+        reg.setNome("Primeiro");
+        reg.setRole("CLIENTE");
+        usuarioService.registrar(reg);
+
+        // Outra instância: o e-mail existe no banco, mas não no filtro desta, e a consulta
+        // de duplicidade corre antes do commit do primeiro cadastro
+        doReturn(Optional.empty()).when(usuarios).findByEmail("duplicado@ex.com");
+        BusinessException erro = assertThrows(BusinessException.class, () -> usuarioService.registrar(reg));
+        assertEquals("E-mail já cadastrado: duplicado@ex.com", erro.getMessage());
+    }
+}
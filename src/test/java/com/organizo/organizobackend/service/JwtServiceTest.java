@@ -0,0 +1,61 @@
+package com.organizo.organizobackend.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.organizo.organizobackend.security.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SEGREDO = "segredo-de-teste-com-tamanho-suficiente";
+
+    private final JwtService service = new JwtService(SEGREDO, 60_000, 100);
+
+    @Test
+    void verificar_deveDevolverAsClaimsDoTokenGeradoInclusiveNoAcertoDeCache() {
+        String token = service.generateToken("cliente@ex.com", "CLIENTE");
+
+        TokenClaims primeira = service.verificar(token).orElseThrow();
+        TokenClaims segunda = service.verificar(token).orElseThrow();
+
+        assertEquals("cliente@ex.com", primeira.getSubject());
+        assertEquals("CLIENTE", primeira.getRole());
+        assertSame(primeira, segunda);
+        assertEquals("cliente@ex.com", service.getEmailFromToken(token));
+        assertEquals("CLIENTE", service.getRoleFromToken(token));
+    }
+
+    @Test
+    void verificar_comPayloadAlteradoEMesmaAssinatura_naoDeveAproveitarOCache() {
+        String token = service.generateToken("cliente@ex.com", "CLIENTE");
+        assertTrue(service.validateToken(token));
+
+        String[] partes = token.split("\\.");
+        String payloadAdulterado = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"cliente@ex.com\",\"role\":\"ADMIN\"}".getBytes(StandardCharsets.UTF_8));
+        String adulterado = partes[0] + "." + payloadAdulterado + "." + partes[2];
+
+        assertFalse(service.validateToken(adulterado));
+        assertNull(service.getRoleFromToken(adulterado));
+    }
+
+    @Test
+    void verificar_tokenExpiradoOuDeOutraChave_deveSerRecusado() {
+        String expirado = JWT.create()
+                .withSubject("cliente@ex.com")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 1000))
+                .sign(Algorithm.HMAC256(SEGREDO));
+        String outraChave = new JwtService("outro-segredo-qualquer-bem-comprido", 60_000, 100)
+                .generateToken("cliente@ex.com", "CLIENTE");
+
+        assertTrue(service.verificar(expirado).isEmpty());
+        assertTrue(service.verificar(outraChave).isEmpty());
+        assertTrue(service.verificar("nao-e-um-jwt").isEmpty());
+    }
+}
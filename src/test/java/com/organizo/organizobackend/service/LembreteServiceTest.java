@@ -0,0 +1,157 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.CargoProfissional;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.model.*;
+import com.organizo.organizobackend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:lembretes;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "agenda.lembretes.pagina=7",
+        // Nenhum lembrete dos agendamentos de teste (a partir de +3 min) vence durante os testes
+        "agenda.lembretes.antecedencia=1m",
+        // Janela da roda: até agora + 1 min + 2 × 30 min
+        "agenda.lembretes.reconciliacao-ms=1800000"
+})
+class LembreteServiceTest {
+
+    private static final int CONFIRMADOS = 25;
+    private static final int NA_JANELA = 20;
+
+    @Autowired private LembreteService lembretes;
+    @Autowired private AgendadorLembretes agendador;
+    @Autowired private AgendamentoRepository agRepo;
+    @Autowired private EmailOutboxRepository outboxRepo;
+    @Autowired private ClienteRepository clienteRepo;
+    @Autowired private ProfissionalRepository profRepo;
+    @Autowired private ServicoRepository servRepo;
+    @Autowired private SalaoRepository salaoRepo;
+    @Autowired private UsuarioRepository usuarioRepo;
+    @Autowired private SchedulerLeaseRepository leaseRepo;
+    @Autowired private PlatformTransactionManager txManager;
+
+    @MockBean private EmailService emailService;
+
+    private final LocalDateTime agora = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepo.deleteAll();
+        agRepo.deleteAll();
+        leaseRepo.deleteAll();
+
+        Usuario dono = usuarioRepo.save(new Usuario("dono" + UUID.randomUUID() + "@ex.com", "x", "Dono", Role.DONO_SALAO));
+        Salao salao = new Salao();
+        salao.setNome("Salão Lembretes");
+        salao.setCnpj("12345678000199");
+        salao.setOwner(dono);
+        salao = salaoRepo.save(salao);
+
+        Profissional p = new Profissional();
+        p.setNome("Prof");
+        p.setSobrenome("Teste");
+        p.setEmail("prof" + UUID.randomUUID() + "@ex.com");
+        p.setCargo(CargoProfissional.CABELEIREIRO);
+        p.setSalao(salao);
+        p = profRepo.save(p);
+
+        Servico s = new Servico();
+        s.setNome("Corte");
+        s.setDuracaoMinutos(30);
+        s.setPreco(BigDecimal.TEN);
+        s.setSalao(salao);
+        s = servRepo.save(s);
+
+        Cliente c = clienteRepo.save(new Cliente(null, "Cliente", "Teste", "cli" + UUID.randomUUID() + "@ex.com",
+                null, "x", "CLIENTE", null, null));
+
+        List<Agendamento> ags = new ArrayList<>();
+        for (int i = 0; i < CONFIRMADOS + 5; i++) {
+            Agendamento ag = new Agendamento();
+            ag.setCliente(c);
+            ag.setProfissional(p);
+            ag.setServico(s);
+            ag.setDataHoraAgendada(agora.plusMinutes(3L * (i + 1)));
+            // Os 5 últimos ficam PENDENTES e não podem receber lembrete
+            ag.setStatus(i < CONFIRMADOS ? StatusAgendamento.CONFIRMADO : StatusAgendamento.PENDENTE);
+            ags.add(ag);
+        }
+        agRepo.saveAll(ags);
+    }
+
+    @Test
+    void varredurasRepetidasEConcorrentes_devemEnfileirarUmLembretePorAgendamento() throws Exception {
+        ExecutorService nos = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> execucoes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            execucoes.add(nos.submit(() -> lembretes.enviarPendentes(agora, agora.plusHours(2))));
+        }
+        int total = 0;
+        for (Future<Integer> f : execucoes) {
+            total += f.get(30, TimeUnit.SECONDS);
+        }
+        nos.shutdown();
+
+        // Uma nova passada depois de tudo não acha mais nada
+        assertEquals(0, lembretes.enviarPendentes(agora, agora.plusHours(2)));
+        assertEquals(CONFIRMADOS, total);
+        assertEquals(CONFIRMADOS, outboxRepo.count());
+        assertEquals(CONFIRMADOS, agRepo.findAll().stream().filter(a -> a.getLembreteEnviadoEm() != null).count());
+    }
+
+    @Test
+    void reconciliar_deveTrazerConfirmacoesDeOutraInstanciaETirarCancelamentos() {
+        // Os agendamentos do setUp foram gravados sem passar por esta instância; só os 20
+        // primeiros (a cada 3 min, até +60 min) estão na janela da roda (+61 min)
+        agendador.reconciliar();
+        assertEquals(NA_JANELA, agendador.pendentes());
+
+        // Cancelado por outra instância: sai da roda na próxima reconciliação
+        Agendamento cancelado = agRepo.findAll().stream()
+                .filter(a -> a.getStatus() == StatusAgendamento.CONFIRMADO)
+                .findFirst().orElseThrow();
+        cancelado.setStatus(StatusAgendamento.CANCELADO);
+        agRepo.save(cancelado);
+
+        agendador.reconciliar();
+        assertEquals(NA_JANELA - 1, agendador.pendentes());
+    }
+
+    @Test
+    void lease_deveFicarComUmaInstanciaAteExpirar() throws Exception {
+        LeaseService noA = new LeaseService(leaseRepo, txManager);
+        LeaseService noB = new LeaseService(leaseRepo, txManager);
+
+        assertTrue(noA.adquirir("teste", Duration.ofMillis(300)));
+        assertFalse(noB.adquirir("teste", Duration.ofMillis(300)));
+        // O líder renova
+        assertTrue(noA.adquirir("teste", Duration.ofMillis(300)));
+
+        Thread.sleep(400);
+        assertTrue(noB.adquirir("teste", Duration.ofMinutes(1)));
+        assertFalse(noA.adquirir("teste", Duration.ofMinutes(1)));
+
+        // Ao devolver, o outro nó assume sem esperar o prazo
+        noB.devolverTodas();
+        assertTrue(noA.adquirir("teste", Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.exception.BusinessException;
+import com.organizo.organizobackend.model.Agendamento;
+import com.organizo.organizobackend.model.Profissional;
+import com.organizo.organizobackend.model.Servico;
+import com.organizo.organizobackend.repository.AgendamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OcupacaoAgendaServiceTest {
+
+    @Mock
+    private AgendamentoRepository agRepo;
+
+    private OcupacaoAgendaService ocupacao;
+
+    private final LocalDate dia = LocalDate.now().plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        ocupacao = new OcupacaoAgendaService(agRepo, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void reservar_deveDetectarSobreposicaoConsiderandoDuracao() {
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any())).thenReturn(List.of());
+
+        ocupacao.reservar(agendamento(10L, dia.atTime(10, 0), 45));
+
+        // 10:00-10:45 ocupa até 10:45; 10:30 conflita, 10:45 não
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(10, 30), 30));
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(9, 30), 35));
+        assertTrue(ocupacao.estaLivre(1L, dia.atTime(10, 45), 30));
+        assertTrue(ocupacao.estaLivre(1L, dia.atTime(9, 30), 30));
+
+        assertThrows(BusinessException.class, () -> ocupacao.reservar(agendamento(11L, dia.atTime(10, 40), 15)));
+        // Um único carregamento do banco por profissional/dia
+        verify(agRepo, times(1)).findIntervalosDoProfissional(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void liberar_deveDevolverSlotsSemAfetarOutrosAgendamentos() {
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any())).thenReturn(List.of());
+
+        Agendamento primeiro = agendamento(10L, dia.atTime(14, 0), 60);
+        ocupacao.reservar(primeiro);
+        ocupacao.reservar(agendamento(11L, dia.atTime(15, 0), 30));
+
+        ocupacao.liberar(primeiro);
+
+        assertTrue(ocupacao.estaLivre(1L, dia.atTime(14, 0), 60));
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(15, 0), 5));
+    }
+
+    @Test
+    void reservar_deveOcuparOsDoisDiasQuandoAtravessaMeiaNoite() {
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any())).thenReturn(List.of());
+
+        ocupacao.reservar(agendamento(10L, dia.atTime(23, 30), 60));
+
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(23, 55), 5));
+        assertFalse(ocupacao.estaLivre(1L, dia.plusDays(1).atTime(0, 15), 10));
+        assertTrue(ocupacao.estaLivre(1L, dia.plusDays(1).atTime(0, 30), 30));
+    }
+
+    @Test
+    void cancelamentoEmOutraInstancia_deveSerVistoAoConfirmarNoBancoOuAoVencerODia() {
+        // No banco: um agendamento das 10:00 às 10:30; depois outra instância o cancela
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(intervalo(10L, dia.atTime(10, 0), 30)))
+                .thenReturn(List.of());
+
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(10, 0), 30));
+        // A memória ainda acha ocupado; relido do banco, está livre
+        assertFalse(ocupacao.estaLivre(1L, dia.atTime(10, 0), 30));
+        assertTrue(ocupacao.estaLivreNoBanco(1L, dia.atTime(10, 0), 30));
+        assertTrue(ocupacao.estaLivre(1L, dia.atTime(10, 0), 30));
+
+        // Com validade zero, todo acesso relê o dia
+        OcupacaoAgendaService semCache = new OcupacaoAgendaService(agRepo, Duration.ZERO);
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(intervalo(10L, dia.atTime(10, 0), 30)))
+                .thenReturn(List.of());
+        assertFalse(semCache.estaLivre(1L, dia.atTime(10, 0), 30));
+        assertTrue(semCache.estaLivre(1L, dia.atTime(10, 0), 30));
+    }
+
+    @Test
+    void recarga_deveManterReservasDeTransacoesAindaAbertas() {
+        when(agRepo.findIntervalosDoProfissional(eq(1L), any(), any(), any())).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ocupacao.reservar(agendamento(10L, dia.atTime(10, 0), 30));
+            // O banco ainda não mostra a reserva (sem commit), mas ela continua valendo
+            assertFalse(ocupacao.estaLivreNoBanco(1L, dia.atTime(10, 0), 30));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static AgendamentoRepository.IntervaloAgendado intervalo(Long id, LocalDateTime inicio, int duracao) {
+        return new AgendamentoRepository.IntervaloAgendado() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getInicio() {
+                return inicio;
+            }
+
+            @Override
+            public Integer getDuracaoMinutos() {
+                return duracao;
+            }
+        };
+    }
+
+    private Agendamento agendamento(Long id, LocalDateTime inicio, int duracao) {
+        Profissional prof = new Profissional();
+        prof.setId(1L);
+        Servico serv = new Servico();
+        serv.setDuracaoMinutos(duracao);
+
+        Agendamento ag = new Agendamento();
+        ReflectionTestUtils.setField(ag, "id", id);
+        ag.setProfissional(prof);
+        ag.setServico(serv);
+        ag.setDataHoraAgendada(inicio);
+        return ag;
+    }
+}
@@ -0,0 +1,121 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.enums.CargoProfissional;
+import com.organizo.organizobackend.enums.Role;
+import com.organizo.organizobackend.enums.StatusAgendamento;
+import com.organizo.organizobackend.model.*;
+import com.organizo.organizobackend.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checagens de posse: uma consulta de existência por decisão e nenhuma enquanto ela estiver em cache.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.datasource.url=jdbc:h2:mem:posse;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SalaoSecurityServiceTest {
+
+    @Autowired private SalaoSecurityService seguranca;
+    @Autowired private DecisoesAutorizacao decisoes;
+    @Autowired private AgendamentoRepository agRepo;
+    @Autowired private ClienteRepository clienteRepo;
+    @Autowired private ProfissionalRepository profRepo;
+    @Autowired private ServicoRepository servRepo;
+    @Autowired private SalaoRepository salaoRepo;
+    @Autowired private UsuarioRepository usuarioRepo;
+    @Autowired private EntityManagerFactory emf;
+
+    private Statistics estatisticas;
+    private String emailDono;
+    private Salao salao;
+    private Profissional profissional;
+    private Agendamento agendamento;
+
+    @BeforeEach
+    void setUp() {
+        emailDono = "dono" + UUID.randomUUID() + "@ex.com";
+        Usuario dono = usuarioRepo.save(new Usuario(emailDono, "x", "Dono", Role.DONO_SALAO));
+        Salao s = new Salao();
+        s.setNome("Salão Posse");
+        s.setCnpj("12345678000199");
+        s.setOwner(dono);
+        salao = salaoRepo.save(s);
+
+        Servico sv = new Servico();
+        sv.setNome("Corte");
+        sv.setDuracaoMinutos(30);
+        sv.setPreco(BigDecimal.TEN);
+        sv.setSalao(salao);
+        Servico servico = servRepo.save(sv);
+
+        Profissional p = new Profissional();
+        p.setNome("Prof");
+        p.setSobrenome("Teste");
+        p.setEmail("prof" + UUID.randomUUID() + "@ex.com");
+        p.setCargo(CargoProfissional.CABELEIREIRO);
+        p.setSalao(salao);
+        profissional = profRepo.save(p);
+
+        Cliente cliente = clienteRepo.save(new Cliente(null, "Cliente", "Teste", "cli" + UUID.randomUUID() + "@ex.com",
+                null, "x", "CLIENTE", null, null));
+        Agendamento ag = new Agendamento();
+        ag.setCliente(cliente);
+        ag.setProfissional(profissional);
+        ag.setServico(servico);
+        ag.setDataHoraAgendada(LocalDateTime.now().plusDays(1));
+        ag.setStatus(StatusAgendamento.PENDENTE);
+        agendamento = agRepo.save(ag);
+
+        estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void isOwner_deveConsultarUmaVezReaproveitarADecisaoEReconsultarAposAlteracao() {
+        assertEquals(1, sqlsDe(() -> seguranca.isOwner(salao.getId(), emailDono), true));
+        assertEquals(0, sqlsDe(() -> seguranca.isOwner(salao.getId(), emailDono), true));
+        assertEquals(1, sqlsDe(() -> seguranca.isOwner(salao.getId(), "intruso@ex.com"), false));
+
+        decisoes.salaoAlterado(salao.getId());
+        assertEquals(1, sqlsDe(() -> seguranca.isOwner(salao.getId(), emailDono), true));
+    }
+
+    @Test
+    void checagensDeAgendamento_devemCustarUmaConsultaCadaERespeitarAsRelacoes() {
+        Long id = agendamento.getId();
+        String emailCliente = agendamento.getCliente().getEmail();
+        String emailProf = profissional.getEmail();
+
+        assertEquals(1, sqlsDe(() -> seguranca.isOwnerOfSalaoContainingAgendamento(id, emailDono), true));
+        assertEquals(1, sqlsDe(() -> seguranca.isClienteOfAgendamento(id, emailCliente.toUpperCase()), true));
+        assertEquals(1, sqlsDe(() -> seguranca.isProfissionalOfAgendamento(id, emailProf), true));
+        assertEquals(1, sqlsDe(() -> seguranca.isOwnerOfSalaoContainingProfissional(profissional.getId(), emailDono), true));
+        assertEquals(1, sqlsDe(() -> seguranca.isClienteOfAgendamento(id, emailProf), false));
+
+        // Profissional alterado: as decisões que passam por ele são refeitas
+        decisoes.profissionalAlterado(profissional.getId());
+        assertEquals(1, sqlsDe(() -> seguranca.isOwnerOfSalaoContainingAgendamento(id, emailDono), true));
+        assertEquals(0, sqlsDe(() -> seguranca.isClienteOfAgendamento(id, emailCliente.toUpperCase()), true));
+    }
+
+    private long sqlsDe(BooleanSupplier checagem, boolean esperado) {
+        estatisticas.clear();
+        assertEquals(esperado, checagem.getAsBoolean());
+        return estatisticas.getPrepareStatementCount();
+    }
+}
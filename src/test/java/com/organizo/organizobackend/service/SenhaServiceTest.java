@@ -0,0 +1,83 @@
+package com.organizo.organizobackend.service;
+
+import com.organizo.organizobackend.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SenhaServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SenhaService service;
+
+    @AfterEach
+    void encerrar() {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    void codificarEConferir_devemUsarAForcaConfigurada() {
+        service = new SenhaService(new BCryptPasswordEncoder(5), registry, 5, 2, 4, Duration.ofSeconds(5));
+
+        String hash = service.codificar("segredo");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(service.confere("segredo", hash));
+        assertFalse(service.confere("outra", hash));
+        assertEquals(3, registry.get("organizo.senha.hash").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    void precisaRehash_quandoAForcaDoHashDifereDaConfigurada() {
+        service = new SenhaService(new BCryptPasswordEncoder(5), registry, 5, 1, 1, Duration.ofSeconds(5));
+
+        assertTrue(service.precisaRehash(new BCryptPasswordEncoder(4).encode("x")));
+        assertTrue(service.precisaRehash(new BCryptPasswordEncoder(6).encode("x")));
+        assertFalse(service.precisaRehash(new BCryptPasswordEncoder(5).encode("x")));
+        assertFalse(service.precisaRehash("texto-sem-formato-bcrypt"));
+    }
+
+    @Test
+    void poolSaturado_deveRecusarNaHoraEContarARejeicao() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        BCryptPasswordEncoder lento = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                emExecucao.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        // Uma thread e uma vaga na fila
+        service = new SenhaService(lento, registry, 4, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<Boolean> rodando = CompletableFuture.supplyAsync(() -> service.confere("a", "h"));
+        assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> service.confere("b", "h"));
+        while (registry.get("executor.queued").tag("name", "senha.hash").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(ServicoSobrecarregadoException.class, () -> service.confere("c", "h"));
+        assertEquals(1.0, registry.get("organizo.senha.rejeitadas").counter().count());
+
+        liberar.countDown();
+        assertTrue(rodando.get(5, TimeUnit.SECONDS));
+        assertTrue(naFila.get(5, TimeUnit.SECONDS));
+    }
+}
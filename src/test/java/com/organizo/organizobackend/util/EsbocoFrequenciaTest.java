@@ -0,0 +1,52 @@
+package com.organizo.organizobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EsbocoFrequenciaTest {
+
+    @Test
+    void maisFrequentes_deveAcharAsChavesQuentesNoMeioDeMuitasFrias() {
+        EsbocoFrequencia esboco = new EsbocoFrequencia(1024, 10);
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // 1..5 recebem metade dos acessos; o resto se espalha por 100 mil ids
+            long id = i % 2 == 0 ? 1 + i % 5 : 1_000 + aleatorio.nextInt(100_000);
+            esboco.registrar(id);
+        }
+
+        List<Long> top = esboco.maisFrequentes(5);
+        assertEquals(5, top.size());
+        assertTrue(top.containsAll(LongStream.rangeClosed(1, 5).boxed().toList()), "top " + top);
+        assertTrue(esboco.estimar(1) >= esboco.estimar(1_000));
+    }
+
+    @Test
+    void desserializar_deveManterContagensECandidatasParaSeremIncorporadas() {
+        EsbocoFrequencia anterior = new EsbocoFrequencia(256, 3);
+        for (int i = 0; i < 30; i++) {
+            anterior.registrar(7);
+        }
+        for (int i = 0; i < 10; i++) {
+            anterior.registrar(8);
+        }
+        EsbocoFrequencia lido = EsbocoFrequencia.desserializar(anterior.serializar(), 3);
+        assertEquals(anterior.estimar(7), lido.estimar(7));
+
+        // Depois do reinício, poucos acessos novos não tiram do topo quem era quente antes
+        EsbocoFrequencia atual = new EsbocoFrequencia(256, 3);
+        for (int i = 0; i < 15; i++) {
+            atual.registrar(9);
+        }
+        atual.incorporar(lido);
+        assertEquals(List.of(7L, 9L, 8L), atual.maisFrequentes(3));
+
+        assertThrows(IllegalArgumentException.class, () -> atual.incorporar(new EsbocoFrequencia(512, 3)));
+        assertThrows(IllegalArgumentException.class, () -> EsbocoFrequencia.desserializar(new byte[] {9, 1}, 3));
+    }
+}
@@ -0,0 +1,32 @@
+package com.organizo.organizobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void filtro_naoDeveTerFalsoNegativoEDeveFicarPertoDaTaxaDesejada() {
+        int capacidade = 20_000;
+        FiltroBloom filtro = new FiltroBloom(capacidade, 0.01);
+        for (int i = 0; i < capacidade; i++) {
+            filtro.adicionar("usuario" + i + "@ex.com");
+        }
+
+        for (int i = 0; i < capacidade; i++) {
+            assertTrue(filtro.talvezContenha("usuario" + i + "@ex.com"));
+        }
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.talvezContenha("inexistente" + i + "@ex.com")) {
+                falsosPositivos++;
+            }
+        }
+        double observada = (double) falsosPositivos / consultas;
+        assertTrue(observada < 0.02, "taxa observada " + observada);
+        assertEquals(0.01, filtro.taxaFalsoPositivoEstimada(), 0.005);
+        assertEquals(capacidade, filtro.elementos(), capacidade * 0.01);
+    }
+}
@@ -0,0 +1,39 @@
+package com.organizo.organizobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorGcraTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    @Test
+    void tentar_devePermitirARajadaERecomporUmaFichaPorIntervalo() {
+        AtomicLong relogio = new AtomicLong(0);
+        // 5 fichas por 5s: uma nova a cada segundo
+        LimitadorGcra limitador = new LimitadorGcra(5, Duration.ofSeconds(5), 100, relogio::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.tentar("a"), "tentativa " + i);
+        }
+        assertEquals(SEGUNDO, limitador.tentar("a"));
+        // Rejeição não consome ficha
+        assertEquals(SEGUNDO, limitador.tentar("a"));
+        // Outra chave tem o próprio balde
+        assertEquals(0, limitador.tentar("b"));
+
+        relogio.set(SEGUNDO);
+        assertEquals(0, limitador.tentar("a"));
+        assertTrue(limitador.tentar("a") > 0);
+
+        relogio.set(10 * SEGUNDO);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.tentar("a"));
+        }
+        assertTrue(limitador.tentar("a") > 0);
+    }
+}
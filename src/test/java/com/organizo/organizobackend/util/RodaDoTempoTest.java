@@ -0,0 +1,69 @@
+package com.organizo.organizobackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RodaDoTempoTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void avancar_deveDispararCadaEntradaNoTickDoPrazoEmTodosOsNiveis() {
+        long inicio = 1_700_000_000_000L;
+        RodaDoTempo<Integer, Long> roda = new RodaDoTempo<>(TICK, inicio);
+        Random random = new Random(42);
+        // Prazos espalhados pelos níveis 0 a 3 (até ~4 dias à frente)
+        List<Long> prazos = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long prazo = inicio + TICK * (1 + random.nextInt(64 * 64 * 64 + 5000));
+            prazos.add(prazo);
+            roda.agendar(i, prazo, prazo);
+        }
+
+        long ultimo = prazos.stream().mapToLong(Long::longValue).max().orElseThrow();
+        int disparadas = 0;
+        for (long agora = inicio + TICK; agora <= ultimo; agora += TICK) {
+            for (RodaDoTempo.Entrada<Integer, Long> e : roda.avancar(agora)) {
+                // Nem antes, nem depois do tick do prazo
+                assertEquals(e.getPrazoMillis() / TICK, agora / TICK, "entrada " + e.getChave());
+                disparadas++;
+            }
+        }
+        assertEquals(prazos.size(), disparadas);
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    void cancelar_deveImpedirODisparoEReagendarDeveSubstituirOPrazo() {
+        RodaDoTempo<String, String> roda = new RodaDoTempo<>(TICK, 0);
+        roda.agendar("a", 5 * TICK, "A");
+        roda.agendar("b", 5 * TICK, "B");
+        roda.agendar("c", 5 * TICK, "C");
+
+        assertTrue(roda.cancelar("b"));
+        assertFalse(roda.cancelar("b"));
+        roda.agendar("c", 200 * TICK, "C2");
+
+        assertEquals(List.of("A"), roda.avancar(5 * TICK).stream().map(RodaDoTempo.Entrada::getValor).toList());
+        assertTrue(roda.avancar(199 * TICK).isEmpty());
+        assertEquals(List.of("C2"), roda.avancar(200 * TICK).stream().map(RodaDoTempo.Entrada::getValor).toList());
+    }
+
+    @Test
+    void prazosVencidosOuAlemDoHorizonte_devemSairNaHoraCerta() {
+        long inicio = 10 * TICK;
+        RodaDoTempo<String, String> roda = new RodaDoTempo<>(TICK, inicio);
+        long horizonte = TICK * 64L * 64 * 64 * 64;
+        roda.agendar("passado", 0, "P");
+        roda.agendar("distante", inicio + horizonte + 5 * TICK, "D");
+
+        assertEquals(1, roda.avancar(inicio + TICK).size());
+        assertTrue(roda.avancar(inicio + horizonte + 4 * TICK).isEmpty());
+        assertEquals(1, roda.avancar(inicio + horizonte + 5 * TICK).size());
+    }
+}